@@ -0,0 +1,328 @@
+package com.customrxjava;
+
+import com.customrxjava.operators.DisposableHelper;
+import com.customrxjava.operators.FutureHelper;
+import com.customrxjava.operators.ResourceHolder;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Класс представляющий Completable - действие без результата. Завершается успешно или ошибкой.
+ */
+public class Completable {
+    private final Consumer<CompletableObserver> source;
+
+    protected Completable(Consumer<CompletableObserver> source) {
+        this.source = source;
+    }
+
+    /**
+     * Создает новый Completable из функции источника.
+     * @param source Функция источник
+     * @return Новый экземпляр Completable
+     */
+    public static Completable create(Consumer<CompletableObserver> source) {
+        return new Completable(source);
+    }
+
+    /**
+     * Создает Completable который сразу завершается.
+     * @return Новый экземпляр Completable
+     */
+    public static Completable complete() {
+        return new Completable(CompletableObserver::onComplete);
+    }
+
+    /**
+     * Создает Completable который сразу завершается ошибкой.
+     * @param error Ошибка
+     * @return Новый экземпляр Completable
+     */
+    public static Completable error(Throwable error) {
+        return new Completable(observer -> observer.onError(error));
+    }
+
+    /**
+     * Создает Completable который выполняет действие при каждой подписке.
+     * @param action Действие
+     * @return Новый экземпляр Completable
+     */
+    public static Completable fromRunnable(Runnable action) {
+        return new Completable(observer -> {
+            try {
+                action.run();
+            } catch (Exception e) {
+                observer.onError(e);
+                return;
+            }
+            observer.onComplete();
+        });
+    }
+
+    /**
+     * Создает Completable из CompletableFuture. Результат future игнорируется.
+     * @param future CompletableFuture
+     * @return Новый экземпляр Completable
+     */
+    public static Completable fromFuture(CompletableFuture<?> future) {
+        return new Completable(observer -> future.whenComplete((value, error) -> {
+            if (error != null) {
+                observer.onError(FutureHelper.unwrap(error));
+            } else {
+                observer.onComplete();
+            }
+        }));
+    }
+
+    /**
+     * Подписывает CompletableObserver и возвращает Disposable.
+     * После первого сигнала и после отмены остальные сигналы отбрасываются.
+     * @param observer CompletableObserver для подписки
+     * @return Disposable для отмены подписки
+     */
+    public Disposable subscribe(CompletableObserver observer) {
+        SafeCompletableObserver safeObserver = new SafeCompletableObserver(observer);
+        try {
+            source.accept(safeObserver);
+        } catch (Exception e) {
+            safeObserver.onError(e);
+        }
+        return safeObserver;
+    }
+
+    /**
+     * Подписывается на Completable с колбэками для onComplete и onError.
+     * @param onComplete Колбэк для обработки завершения
+     * @param onError Колбэк для обработки ошибок
+     * @return Disposable для отмены подписки
+     */
+    public Disposable subscribe(Runnable onComplete, Consumer<Throwable> onError) {
+        return subscribe(new CompletableObserver() {
+            @Override
+            public void onComplete() {
+                onComplete.run();
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                onError.accept(t);
+            }
+        });
+    }
+
+    /**
+     * После успешного завершения подписывается на следующий Completable.
+     * Для Completable это аналог flatMap.
+     * @param next Следующий Completable
+     * @return Новый Completable
+     */
+    public Completable andThen(Completable next) {
+        return new Completable(observer -> source.accept(new AndThenObserver(observer, next)));
+    }
+
+    /**
+     * Указывает Scheduler на котором будет выполняться подписка на источник.
+     * @param scheduler Scheduler
+     * @return Новый Completable который подписывается на установленом Scheduler
+     */
+    public Completable subscribeOn(Scheduler scheduler) {
+        return new Completable(observer -> scheduler.execute(() -> {
+            if (DisposableHelper.isDisposed(observer)) {
+                return;
+            }
+            try {
+                source.accept(observer);
+            } catch (Exception e) {
+                observer.onError(e);
+            }
+        }));
+    }
+
+    /**
+     * Указывает Scheduler на котором наблюдатель получит результат.
+     * @param scheduler Scheduler
+     * @return Новый Completable который выдает результат на указанном Scheduler
+     */
+    public Completable observeOn(Scheduler scheduler) {
+        return new Completable(observer -> source.accept(new ObserveOnObserver(observer, scheduler)));
+    }
+
+    /**
+     * Подписывается и возвращает CompletableFuture который завершится вместе с Completable.
+     * @return CompletableFuture без значения
+     */
+    public CompletableFuture<Void> toFuture() {
+        FutureObserver future = new FutureObserver();
+        subscribe(future);
+        return future;
+    }
+
+    /**
+     * CompletableObserver который пропускает только первый сигнал и отбрасывает сигналы после отмены.
+     */
+    private static final class SafeCompletableObserver implements CompletableObserver, Disposable, ResourceHolder {
+        private static final VarHandle DONE;
+
+        static {
+            try {
+                DONE = MethodHandles.lookup().findVarHandle(SafeCompletableObserver.class, "done", boolean.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        private final CompletableObserver downstream;
+        // Пришел первый сигнал или подписка отменена
+        private volatile boolean done;
+        private volatile Disposable resource;
+
+        SafeCompletableObserver(CompletableObserver downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onComplete() {
+            if (DONE.compareAndSet(this, false, true)) {
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (DONE.compareAndSet(this, false, true)) {
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (DONE.compareAndSet(this, false, true)) {
+                Disposable r = resource;
+                if (r != null) {
+                    r.dispose();
+                }
+            }
+        }
+
+        @Override
+        public void setResource(Disposable resource) {
+            this.resource = resource;
+            if (done) {
+                resource.dispose();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return done || DisposableHelper.isDisposed(downstream);
+        }
+    }
+
+    private static final class AndThenObserver implements CompletableObserver, Disposable {
+        private final CompletableObserver downstream;
+        private final Completable next;
+
+        AndThenObserver(CompletableObserver downstream, Completable next) {
+            this.downstream = downstream;
+            this.next = next;
+        }
+
+        @Override
+        public void onComplete() {
+            if (DisposableHelper.isDisposed(downstream)) {
+                return;
+            }
+            try {
+                next.source.accept(downstream);
+            } catch (Exception e) {
+                downstream.onError(e);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            downstream.onError(t);
+        }
+
+        @Override
+        public void dispose() {
+            DisposableHelper.dispose(downstream);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return DisposableHelper.isDisposed(downstream);
+        }
+    }
+
+    private static final class ObserveOnObserver implements CompletableObserver, Disposable, Runnable {
+        private final CompletableObserver downstream;
+        private final Scheduler scheduler;
+        private Throwable error;
+
+        ObserveOnObserver(CompletableObserver downstream, Scheduler scheduler) {
+            this.downstream = downstream;
+            this.scheduler = scheduler;
+        }
+
+        @Override
+        public void onComplete() {
+            scheduler.execute(this);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            this.error = t;
+            scheduler.execute(this);
+        }
+
+        @Override
+        public void run() {
+            if (DisposableHelper.isDisposed(downstream)) {
+                return;
+            }
+            Throwable t = error;
+            if (t != null) {
+                downstream.onError(t);
+            } else {
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            DisposableHelper.dispose(downstream);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return DisposableHelper.isDisposed(downstream);
+        }
+    }
+
+    private static final class FutureObserver extends CompletableFuture<Void> implements CompletableObserver, Disposable {
+
+        @Override
+        public void onComplete() {
+            complete(null);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            completeExceptionally(t);
+        }
+
+        @Override
+        public void dispose() {
+            cancel(false);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return isDone();
+        }
+    }
+}
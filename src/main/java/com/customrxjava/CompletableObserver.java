@@ -0,0 +1,18 @@
+package com.customrxjava;
+
+/**
+ * Интерфейс наблюдателя для Completable. Получает ровно один сигнал: завершение или ошибку.
+ */
+public interface CompletableObserver {
+
+    /**
+     * Вызывается при завершении
+     */
+    void onComplete();
+
+    /**
+     * Обрабатывает ошибки
+     * @param t исключение
+     */
+    void onError(Throwable t);
+}
@@ -0,0 +1,425 @@
+package com.customrxjava;
+
+import com.customrxjava.operators.DisposableHelper;
+import com.customrxjava.operators.FutureHelper;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Класс представляющий Maybe - источник не более одного значения. Завершается значением. пустым завершением
+ * или ошибкой.
+ * @param <T> Тип значения
+ */
+public class Maybe<T> {
+    private final Consumer<MaybeObserver<T>> source;
+
+    protected Maybe(Consumer<MaybeObserver<T>> source) {
+        this.source = source;
+    }
+
+    /**
+     * Создает новый Maybe из функции источника.
+     * @param source Функция источник
+     * @param <T> Тип значения
+     * @return Новый экземпляр Maybe
+     */
+    public static <T> Maybe<T> create(Consumer<MaybeObserver<T>> source) {
+        return new Maybe<>(source);
+    }
+
+    /**
+     * Создает Maybe который сразу выдает значение.
+     * @param value Значение
+     * @param <T> Тип значения
+     * @return Новый экземпляр Maybe
+     */
+    public static <T> Maybe<T> just(T value) {
+        return new Maybe<>(observer -> observer.onSuccess(value));
+    }
+
+    /**
+     * Создает Maybe который сразу завершается без значения.
+     * @param <T> Тип значения
+     * @return Новый экземпляр Maybe
+     */
+    public static <T> Maybe<T> empty() {
+        return new Maybe<>(MaybeObserver::onComplete);
+    }
+
+    /**
+     * Создает Maybe который сразу завершается ошибкой.
+     * @param error Ошибка
+     * @param <T> Тип значения
+     * @return Новый экземпляр Maybe
+     */
+    public static <T> Maybe<T> error(Throwable error) {
+        return new Maybe<>(observer -> observer.onError(error));
+    }
+
+    /**
+     * Создает Maybe из CompletableFuture. Результат null считается пустым завершением.
+     * @param future CompletableFuture
+     * @param <T> Тип значения
+     * @return Новый экземпляр Maybe
+     */
+    public static <T> Maybe<T> fromFuture(CompletableFuture<T> future) {
+        return new Maybe<>(observer -> future.whenComplete((value, error) -> {
+            if (error != null) {
+                observer.onError(FutureHelper.unwrap(error));
+            } else if (value == null) {
+                observer.onComplete();
+            } else {
+                observer.onSuccess(value);
+            }
+        }));
+    }
+
+    /**
+     * Подписывает MaybeObserver и возвращает Disposable.
+     * После первого сигнала и после отмены остальные сигналы отбрасываются.
+     * @param observer MaybeObserver для подписки
+     * @return Disposable для отмены подписки
+     */
+    public Disposable subscribe(MaybeObserver<T> observer) {
+        SafeMaybeObserver<T> safeObserver = new SafeMaybeObserver<>(observer);
+        try {
+            source.accept(safeObserver);
+        } catch (Exception e) {
+            safeObserver.onError(e);
+        }
+        return safeObserver;
+    }
+
+    /**
+     * Подписывается на Maybe с колбэками для onSuccess onError и onComplete.
+     * @param onSuccess Колбэк для обработки значения
+     * @param onError Колбэк для обработки ошибок
+     * @param onComplete Колбэк для завершения без значения
+     * @return Disposable для отмены подписки
+     */
+    public Disposable subscribe(Consumer<T> onSuccess, Consumer<Throwable> onError, Runnable onComplete) {
+        return subscribe(new MaybeObserver<T>() {
+            @Override
+            public void onSuccess(T value) {
+                onSuccess.accept(value);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                onError.accept(t);
+            }
+
+            @Override
+            public void onComplete() {
+                onComplete.run();
+            }
+        });
+    }
+
+    /**
+     * Преобразует значение применяя к нему функцию.
+     * @param mapper Функция
+     * @param <R> Тип результата
+     * @return Новый Maybe с преобразованным значением
+     */
+    public <R> Maybe<R> map(Function<T, R> mapper) {
+        return new Maybe<>(observer -> source.accept(new MapObserver<>(observer, mapper)));
+    }
+
+    /**
+     * Продолжает цепочку Maybe который возвращает функция для значения. Пустой Maybe остается пустым.
+     * @param mapper Функция которая возвращает Maybe для значения
+     * @param <R> Тип результата
+     * @return Новый Maybe
+     */
+    public <R> Maybe<R> flatMap(Function<T, Maybe<R>> mapper) {
+        return new Maybe<>(observer -> source.accept(new FlatMapObserver<>(observer, mapper)));
+    }
+
+    /**
+     * Указывает Scheduler на котором будет выполняться подписка на источник.
+     * @param scheduler Scheduler
+     * @return Новый Maybe который подписывается на установленом Scheduler
+     */
+    public Maybe<T> subscribeOn(Scheduler scheduler) {
+        return new Maybe<>(observer -> scheduler.execute(() -> {
+            if (DisposableHelper.isDisposed(observer)) {
+                return;
+            }
+            try {
+                source.accept(observer);
+            } catch (Exception e) {
+                observer.onError(e);
+            }
+        }));
+    }
+
+    /**
+     * Указывает Scheduler на котором наблюдатель получит результат.
+     * @param scheduler Scheduler
+     * @return Новый Maybe который выдает результат на указанном Scheduler
+     */
+    public Maybe<T> observeOn(Scheduler scheduler) {
+        return new Maybe<>(observer -> source.accept(new ObserveOnObserver<>(observer, scheduler)));
+    }
+
+    /**
+     * Подписывается и возвращает CompletableFuture с результатом. Пустой Maybe завершает future значением null.
+     * @return CompletableFuture с результатом
+     */
+    public CompletableFuture<T> toFuture() {
+        FutureObserver<T> future = new FutureObserver<>();
+        subscribe(future);
+        return future;
+    }
+
+    /**
+     * Преобразует Maybe в Observable из не более чем одного элемента.
+     * @return Новый Observable
+     */
+    public Observable<T> toObservable() {
+        return Observable.create(observer -> subscribe(new MaybeObserver<T>() {
+            @Override
+            public void onSuccess(T value) {
+                observer.onNext(value);
+                observer.onComplete();
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                observer.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                observer.onComplete();
+            }
+        }));
+    }
+
+    /**
+     * MaybeObserver который пропускает только первый сигнал и отбрасывает сигналы после отмены.
+     */
+    private static final class SafeMaybeObserver<T> implements MaybeObserver<T>, Disposable {
+        private static final VarHandle DONE;
+
+        static {
+            try {
+                DONE = MethodHandles.lookup().findVarHandle(SafeMaybeObserver.class, "done", boolean.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        private final MaybeObserver<T> downstream;
+        // Пришел первый сигнал или подписка отменена
+        private volatile boolean done;
+
+        SafeMaybeObserver(MaybeObserver<T> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onSuccess(T value) {
+            if (DONE.compareAndSet(this, false, true)) {
+                downstream.onSuccess(value);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (DONE.compareAndSet(this, false, true)) {
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (DONE.compareAndSet(this, false, true)) {
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            done = true;
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return done || DisposableHelper.isDisposed(downstream);
+        }
+    }
+
+    private static final class MapObserver<T, R> implements MaybeObserver<T>, Disposable {
+        private final MaybeObserver<R> downstream;
+        private final Function<T, R> mapper;
+
+        MapObserver(MaybeObserver<R> downstream, Function<T, R> mapper) {
+            this.downstream = downstream;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public void onSuccess(T value) {
+            R result;
+            try {
+                result = mapper.apply(value);
+            } catch (Exception e) {
+                downstream.onError(e);
+                return;
+            }
+            downstream.onSuccess(result);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            downstream.onComplete();
+        }
+
+        @Override
+        public void dispose() {
+            DisposableHelper.dispose(downstream);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return DisposableHelper.isDisposed(downstream);
+        }
+    }
+
+    private static final class FlatMapObserver<T, R> implements MaybeObserver<T>, Disposable {
+        private final MaybeObserver<R> downstream;
+        private final Function<T, Maybe<R>> mapper;
+
+        FlatMapObserver(MaybeObserver<R> downstream, Function<T, Maybe<R>> mapper) {
+            this.downstream = downstream;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public void onSuccess(T value) {
+            if (DisposableHelper.isDisposed(downstream)) {
+                return;
+            }
+            try {
+                mapper.apply(value).source.accept(downstream);
+            } catch (Exception e) {
+                downstream.onError(e);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            downstream.onComplete();
+        }
+
+        @Override
+        public void dispose() {
+            DisposableHelper.dispose(downstream);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return DisposableHelper.isDisposed(downstream);
+        }
+    }
+
+    private static final class ObserveOnObserver<T> implements MaybeObserver<T>, Disposable, Runnable {
+        private final MaybeObserver<T> downstream;
+        private final Scheduler scheduler;
+        private boolean hasValue;
+        private T value;
+        private Throwable error;
+
+        ObserveOnObserver(MaybeObserver<T> downstream, Scheduler scheduler) {
+            this.downstream = downstream;
+            this.scheduler = scheduler;
+        }
+
+        @Override
+        public void onSuccess(T value) {
+            this.value = value;
+            this.hasValue = true;
+            scheduler.execute(this);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            this.error = t;
+            scheduler.execute(this);
+        }
+
+        @Override
+        public void onComplete() {
+            scheduler.execute(this);
+        }
+
+        @Override
+        public void run() {
+            if (DisposableHelper.isDisposed(downstream)) {
+                return;
+            }
+            Throwable t = error;
+            if (t != null) {
+                downstream.onError(t);
+            } else if (hasValue) {
+                downstream.onSuccess(value);
+            } else {
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            DisposableHelper.dispose(downstream);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return DisposableHelper.isDisposed(downstream);
+        }
+    }
+
+    private static final class FutureObserver<T> extends CompletableFuture<T> implements MaybeObserver<T>, Disposable {
+
+        @Override
+        public void onSuccess(T value) {
+            complete(value);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            completeExceptionally(t);
+        }
+
+        @Override
+        public void onComplete() {
+            complete(null);
+        }
+
+        @Override
+        public void dispose() {
+            cancel(false);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return isDone();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.customrxjava;
+
+/**
+ * Интерфейс наблюдателя для Maybe. Получает ровно один сигнал: значение. завершение без значения или ошибку.
+ */
+public interface MaybeObserver<T> {
+
+    /**
+     * Получает значение
+     * @param value значение
+     */
+    void onSuccess(T value);
+
+    /**
+     * Обрабатывает ошибки
+     * @param t исключение
+     */
+    void onError(Throwable t);
+
+    /**
+     * Вызывается при завершении без значения
+     */
+    void onComplete();
+}
@@ -1,8 +1,72 @@
 package com.customrxjava;
 
+import com.customrxjava.cache.AsyncLoadingCache;
+import com.customrxjava.cache.CachePolicy;
+import com.customrxjava.distinct.LongSeenSet;
+import com.customrxjava.distinct.SeenSet;
+import com.customrxjava.flow.BackpressurePublisher;
+import com.customrxjava.flow.BackpressureStrategy;
+import com.customrxjava.flow.BufferOverflow;
+import com.customrxjava.flow.ObservablePublisher;
+import com.customrxjava.flow.PublisherSource;
+import com.customrxjava.io.ByteEncoder;
+import com.customrxjava.io.FileSink;
+import com.customrxjava.io.WriteOptions;
+import com.customrxjava.operators.BlockingIterator;
+import com.customrxjava.operators.BlockingValueObserver;
+import com.customrxjava.operators.CombineLatestOperator;
+import com.customrxjava.operators.CursorIterator;
+import com.customrxjava.operators.DisposableHelper;
+import com.customrxjava.operators.DistinctUntilChangedPredicate;
+import com.customrxjava.operators.FilterObserver;
+import com.customrxjava.operators.MapAsyncOperator;
+import com.customrxjava.operators.MapObserver;
+import com.customrxjava.operators.MergeOperator;
+import com.customrxjava.operators.ObserveOnObserver;
+import com.customrxjava.operators.ResourceHolder;
+import com.customrxjava.operators.RetryOperator;
+import com.customrxjava.operators.SerializedObserver;
+import com.customrxjava.operators.TimeoutOperator;
+import com.customrxjava.operators.WindowOperator;
+import com.customrxjava.operators.ZipOperator;
+import com.customrxjava.retry.RetryPolicy;
+import com.customrxjava.schedulers.Priority;
+import com.customrxjava.schedulers.PriorityScheduler;
+import com.customrxjava.sources.ArraySource;
+import com.customrxjava.sources.FilterFuseableSource;
+import com.customrxjava.sources.FuseableSource;
+import com.customrxjava.sources.IterableSource;
+import com.customrxjava.sources.LongRangeSource;
+import com.customrxjava.sources.MapFuseableSource;
+import com.customrxjava.sources.ParallelSpliteratorSource;
+import com.customrxjava.sources.RangeSource;
+import com.customrxjava.sources.StreamSource;
+import com.customrxjava.spill.SpillCodec;
+import com.customrxjava.windows.Aggregator;
+import com.customrxjava.windows.Window;
+import com.customrxjava.windows.WindowAssigner;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -12,7 +76,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 public class Observable<T> {
     private final Consumer<Observer<T>> source;
 
-    private Observable(Consumer<Observer<T>> source) {
+    protected Observable(Consumer<Observer<T>> source) {
         this.source = source;
     }
 
@@ -23,55 +87,262 @@ public class Observable<T> {
      * @return Новый экземпляр Observable
      */
     public static <T> Observable<T> create(Consumer<Observer<T>> source) {
-        return new Observable<>(source);
+        return Plugins.onAssembly(new Observable<>(source));
+    }
+
+    /**
+     * Создает Observable из функции источника которая может вызывать Observer из нескольких потоков одновременно.
+     * Сигналы сериализуются через SerializedObserver. поэтому downstream получает их последовательно.
+     * @param source Функция источник
+     * @param <T> Тип элементов
+     * @return Новый экземпляр Observable
+     */
+    public static <T> Observable<T> createSerialized(Consumer<Observer<T>> source) {
+        return Plugins.onAssembly(new Observable<>(observer -> source.accept(new SerializedObserver<>(observer))));
+    }
+
+    /**
+     * Создает Observable который выдает элементы Iterable.
+     * @param iterable Источник элементов
+     * @param <T> Тип элементов
+     * @return Новый экземпляр Observable
+     */
+    public static <T> Observable<T> fromIterable(Iterable<T> iterable) {
+        return Plugins.onAssembly(new Observable<>(new IterableSource<>(iterable)));
+    }
+
+    /**
+     * Создает Observable который выдает элементы массива.
+     * @param items Элементы
+     * @param <T> Тип элементов
+     * @return Новый экземпляр Observable
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <T> Observable<T> fromArray(T... items) {
+        // ArraySource только читает массив. поэтому передать его без копирования безопасно
+        return Plugins.onAssembly(new Observable<>(new ArraySource<>(items)));
+    }
+
+    /**
+     * Создает Observable который выдает элементы Stream. На Stream можно подписаться только один раз.
+     * @param stream Источник элементов
+     * @param <T> Тип элементов
+     * @return Новый экземпляр Observable
+     */
+    public static <T> Observable<T> fromStream(Stream<T> stream) {
+        return Plugins.onAssembly(new Observable<>(new StreamSource<>(stream)));
+    }
+
+    /**
+     * Создает Observable который делит Stream на части и обходит их параллельно на Scheduler.
+     * Элементы приходят в Observer последовательно но без сохранения порядка.
+     * @param stream Источник элементов
+     * @param scheduler Scheduler для обхода частей. например ComputationScheduler
+     * @param parallelism Максимальное число частей
+     * @param <T> Тип элементов
+     * @return Новый экземпляр Observable
+     */
+    public static <T> Observable<T> fromStream(Stream<T> stream, Scheduler scheduler, int parallelism) {
+        return Plugins.onAssembly(new Observable<>(
+            new ParallelSpliteratorSource<>(stream::spliterator, scheduler, parallelism)));
+    }
+
+    /**
+     * Создает Observable который выдает count чисел начиная со start.
+     * @param start Первое число
+     * @param count Количество чисел
+     * @return Новый экземпляр Observable
+     */
+    public static Observable<Integer> range(int start, int count) {
+        return Plugins.onAssembly(new Observable<>(new RangeSource(start, count)));
+    }
+
+    /**
+     * Создает Observable который выдает count чисел типа long начиная со start.
+     * @param start Первое число
+     * @param count Количество чисел
+     * @return Новый экземпляр Observable
+     */
+    public static Observable<Long> rangeLong(long start, long count) {
+        return Plugins.onAssembly(new Observable<>(new LongRangeSource(start, count)));
+    }
+
+    /**
+     * Создает Observable из Flow.Publisher с запросом 128 элементов вперед.
+     * @param publisher Flow.Publisher
+     * @param <T> Тип элементов
+     * @return Новый экземпляр Observable
+     */
+    public static <T> Observable<T> fromPublisher(Flow.Publisher<T> publisher) {
+        return fromPublisher(publisher, 128);
+    }
+
+    /**
+     * Создает Observable из Flow.Publisher.
+     * Сначала запрашивается prefetch элементов. затем по 75% от prefetch когда столько элементов получено.
+     * @param publisher Flow.Publisher
+     * @param prefetch Сколько элементов запрашивать вперед
+     * @param <T> Тип элементов
+     * @return Новый экземпляр Observable
+     */
+    public static <T> Observable<T> fromPublisher(Flow.Publisher<T> publisher, int prefetch) {
+        return Plugins.onAssembly(new Observable<>(new PublisherSource<>(publisher, prefetch)));
+    }
+
+    /**
+     * Объединяет элементы двух Observable попарно. n-й результат строится из n-х элементов обоих источников.
+     * @param first Первый источник
+     * @param second Второй источник
+     * @param zipper Функция объединения
+     * @param <A> Тип элементов первого источника
+     * @param <B> Тип элементов второго источника
+     * @param <R> Тип результата
+     * @return Новый экземпляр Observable
+     */
+    @SuppressWarnings("unchecked")
+    public static <A, B, R> Observable<R> zip(Observable<A> first, Observable<B> second,
+                                              BiFunction<A, B, R> zipper) {
+        return zip(List.of(first, second), values -> zipper.apply((A) values[0], (B) values[1]));
+    }
+
+    /**
+     * Объединяет элементы нескольких Observable по порядковому номеру.
+     * @param sources Источники
+     * @param zipper Функция объединения. получает по одному элементу от каждого источника в порядке sources
+     * @param <R> Тип результата
+     * @return Новый экземпляр Observable
+     */
+    public static <R> Observable<R> zip(List<? extends Observable<?>> sources, Function<Object[], R> zipper) {
+        return zip(sources, zipper, 128);
+    }
+
+    /**
+     * Объединяет элементы нескольких Observable по порядковому номеру.
+     * Синхронные источники (range. fromArray. fromIterable и map/filter над ними) читаются по мере надобности.
+     * Элементы остальных источников копятся в своей ограниченной очереди без блокировок. Если источник обогнал
+     * остальных на bufferSize элементов. поток завершается IllegalStateException и все источники отменяются.
+     * Результат выдается как только у всех источников есть элемент. Поток завершается когда завершился
+     * источник у которого не осталось элементов.
+     * @param sources Источники
+     * @param zipper Функция объединения. получает по одному элементу от каждого источника в порядке sources
+     * @param bufferSize Размер очереди источника. округляется вверх до степени двойки
+     * @param <R> Тип результата
+     * @return Новый экземпляр Observable
+     */
+    public static <R> Observable<R> zip(List<? extends Observable<?>> sources, Function<Object[], R> zipper,
+                                        int bufferSize) {
+        return Plugins.onAssembly(new Observable<>(
+            new ZipOperator<>(sources, fuseables(sources), zipper, bufferSize)));
+    }
+
+    /**
+     * Объединяет последние элементы двух Observable при каждом новом элементе любого из них.
+     * @param first Первый источник
+     * @param second Второй источник
+     * @param combiner Функция объединения
+     * @param <A> Тип элементов первого источника
+     * @param <B> Тип элементов второго источника
+     * @param <R> Тип результата
+     * @return Новый экземпляр Observable
+     */
+    @SuppressWarnings("unchecked")
+    public static <A, B, R> Observable<R> combineLatest(Observable<A> first, Observable<B> second,
+                                                        BiFunction<A, B, R> combiner) {
+        return combineLatest(List.of(first, second), values -> combiner.apply((A) values[0], (B) values[1]));
+    }
+
+    /**
+     * Объединяет последние элементы нескольких Observable при каждом новом элементе любого из них.
+     * @param sources Источники
+     * @param combiner Функция объединения. получает последние элементы источников в порядке sources
+     * @param <R> Тип результата
+     * @return Новый экземпляр Observable
+     */
+    public static <R> Observable<R> combineLatest(List<? extends Observable<?>> sources,
+                                                  Function<Object[], R> combiner) {
+        return combineLatest(sources, combiner, 128);
+    }
+
+    /**
+     * Объединяет последние элементы нескольких Observable при каждом новом элементе любого из них.
+     * Первый результат выдается когда каждый источник выдал хотя бы один элемент.
+     * Синхронные источники читаются по мере надобности. Элементы остальных источников копятся в своей
+     * ограниченной очереди без блокировок. Если источник накопил bufferSize необработанных элементов. поток
+     * завершается IllegalStateException и все источники отменяются.
+     * @param sources Источники
+     * @param combiner Функция объединения. получает последние элементы источников в порядке sources
+     * @param bufferSize Размер очереди источника. округляется вверх до степени двойки
+     * @param <R> Тип результата
+     * @return Новый экземпляр Observable
+     */
+    public static <R> Observable<R> combineLatest(List<? extends Observable<?>> sources,
+                                                  Function<Object[], R> combiner, int bufferSize) {
+        return Plugins.onAssembly(new Observable<>(
+            new CombineLatestOperator<>(sources, fuseables(sources), combiner, bufferSize)));
+    }
+
+    // Для каждого источника его синхронная часть или null если источник нужно подписать
+    private static List<FuseableSource<?>> fuseables(List<? extends Observable<?>> sources) {
+        List<FuseableSource<?>> result = new ArrayList<>(sources.size());
+        for (Observable<?> observable : sources) {
+            Object source = observable.source;
+            result.add(source instanceof FuseableSource ? (FuseableSource<?>) source : null);
+        }
+        return result;
+    }
+
+    /**
+     * Объединяет элементы нескольких Observable в один поток по мере их поступления.
+     * @param sources Источники
+     * @param <T> Тип элементов
+     * @return Новый экземпляр Observable
+     */
+    public static <T> Observable<T> merge(List<? extends Observable<? extends T>> sources) {
+        return merge(sources, 128);
+    }
+
+    /**
+     * Объединяет элементы нескольких Observable в один поток по мере их поступления.
+     * Источники могут выдавать элементы из разных потоков. Observer все равно вызывается последовательно:
+     * если никто не выдает элементы. элемент передается сразу. иначе он ждет в очереди своего источника.
+     * Порядок сохраняется только внутри одного источника. Поток завершается когда завершились все источники.
+     * @param sources Источники
+     * @param prefetch Размер блока очереди источника
+     * @param <T> Тип элементов
+     * @return Новый экземпляр Observable
+     */
+    public static <T> Observable<T> merge(List<? extends Observable<? extends T>> sources, int prefetch) {
+        return Plugins.onAssembly(new Observable<>(new MergeOperator<>(sources, prefetch)));
+    }
+
+    /**
+     * Объединяет элементы нескольких Observable в один поток по мере их поступления.
+     * @param sources Источники
+     * @param <T> Тип элементов
+     * @return Новый экземпляр Observable
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <T> Observable<T> mergeArray(Observable<? extends T>... sources) {
+        // List.of копирует массив в неизменяемый список и ничего в него не пишет
+        return merge(List.of(sources), 128);
     }
 
     /**
      * Подписывает Observer возвращает Disposable.
+     * Источник получает Observer который также реализует Disposable. по нему источник может проверить отмену подписки.
      * @param observer Observer для подписки
      * @return Disposable для отмены подписки
      */
     public Disposable subscribe(Observer<T> observer) {
-        AtomicBoolean disposed = new AtomicBoolean(false);
+        SafeObserver<T> safeObserver = new SafeObserver<>(observer);
         try {
-            source.accept(new Observer<T>() {
-                @Override
-                public void onNext(T item) {
-                    if (!disposed.get()) {
-                        observer.onNext(item);
-                    }
-                }
-
-                @Override
-                public void onError(Throwable t) {
-                    if (!disposed.get()) {
-                        observer.onError(t);
-                    }
-                }
-
-                @Override
-                public void onComplete() {
-                    if (!disposed.get()) {
-                        observer.onComplete();
-                    }
-                }
-            });
+            source.accept(safeObserver);
         } catch (Exception e) {
-            if (!disposed.get()) {
-                observer.onError(e);
-            }
+            safeObserver.onError(e);
         }
-        return new Disposable() {
-            @Override
-            public void dispose() {
-                disposed.set(true);
-            }
-
-            @Override
-            public boolean isDisposed() {
-                return disposed.get();
-            }
-        };
+        return safeObserver;
     }
 
     /**
@@ -102,43 +373,173 @@ public class Observable<T> {
 
     /**
      * Преобразует элементы выдаваемые Observable применяя функцию к каждому элементу.
+     * Ошибка функции или null результат завершают поток onError. источник отменяется.
      * @param mapper Функция
      * @param <R> Тип элементов выдаваемых результирующим Observable
      * @return Новый Observable - выдает преобразованные элементы
      */
     public <R> Observable<R> map(Function<T, R> mapper) {
-        return new Observable<>(observer -> subscribe(
-            item -> {
-                try {
-                    observer.onNext(mapper.apply(item));
-                } catch (Exception e) {
-                    observer.onError(e);
-                }
-            },
-            observer::onError,
-            observer::onComplete
-        ));
+        if (source instanceof FuseableSource) {
+            return Plugins.onAssembly(new Observable<>(
+                new MapFuseableSource<>((FuseableSource<T>) source, mapper)));
+        }
+        return Plugins.onAssembly(new Observable<>(observer -> subscribe(new MapObserver<>(observer, mapper))));
     }
 
     /**
      * Фильтрует элементы выдаваемые этим Observable. выдавая только те которые удовлетворяют предикат.
+     * Ошибка предиката завершает поток onError. источник отменяется.
      * @param predicate Предикат применяемый к каждому элементу
      * @return Новый Observable который выдает только те элементы которые удовлетворяют предикат
      */
     public Observable<T> filter(Predicate<T> predicate) {
-        return new Observable<>(observer -> subscribe(
-            item -> {
-                try {
-                    if (predicate.test(item)) {
-                        observer.onNext(item);
+        if (source instanceof FuseableSource) {
+            return Plugins.onAssembly(new Observable<>(
+                new FilterFuseableSource<>((FuseableSource<T>) source, predicate)));
+        }
+        return Plugins.onAssembly(new Observable<>(observer -> subscribe(new FilterObserver<>(observer, predicate))));
+    }
+
+    /**
+     * Преобразует элементы на Scheduler. до parallelism вызовов одновременно. Результаты выдаются в порядке
+     * элементов источника без пересортировки после оператора. Подходит для блокирующих вызовов.
+     * @param parallelism Сколько вызовов может выполняться одновременно
+     * @param mapper Функция преобразования. может блокировать поток
+     * @param scheduler Scheduler для вызовов. например IOThreadScheduler
+     * @param <R> Тип результатов
+     * @return Новый Observable
+     */
+    public <R> Observable<R> mapAsync(int parallelism, Function<T, R> mapper, Scheduler scheduler) {
+        return Plugins.onAssembly(new Observable<>(new MapAsyncOperator<T, R>(this, item -> {
+            CompletableFuture<R> future = new CompletableFuture<>();
+            try {
+                scheduler.execute(() -> {
+                    try {
+                        future.complete(mapper.apply(item));
+                    } catch (Throwable e) {
+                        future.completeExceptionally(e);
                     }
-                } catch (Exception e) {
-                    observer.onError(e);
-                }
-            },
-            observer::onError,
-            observer::onComplete
-        ));
+                });
+            } catch (RuntimeException e) {
+                // Отказ Scheduler выдается по порядку после результатов предыдущих элементов
+                future.completeExceptionally(e);
+            }
+            return future;
+        }, parallelism)));
+    }
+
+    /**
+     * Обогащает элементы значением которое загружается по ключу элемента на Scheduler. до 16 загрузок
+     * одновременно. Подробности в mapAsyncCached с параметром maxConcurrency.
+     * @param keySelector Функция извлечения ключа
+     * @param loader Загрузка значения по ключу. может блокировать поток
+     * @param combiner Объединяет элемент с загруженным значением
+     * @param cachePolicy Ограничения кеша
+     * @param scheduler Scheduler для загрузки. например IOThreadScheduler
+     * @param <K> Тип ключей
+     * @param <V> Тип загружаемых значений
+     * @param <R> Тип результатов
+     * @return Новый Observable
+     */
+    public <K, V, R> Observable<R> mapAsyncCached(Function<T, K> keySelector, Function<K, V> loader,
+                                                  BiFunction<T, V, R> combiner, CachePolicy cachePolicy,
+                                                  Scheduler scheduler) {
+        return mapAsyncCached(keySelector, loader, combiner, cachePolicy, 16, scheduler);
+    }
+
+    /**
+     * Обогащает элементы значением которое загружается по ключу элемента на Scheduler.
+     * Загруженные значения хранятся в кеше с ограничением cachePolicy. общем для всех подписок на результат.
+     * Одновременные запросы одного ключа ждут одну загрузку. Результаты выдаются в порядке элементов источника.
+     * а ожидающих загрузки элементов не больше maxConcurrency.
+     * @param keySelector Функция извлечения ключа
+     * @param loader Загрузка значения по ключу. может блокировать поток
+     * @param combiner Объединяет элемент с загруженным значением
+     * @param cachePolicy Ограничения кеша
+     * @param maxConcurrency Сколько элементов может ждать загрузку одновременно
+     * @param scheduler Scheduler для загрузки
+     * @param <K> Тип ключей
+     * @param <V> Тип загружаемых значений
+     * @param <R> Тип результатов
+     * @return Новый Observable
+     */
+    public <K, V, R> Observable<R> mapAsyncCached(Function<T, K> keySelector, Function<K, V> loader,
+                                                  BiFunction<T, V, R> combiner, CachePolicy cachePolicy,
+                                                  int maxConcurrency, Scheduler scheduler) {
+        AsyncLoadingCache<K, V> cache = new AsyncLoadingCache<>(cachePolicy, loader, scheduler);
+        return Plugins.onAssembly(new Observable<>(new MapAsyncOperator<T, R>(this,
+            item -> cache.get(keySelector.apply(item)).thenApply(value -> combiner.apply(item, value)),
+            maxConcurrency)));
+    }
+
+    /**
+     * Пропускает только элементы которые еще не встречались. Все элементы хранятся в HashSet.
+     * поэтому для потоков с большим числом различных значений лучше distinct с ограниченным SeenSet.
+     * @return Новый Observable без повторов
+     */
+    public Observable<T> distinct() {
+        return distinct(item -> item, () -> new HashSet<T>()::add);
+    }
+
+    /**
+     * Пропускает только элементы с ключом который еще не встречался.
+     * Множество ключей создается заново для каждой подписки. например SeenSet.lru(10_000).
+     * @param keySelector Функция извлечения ключа
+     * @param seenSetSupplier Создает множество встреченных ключей
+     * @param <K> Тип ключей
+     * @return Новый Observable без повторов
+     */
+    public <K> Observable<T> distinct(Function<T, K> keySelector, Supplier<? extends SeenSet<K>> seenSetSupplier) {
+        return Plugins.onAssembly(new Observable<>(observer -> {
+            SeenSet<K> seen = seenSetSupplier.get();
+            subscribe(new FilterObserver<>(observer, item -> seen.add(keySelector.apply(item))));
+        }));
+    }
+
+    /**
+     * Пропускает только элементы с ключом типа long который еще не встречался. Ключи не упаковываются в Long.
+     * @param keySelector Функция извлечения ключа
+     * @param seenSetSupplier Создает множество встреченных ключей. например LongSeenSet.lru(10_000)
+     * @return Новый Observable без повторов
+     */
+    public Observable<T> distinctLong(ToLongFunction<T> keySelector, Supplier<? extends LongSeenSet> seenSetSupplier) {
+        return Plugins.onAssembly(new Observable<>(observer -> {
+            LongSeenSet seen = seenSetSupplier.get();
+            subscribe(new FilterObserver<>(observer, item -> seen.add(keySelector.applyAsLong(item))));
+        }));
+    }
+
+    /**
+     * Пропускает элемент только если он не равен предыдущему.
+     * @return Новый Observable без подряд идущих повторов
+     */
+    public Observable<T> distinctUntilChanged() {
+        return distinctUntilChanged(item -> item);
+    }
+
+    /**
+     * Пропускает элемент только если его ключ не равен ключу предыдущего элемента. Хранится один ключ.
+     * @param keySelector Функция извлечения ключа
+     * @param <K> Тип ключей
+     * @return Новый Observable без подряд идущих повторов
+     */
+    public <K> Observable<T> distinctUntilChanged(Function<T, K> keySelector) {
+        return Plugins.onAssembly(new Observable<>(observer -> {
+            DistinctUntilChangedPredicate<T, K> predicate = new DistinctUntilChangedPredicate<>(keySelector);
+            subscribe(new FilterObserver<>(observer, predicate));
+        }));
+    }
+
+    /**
+     * Пропускает элемент только если его ключ типа long не равен ключу предыдущего элемента.
+     * @param keySelector Функция извлечения ключа
+     * @return Новый Observable без подряд идущих повторов
+     */
+    public Observable<T> distinctUntilChangedLong(ToLongFunction<T> keySelector) {
+        return Plugins.onAssembly(new Observable<>(observer -> {
+            DistinctUntilChangedPredicate.OfLong<T> predicate = new DistinctUntilChangedPredicate.OfLong<>(keySelector);
+            subscribe(new FilterObserver<>(observer, predicate));
+        }));
     }
 
     /**
@@ -148,7 +549,7 @@ public class Observable<T> {
      * @return Новый Observable
      */
     public <R> Observable<R> flatMap(Function<T, Observable<R>> mapper) {
-        return new Observable<>(observer -> {
+        return Plugins.onAssembly(new Observable<>(observer -> {
             AtomicBoolean disposed = new AtomicBoolean(false);
             subscribe(
                 item -> {
@@ -168,28 +569,535 @@ public class Observable<T> {
                 observer::onError,
                 observer::onComplete
             );
-        });
+        }));
+    }
+
+    /**
+     * Объединяет элементы этого и другого Observable в один поток по мере их поступления.
+     * @param other Другой источник
+     * @return Новый экземпляр Observable
+     */
+    public Observable<T> mergeWith(Observable<? extends T> other) {
+        return merge(List.of(this, other), 128);
+    }
+
+    /**
+     * При ошибке заново подписывается на источник. но не больше times раз.
+     * @param times Максимальное число повторов
+     * @return Новый Observable
+     */
+    public Observable<T> retry(long times) {
+        if (times < 0) {
+            throw new IllegalArgumentException("times must not be negative: " + times);
+        }
+        return Plugins.onAssembly(new Observable<>(
+            new RetryOperator<>(this, (attempt, error) -> attempt <= times ? 0 : -1, null)));
+    }
+
+    /**
+     * При ошибке заново подписывается на источник пока предикат возвращает true.
+     * @param predicate Получает номер повтора начиная с 1 и ошибку
+     * @return Новый Observable
+     */
+    public Observable<T> retryWhen(BiPredicate<Integer, Throwable> predicate) {
+        return Plugins.onAssembly(new Observable<>(new RetryOperator<>(this,
+            (attempt, error) -> predicate.test(attempt, error) ? 0 : -1, null)));
+    }
+
+    /**
+     * При ошибке заново подписывается на источник после задержки из политики.
+     * Задержка отсчитывается таймером. повторная подписка выполняется на указанном Scheduler.
+     * @param policy Политика повторов
+     * @param scheduler Scheduler для повторной подписки
+     * @return Новый Observable
+     */
+    public Observable<T> retryWithBackoff(RetryPolicy policy, Scheduler scheduler) {
+        return Plugins.onAssembly(new Observable<>(new RetryOperator<>(this,
+            (attempt, error) -> policy.shouldRetry(attempt, error) ? policy.delayNanos(attempt) : -1, scheduler)));
+    }
+
+    /**
+     * Завершает поток TimeoutException если очередной элемент не пришел за timeout после подписки
+     * или после предыдущего элемента. Подписка на источник при этом отменяется.
+     * @param timeout Максимальное время ожидания элемента
+     * @return Новый Observable
+     */
+    public Observable<T> timeout(Duration timeout) {
+        return Plugins.onAssembly(new Observable<>(new TimeoutOperator<>(this, timeout, item -> timeout, null)));
+    }
+
+    /**
+     * Переключается на запасной Observable если очередной элемент не пришел за timeout после подписки
+     * или после предыдущего элемента. Подписка на источник при этом отменяется.
+     * На запасной Observable подписка выполняется в потоке таймера. для долгой подписки используйте subscribeOn.
+     * @param timeout Максимальное время ожидания элемента
+     * @param fallback Запасной Observable
+     * @return Новый Observable
+     */
+    public Observable<T> timeout(Duration timeout, Observable<T> fallback) {
+        return Plugins.onAssembly(new Observable<>(new TimeoutOperator<>(this, timeout, item -> timeout, fallback)));
+    }
+
+    /**
+     * Завершает поток TimeoutException если следующий элемент не пришел за время которое функция вернула
+     * для предыдущего элемента. Первый элемент ждется без ограничения.
+     * @param itemTimeout Функция которая возвращает срок ожидания следующего элемента или null без срока
+     * @return Новый Observable
+     */
+    public Observable<T> timeout(Function<T, Duration> itemTimeout) {
+        return Plugins.onAssembly(new Observable<>(new TimeoutOperator<>(this, null, itemTimeout, null)));
+    }
+
+    /**
+     * Переключается на запасной Observable если следующий элемент не пришел за время которое функция вернула
+     * для предыдущего элемента. Первый элемент ждется без ограничения.
+     * @param itemTimeout Функция которая возвращает срок ожидания следующего элемента или null без срока
+     * @param fallback Запасной Observable
+     * @return Новый Observable
+     */
+    public Observable<T> timeout(Function<T, Duration> itemTimeout, Observable<T> fallback) {
+        return Plugins.onAssembly(new Observable<>(new TimeoutOperator<>(this, null, itemTimeout, fallback)));
+    }
+
+    /**
+     * Сериализует сигналы источника который вызывает Observer из нескольких потоков одновременно.
+     * @return Новый Observable который выдает сигналы последовательно
+     */
+    public Observable<T> serialized() {
+        return Plugins.onAssembly(new Observable<>(observer -> subscribe(new SerializedObserver<>(observer))));
     }
 
     /**
      * Указывает Scheduler на котором будет работать Observable.
+     * Если Scheduler не принял новую подписку или отклонил ее задачу. Observer получает
+     * RejectedExecutionException через onError.
      * @param scheduler Scheduler
      * @return Новый Observable который работает на установленом Scheduler
      */
     public Observable<T> subscribeOn(Scheduler scheduler) {
-        return new Observable<>(observer -> scheduler.execute(() -> subscribe(observer)));
+        return Plugins.onAssembly(new Observable<>(observer -> {
+            try {
+                scheduler.admit();
+                scheduler.execute(() -> subscribe(observer));
+            } catch (RejectedExecutionException e) {
+                observer.onError(e);
+            }
+        }));
+    }
+
+    /**
+     * Выполняет подписку на PriorityScheduler с заданным приоритетом.
+     * @param scheduler Scheduler с классами приоритета
+     * @param priority Приоритет задачи подписки
+     * @return Новый Observable который работает на установленом Scheduler
+     */
+    public Observable<T> subscribeOn(PriorityScheduler scheduler, Priority priority) {
+        return subscribeOn(scheduler.withPriority(priority));
     }
 
     /**
      * Указывает Scheduler на котором Observer будет наблюдать за этим Observable.
+     * Элементы доставляются по порядку. накопившиеся за время обработки элементы передаются пачкой через onNextBatch.
+     * Синхронные источники (range, fromArray, fromIterable и т.п.) вместе с map и filter над ними
+     * выполняются целиком в потоке Scheduler. Если Scheduler не принял новую подписку или отклонил задачу.
+     * Observer получает RejectedExecutionException через onError.
      * @param scheduler Scheduler для использования
      * @return Новый Observable который наблюдается на указанном Scheduler
      */
     public Observable<T> observeOn(Scheduler scheduler) {
-        return new Observable<>(observer -> subscribe(
-            item -> scheduler.execute(() -> observer.onNext(item)),
-            error -> scheduler.execute(() -> observer.onError(error)),
-            () -> scheduler.execute(observer::onComplete)
-        ));
+        if (source instanceof FuseableSource) {
+            // Синхронный источник читается прямо в потоке Scheduler без очереди между потоками
+            return Plugins.onAssembly(new Observable<>(observer -> {
+                try {
+                    scheduler.admit();
+                    scheduler.execute(() -> {
+                        try {
+                            source.accept(observer);
+                        } catch (Exception e) {
+                            observer.onError(e);
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    observer.onError(e);
+                }
+            }));
+        }
+        return Plugins.onAssembly(new Observable<>(
+            observer -> {
+                try {
+                    scheduler.admit();
+                } catch (RejectedExecutionException e) {
+                    observer.onError(e);
+                    return;
+                }
+                ObserveOnObserver<T> parent = new ObserveOnObserver<>(observer, scheduler);
+                parent.setUpstream(subscribe(parent));
+            }));
+    }
+
+    /**
+     * Доставляет элементы на PriorityScheduler с заданным приоритетом. поэтому важные цепочки обрабатываются
+     * раньше фоновых на том же пуле.
+     * @param scheduler Scheduler с классами приоритета
+     * @param priority Приоритет задач доставки
+     * @return Новый Observable который наблюдается на указанном Scheduler
+     */
+    public Observable<T> observeOn(PriorityScheduler scheduler, Priority priority) {
+        return observeOn(scheduler.withPriority(priority));
+    }
+
+    /**
+     * Группирует элементы в окна по времени события и выдает результат агрегации для каждого закрытого окна.
+     * Элементы должны приходить в порядке времени.
+     * @param assigner Способ распределения элементов по окнам
+     * @param timestampExtractor Функция извлечения метки времени из элемента
+     * @param aggregator Инкрементальная агрегация окна. для сессионных окон MergeableAggregator
+     * @param <A> Тип аккумулятора
+     * @return Новый Observable который выдает закрытые окна
+     * @throws IllegalArgumentException если окна сессионные а aggregator не MergeableAggregator
+     */
+    public <A> Observable<Window<A>> window(WindowAssigner assigner, ToLongFunction<T> timestampExtractor,
+                                            Aggregator<T, A> aggregator) {
+        return window(assigner, timestampExtractor, aggregator, 0, 0);
+    }
+
+    /**
+     * Группирует элементы в окна по времени события с поддержкой элементов пришедших не по порядку.
+     * Окно выдается когда водяной знак (максимальная метка времени минус maxOutOfOrderness) достигает конца окна.
+     * Элементы опоздавшие не больше чем на allowedLateness обновляют окно и оно выдается повторно.
+     * более поздние элементы отбрасываются.
+     * @param assigner Способ распределения элементов по окнам
+     * @param timestampExtractor Функция извлечения метки времени из элемента
+     * @param aggregator Инкрементальная агрегация окна. для сессионных окон MergeableAggregator
+     * @param maxOutOfOrderness На сколько элементы могут отставать от максимальной метки времени
+     * @param allowedLateness Сколько хранить окно после его выдачи
+     * @param <A> Тип аккумулятора
+     * @return Новый Observable который выдает закрытые окна
+     * @throws IllegalArgumentException если окна сессионные а aggregator не MergeableAggregator
+     */
+    public <A> Observable<Window<A>> window(WindowAssigner assigner, ToLongFunction<T> timestampExtractor,
+                                            Aggregator<T, A> aggregator, long maxOutOfOrderness,
+                                            long allowedLateness) {
+        return Plugins.onAssembly(new Observable<>(new WindowOperator<>(this, assigner, timestampExtractor, aggregator,
+            maxOutOfOrderness, allowedLateness)));
+    }
+
+    /**
+     * Записывает элементы в файл на общем IOThreadScheduler с настройками WriteOptions.defaults().
+     * @param path Файл
+     * @param encoder Запись элемента в буфер
+     * @return Completable который подписывается на источник и завершается после записи всех элементов
+     */
+    public Completable writeTo(Path path, ByteEncoder<T> encoder) {
+        return writeTo(path, encoder, WriteOptions.defaults(), FileSink.DEFAULT_SCHEDULER);
+    }
+
+    /**
+     * Записывает элементы в файл. Поток источника не ждет диска: элементы кодируются в direct буферы
+     * и записываются пачками на Scheduler. Файл открывается при первой записи и закрывается при завершении.
+     * @param path Файл
+     * @param encoder Запись элемента в буфер
+     * @param options Настройки буферов и записи
+     * @param scheduler Scheduler для операций с файлом
+     * @return Completable который подписывается на источник и завершается после записи всех элементов
+     */
+    public Completable writeTo(Path path, ByteEncoder<T> encoder, WriteOptions options, Scheduler scheduler) {
+        return writeToSink(path, null, encoder, options, scheduler);
+    }
+
+    /**
+     * Записывает элементы в открытый FileChannel. Канал не закрывается после завершения.
+     * @param channel Канал
+     * @param encoder Запись элемента в буфер
+     * @param options Настройки буферов и записи
+     * @param scheduler Scheduler для операций с файлом
+     * @return Completable который подписывается на источник и завершается после записи всех элементов
+     */
+    public Completable writeTo(FileChannel channel, ByteEncoder<T> encoder, WriteOptions options,
+                               Scheduler scheduler) {
+        return writeToSink(null, channel, encoder, options, scheduler);
+    }
+
+    private Completable writeToSink(Path path, FileChannel channel, ByteEncoder<T> encoder, WriteOptions options,
+                                    Scheduler scheduler) {
+        return Completable.create(observer -> {
+            FileSink<T> sink = new FileSink<>(observer, path, channel, encoder, options, scheduler);
+            // Отмена Completable сразу закрывает файл. даже если источник больше ничего не выдает
+            DisposableHelper.setResource(observer, sink);
+            subscribe(sink);
+        });
+    }
+
+    /**
+     * Преобразует Observable в Flow.Publisher.
+     * Элементы сверх запрошенных подписчиком буферизуются до следующего request(n).
+     * @return Новый Flow.Publisher
+     */
+    public Flow.Publisher<T> toPublisher() {
+        return new ObservablePublisher<>(this);
+    }
+
+    /**
+     * Преобразует Observable в Flow.Publisher с буфером на capacity элементов.
+     * При переполнении подписка на источник отменяется и подписчик сразу получает IllegalStateException.
+     * @param capacity Размер буфера
+     * @return Новый BackpressurePublisher
+     */
+    public BackpressurePublisher<T> onBackpressureBuffer(int capacity) {
+        return onBackpressureBuffer(capacity, BufferOverflow.ERROR);
+    }
+
+    /**
+     * Преобразует Observable в Flow.Publisher с буфером на capacity элементов.
+     * @param capacity Размер буфера
+     * @param overflow Поведение при переполнении буфера
+     * @return Новый BackpressurePublisher
+     */
+    public BackpressurePublisher<T> onBackpressureBuffer(int capacity, BufferOverflow overflow) {
+        return new BackpressurePublisher<>(this, BackpressureStrategy.buffer(capacity, overflow, null));
+    }
+
+    /**
+     * Преобразует Observable в Flow.Publisher который выбрасывает элементы без запроса подписчика.
+     * @return Новый BackpressurePublisher
+     */
+    public BackpressurePublisher<T> onBackpressureDrop() {
+        return onBackpressureDrop(null);
+    }
+
+    /**
+     * Преобразует Observable в Flow.Publisher который выбрасывает элементы без запроса подписчика.
+     * @param onDrop Вызывается для каждого выброшенного элемента
+     * @return Новый BackpressurePublisher
+     */
+    public BackpressurePublisher<T> onBackpressureDrop(Consumer<? super T> onDrop) {
+        return new BackpressurePublisher<>(this, BackpressureStrategy.drop(onDrop));
+    }
+
+    /**
+     * Преобразует Observable в Flow.Publisher который пока нет запроса хранит только последний элемент.
+     * @return Новый BackpressurePublisher
+     */
+    public BackpressurePublisher<T> onBackpressureLatest() {
+        return new BackpressurePublisher<>(this, BackpressureStrategy.latest());
+    }
+
+    /**
+     * Преобразует Observable в Flow.Publisher который держит в памяти memoryCapacity элементов.
+     * а остальные пишет во временные файлы сегментами по 1 МБ и читает обратно по мере запроса.
+     * @param memoryCapacity Сколько элементов держать в памяти
+     * @param codec Codec для записи элементов на диск
+     * @return Новый BackpressurePublisher
+     */
+    public BackpressurePublisher<T> onBackpressureSpill(int memoryCapacity, SpillCodec<T> codec) {
+        return onBackpressureSpill(memoryCapacity, codec, null, 1 << 20);
+    }
+
+    /**
+     * Преобразует Observable в Flow.Publisher который держит в памяти memoryCapacity элементов.
+     * а остальные пишет в отображенные в память сегменты файлов и читает обратно по мере запроса.
+     * Прочитанные сегменты удаляются. оставшиеся удаляются при завершении или отмене подписки.
+     * @param memoryCapacity Сколько элементов держать в памяти
+     * @param codec Codec для записи элементов на диск
+     * @param directory Каталог для сегментов или null для временного каталога
+     * @param segmentSize Размер одного сегмента в байтах. не меньше 64
+     * @return Новый BackpressurePublisher
+     * @throws IllegalArgumentException если memoryCapacity или segmentSize слишком малы
+     * @throws NullPointerException если codec равен null
+     */
+    public BackpressurePublisher<T> onBackpressureSpill(int memoryCapacity, SpillCodec<T> codec, Path directory,
+                                                        int segmentSize) {
+        return new BackpressurePublisher<>(this,
+            BackpressureStrategy.spill(memoryCapacity, codec, directory, segmentSize));
+    }
+
+    /**
+     * Преобразует Observable в Flow.Publisher который завершается IllegalStateException
+     * если источник выдал элемент без запроса подписчика.
+     * @return Новый BackpressurePublisher
+     */
+    public BackpressurePublisher<T> onBackpressureError() {
+        return new BackpressurePublisher<>(this, BackpressureStrategy.error());
+    }
+
+    /**
+     * Возвращает Iterable который при каждом вызове iterator() подписывается на Observable.
+     * Между потоком источника и потребителем стоит очередь на 128 элементов.
+     * @return Блокирующий Iterable
+     */
+    public Iterable<T> blockingIterable() {
+        return blockingIterable(128);
+    }
+
+    /**
+     * Возвращает Iterable который при каждом вызове iterator() подписывается на Observable.
+     * Источник из другого потока ждет когда в очереди prefetch элементов и продолжает после того
+     * как потребитель заберет 75% из них. Синхронные источники читаются прямо в потоке потребителя.
+     * @param prefetch Размер очереди
+     * @return Блокирующий Iterable
+     */
+    public Iterable<T> blockingIterable(int prefetch) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch must be positive: " + prefetch);
+        }
+        return () -> blockingIterator(prefetch);
+    }
+
+    /**
+     * Возвращает последовательный Stream элементов. Закрытие Stream отменяет подписку.
+     * @return Stream элементов
+     */
+    public Stream<T> toStream() {
+        Iterator<T> iterator = blockingIterator(128);
+        Stream<T> stream = StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+        if (iterator instanceof Disposable) {
+            stream = stream.onClose(((Disposable) iterator)::dispose);
+        }
+        return stream;
+    }
+
+    /**
+     * Ждет первый элемент и сразу отменяет подписку.
+     * @return Первый элемент
+     * @throws java.util.NoSuchElementException если Observable пустой
+     */
+    public T blockingFirst() {
+        BlockingValueObserver<T> observer = new BlockingValueObserver<>(true);
+        return observer.await(subscribe(observer), null);
+    }
+
+    /**
+     * Ждет первый элемент и сразу отменяет подписку.
+     * @param defaultValue Значение для пустого Observable
+     * @return Первый элемент или defaultValue
+     */
+    public T blockingFirst(T defaultValue) {
+        BlockingValueObserver<T> observer = new BlockingValueObserver<>(true);
+        return observer.await(subscribe(observer), defaultValue);
+    }
+
+    /**
+     * Ждет завершения и возвращает последний элемент.
+     * @return Последний элемент
+     * @throws java.util.NoSuchElementException если Observable пустой
+     */
+    public T blockingLast() {
+        BlockingValueObserver<T> observer = new BlockingValueObserver<>(false);
+        return observer.await(subscribe(observer), null);
+    }
+
+    /**
+     * Ждет завершения и возвращает последний элемент.
+     * @param defaultValue Значение для пустого Observable
+     * @return Последний элемент или defaultValue
+     */
+    public T blockingLast(T defaultValue) {
+        BlockingValueObserver<T> observer = new BlockingValueObserver<>(false);
+        return observer.await(subscribe(observer), defaultValue);
+    }
+
+    /**
+     * Подписывается и вызывает колбэки в текущем потоке пока Observable не завершится.
+     * @param onNext Колбэк для обработки элементов
+     * @param onError Колбэк для обработки ошибок
+     * @param onComplete Колбэк для обработки завершения
+     */
+    public void blockingSubscribe(Consumer<T> onNext, Consumer<Throwable> onError, Runnable onComplete) {
+        if (source instanceof FuseableSource) {
+            // Синхронный источник и так выдает элементы в текущем потоке
+            subscribe(onNext, onError, onComplete);
+            return;
+        }
+        BlockingIterator<T> iterator = new BlockingIterator<>(128);
+        iterator.setUpstream(subscribe(iterator));
+        try {
+            while (iterator.hasNext()) {
+                onNext.accept(iterator.next());
+            }
+        } catch (Exception e) {
+            iterator.dispose();
+            Throwable error = iterator.getError();
+            onError.accept(error != null ? error : e);
+            return;
+        }
+        onComplete.run();
+    }
+
+    private Iterator<T> blockingIterator(int prefetch) {
+        if (source instanceof FuseableSource) {
+            return new CursorIterator<>(((FuseableSource<T>) source).open());
+        }
+        BlockingIterator<T> iterator = new BlockingIterator<>(prefetch);
+        iterator.setUpstream(subscribe(iterator));
+        return iterator;
+    }
+
+    /**
+     * Observer который отбрасывает сигналы после отмены подписки.
+     * Подписка считается отмененной и если отменен сам downstream. так отмена доходит до источника по цепочке операторов.
+     * Ресурс переданный источником через setResource отменяется сразу при dispose.
+     */
+    private static final class SafeObserver<T> implements Observer<T>, Disposable, ResourceHolder {
+        private final Observer<T> observer;
+        private final AtomicBoolean disposed = new AtomicBoolean(false);
+        private volatile Disposable resource;
+
+        SafeObserver(Observer<T> observer) {
+            this.observer = observer;
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (!disposed.get()) {
+                observer.onNext(item);
+            }
+        }
+
+        @Override
+        public void onNextBatch(List<T> batch) {
+            if (!disposed.get()) {
+                observer.onNextBatch(batch);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!disposed.get()) {
+                observer.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!disposed.get()) {
+                observer.onComplete();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (!disposed.getAndSet(true)) {
+                Disposable r = resource;
+                if (r != null) {
+                    r.dispose();
+                }
+            }
+        }
+
+        @Override
+        public void setResource(Disposable resource) {
+            this.resource = resource;
+            // Оператор вроде map подписывается своим SafeObserver. отмена может прийти и с подписки ниже
+            DisposableHelper.setResource(observer, resource);
+            if (disposed.get()) {
+                resource.dispose();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed.get() || DisposableHelper.isDisposed(observer);
+        }
     }
 }
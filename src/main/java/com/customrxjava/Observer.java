@@ -1,5 +1,7 @@
 package com.customrxjava;
 
+import java.util.List;
+
 /**
  * Интерфейс Observer для реактивных потоков
  */
@@ -11,6 +13,18 @@ public interface Observer<T> {
      */
     void onNext(T item);
 
+    /**
+     * Получает пачку элементов потока за один вызов.
+     * Пачка - список с быстрым доступом по индексу который источник может переиспользовать после возврата.
+     * поэтому ссылку на него нельзя сохранять. По умолчанию вызывает onNext для каждого элемента.
+     * @param batch пачка элементов
+     */
+    default void onNextBatch(List<T> batch) {
+        for (int i = 0, n = batch.size(); i < n; i++) {
+            onNext(batch.get(i));
+        }
+    }
+
     /**
      * Обрабатывает ошибки
      * @param t исключение
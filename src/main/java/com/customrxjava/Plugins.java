@@ -0,0 +1,100 @@
+package com.customrxjava;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * Глобальные точки расширения для трассировки и инструментирования.
+ * onAssembly вызывается для каждого Observable созданного фабричным методом или оператором и может вернуть
+ * обертку. onSchedule вызывается в Scheduler.execute в потоке который планирует задачу и может обернуть
+ * Runnable. например чтобы перенести MDC или контекст трассировки в поток Scheduler.
+ * Пока хуки не установлены каждый вызов стоит одного чтения volatile поля.
+ */
+public final class Plugins {
+    private static volatile UnaryOperator<Observable<?>> onAssembly;
+    private static volatile UnaryOperator<Runnable> onSchedule;
+
+    private Plugins() {
+    }
+
+    /**
+     * Устанавливает хук сборки Observable.
+     * @param hook Хук или null чтобы убрать его
+     */
+    public static void setOnAssembly(UnaryOperator<Observable<?>> hook) {
+        onAssembly = hook;
+    }
+
+    /**
+     * Устанавливает хук обертки задач Scheduler.
+     * Каждая задача проходит через хук один раз. отложенная - в потоке который ее запланировал.
+     * @param hook Хук или null чтобы убрать его
+     */
+    public static void setOnSchedule(UnaryOperator<Runnable> hook) {
+        onSchedule = hook;
+    }
+
+    /**
+     * Убирает все хуки.
+     */
+    public static void reset() {
+        onAssembly = null;
+        onSchedule = null;
+    }
+
+    /**
+     * Передает созданный Observable в хук сборки.
+     * @param observable Созданный Observable
+     * @param <T> Тип элементов
+     * @return Observable который вернул хук или исходный если хука нет
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Observable<T> onAssembly(Observable<T> observable) {
+        UnaryOperator<Observable<?>> hook = onAssembly;
+        if (hook == null) {
+            return observable;
+        }
+        return (Observable<T>) hook.apply(observable);
+    }
+
+    /**
+     * Передает задачу в хук планирования.
+     * @param task Задача
+     * @return Задача которую вернул хук или исходная если хука нет
+     */
+    public static Runnable onSchedule(Runnable task) {
+        UnaryOperator<Runnable> hook = onSchedule;
+        if (hook == null || task instanceof HookedTask) {
+            return task;
+        }
+        return hook.apply(task);
+    }
+
+    /**
+     * Передает задачу в хук сейчас и помечает результат. onSchedule в Scheduler.execute пропускает
+     * помеченную задачу. Нужно отложенным задачам: контекст берется в планирующем потоке. а в Scheduler
+     * задача попадает позже из потока таймера.
+     * @param task Задача
+     * @return Задача после хука или исходная если хука нет
+     */
+    public static Runnable onScheduleOnce(Runnable task) {
+        UnaryOperator<Runnable> hook = onSchedule;
+        if (hook == null || task instanceof HookedTask) {
+            return task;
+        }
+        return new HookedTask(hook.apply(task));
+    }
+
+    // Задача которая уже прошла через хук
+    private static final class HookedTask implements Runnable {
+        private final Runnable task;
+
+        HookedTask(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            task.run();
+        }
+    }
+}
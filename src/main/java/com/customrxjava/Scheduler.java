@@ -1,5 +1,11 @@
 package com.customrxjava;
 
+import com.customrxjava.schedulers.SchedulerTimer;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
 /**
  * Интерфейс для планирования задач.
  */
@@ -9,4 +15,39 @@ public interface Scheduler {
      * @param task Задача для выполнения
      */
     void execute(Runnable task);
+
+    /**
+     * Планирует задачу для выполнения после задержки.
+     * Пока идет отсчет задержки задача не занимает поток Scheduler.
+     * @param task Задача для выполнения
+     * @param delay Задержка
+     * @param unit Единица измерения задержки
+     * @return Disposable для отмены задачи до начала ее выполнения
+     */
+    default Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+        return SchedulerTimer.schedule(this, task, delay, unit);
+    }
+
+    /**
+     * Планирует задачу после задержки и передает отказ Scheduler в onRejected.
+     * Отказ после задержки происходит в потоке таймера. поэтому без обработчика его некому получить.
+     * @param task Задача для выполнения
+     * @param delay Задержка
+     * @param unit Единица измерения задержки
+     * @param onRejected Получает исключение execute. например RejectedExecutionException
+     * @return Disposable для отмены задачи до начала ее выполнения
+     */
+    default Disposable schedule(Runnable task, long delay, TimeUnit unit,
+                                Consumer<? super RuntimeException> onRejected) {
+        return SchedulerTimer.schedule(this, task, delay, unit, onRejected);
+    }
+
+    /**
+     * Проверяет можно ли начать на этом Scheduler новую подписку. subscribeOn и observeOn вызывают его один раз
+     * при подписке. а задачи уже принятой подписки идут через execute без проверки.
+     * По умолчанию принимается любая подписка.
+     * @throws RejectedExecutionException если Scheduler перегружен и новая работа не принимается
+     */
+    default void admit() {
+    }
 }
@@ -0,0 +1,378 @@
+package com.customrxjava;
+
+import com.customrxjava.operators.DisposableHelper;
+import com.customrxjava.operators.FutureHelper;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Класс представляющий Single - источник ровно одного значения или ошибки.
+ * Операторы подписываются на источник напрямую. без промежуточных подписок. поэтому на каждую подписку
+ * создается по одному объекту на оператор.
+ * @param <T> Тип значения
+ */
+public class Single<T> {
+    private final Consumer<SingleObserver<T>> source;
+
+    protected Single(Consumer<SingleObserver<T>> source) {
+        this.source = source;
+    }
+
+    /**
+     * Создает новый Single из функции источника.
+     * @param source Функция источник
+     * @param <T> Тип значения
+     * @return Новый экземпляр Single
+     */
+    public static <T> Single<T> create(Consumer<SingleObserver<T>> source) {
+        return new Single<>(source);
+    }
+
+    /**
+     * Создает Single который сразу выдает значение.
+     * @param value Значение
+     * @param <T> Тип значения
+     * @return Новый экземпляр Single
+     */
+    public static <T> Single<T> just(T value) {
+        return new Single<>(observer -> observer.onSuccess(value));
+    }
+
+    /**
+     * Создает Single который сразу завершается ошибкой.
+     * @param error Ошибка
+     * @param <T> Тип значения
+     * @return Новый экземпляр Single
+     */
+    public static <T> Single<T> error(Throwable error) {
+        return new Single<>(observer -> observer.onError(error));
+    }
+
+    /**
+     * Создает Single из CompletableFuture. Подписчик регистрируется прямо в future без промежуточных объектов.
+     * CompletionException разворачивается в исходную ошибку.
+     * @param future CompletableFuture
+     * @param <T> Тип значения
+     * @return Новый экземпляр Single
+     */
+    public static <T> Single<T> fromFuture(CompletableFuture<T> future) {
+        return new Single<>(observer -> future.whenComplete((value, error) -> {
+            if (error != null) {
+                observer.onError(FutureHelper.unwrap(error));
+            } else {
+                observer.onSuccess(value);
+            }
+        }));
+    }
+
+    /**
+     * Подписывает SingleObserver и возвращает Disposable.
+     * После первого сигнала и после отмены остальные сигналы отбрасываются.
+     * @param observer SingleObserver для подписки
+     * @return Disposable для отмены подписки
+     */
+    public Disposable subscribe(SingleObserver<T> observer) {
+        SafeSingleObserver<T> safeObserver = new SafeSingleObserver<>(observer);
+        try {
+            source.accept(safeObserver);
+        } catch (Exception e) {
+            safeObserver.onError(e);
+        }
+        return safeObserver;
+    }
+
+    /**
+     * Подписывается на Single с колбэками для onSuccess и onError.
+     * @param onSuccess Колбэк для обработки значения
+     * @param onError Колбэк для обработки ошибок
+     * @return Disposable для отмены подписки
+     */
+    public Disposable subscribe(Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        return subscribe(new SingleObserver<T>() {
+            @Override
+            public void onSuccess(T value) {
+                onSuccess.accept(value);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                onError.accept(t);
+            }
+        });
+    }
+
+    /**
+     * Преобразует значение применяя к нему функцию.
+     * @param mapper Функция
+     * @param <R> Тип результата
+     * @return Новый Single с преобразованным значением
+     */
+    public <R> Single<R> map(Function<T, R> mapper) {
+        return new Single<>(observer -> source.accept(new MapObserver<>(observer, mapper)));
+    }
+
+    /**
+     * Продолжает цепочку Single который возвращает функция для значения.
+     * @param mapper Функция которая возвращает Single для значения
+     * @param <R> Тип результата
+     * @return Новый Single
+     */
+    public <R> Single<R> flatMap(Function<T, Single<R>> mapper) {
+        return new Single<>(observer -> source.accept(new FlatMapObserver<>(observer, mapper)));
+    }
+
+    /**
+     * Указывает Scheduler на котором будет выполняться подписка на источник.
+     * @param scheduler Scheduler
+     * @return Новый Single который подписывается на установленом Scheduler
+     */
+    public Single<T> subscribeOn(Scheduler scheduler) {
+        return new Single<>(observer -> scheduler.execute(() -> {
+            if (DisposableHelper.isDisposed(observer)) {
+                return;
+            }
+            try {
+                source.accept(observer);
+            } catch (Exception e) {
+                observer.onError(e);
+            }
+        }));
+    }
+
+    /**
+     * Указывает Scheduler на котором наблюдатель получит результат.
+     * @param scheduler Scheduler
+     * @return Новый Single который выдает результат на указанном Scheduler
+     */
+    public Single<T> observeOn(Scheduler scheduler) {
+        return new Single<>(observer -> source.accept(new ObserveOnObserver<>(observer, scheduler)));
+    }
+
+    /**
+     * Подписывается и возвращает CompletableFuture с результатом.
+     * Сам future и есть наблюдатель. его отмена отменяет подписку.
+     * @return CompletableFuture с результатом
+     */
+    public CompletableFuture<T> toFuture() {
+        FutureObserver<T> future = new FutureObserver<>();
+        subscribe(future);
+        return future;
+    }
+
+    /**
+     * Преобразует Single в Observable из одного элемента.
+     * @return Новый Observable
+     */
+    public Observable<T> toObservable() {
+        return Observable.create(observer -> subscribe(new SingleObserver<T>() {
+            @Override
+            public void onSuccess(T value) {
+                observer.onNext(value);
+                observer.onComplete();
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                observer.onError(t);
+            }
+        }));
+    }
+
+    /**
+     * SingleObserver который пропускает только первый сигнал и отбрасывает сигналы после отмены.
+     * Флаг хранится в поле самого объекта и меняется через VarHandle. чтобы подписка стоила одну аллокацию.
+     */
+    private static final class SafeSingleObserver<T> implements SingleObserver<T>, Disposable {
+        private static final VarHandle DONE;
+
+        static {
+            try {
+                DONE = MethodHandles.lookup().findVarHandle(SafeSingleObserver.class, "done", boolean.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        private final SingleObserver<T> downstream;
+        // Пришел первый сигнал или подписка отменена
+        private volatile boolean done;
+
+        SafeSingleObserver(SingleObserver<T> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onSuccess(T value) {
+            if (DONE.compareAndSet(this, false, true)) {
+                downstream.onSuccess(value);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (DONE.compareAndSet(this, false, true)) {
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void dispose() {
+            done = true;
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return done || DisposableHelper.isDisposed(downstream);
+        }
+    }
+
+    private static final class MapObserver<T, R> implements SingleObserver<T>, Disposable {
+        private final SingleObserver<R> downstream;
+        private final Function<T, R> mapper;
+
+        MapObserver(SingleObserver<R> downstream, Function<T, R> mapper) {
+            this.downstream = downstream;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public void onSuccess(T value) {
+            R result;
+            try {
+                result = mapper.apply(value);
+            } catch (Exception e) {
+                downstream.onError(e);
+                return;
+            }
+            downstream.onSuccess(result);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            downstream.onError(t);
+        }
+
+        @Override
+        public void dispose() {
+            DisposableHelper.dispose(downstream);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return DisposableHelper.isDisposed(downstream);
+        }
+    }
+
+    private static final class FlatMapObserver<T, R> implements SingleObserver<T>, Disposable {
+        private final SingleObserver<R> downstream;
+        private final Function<T, Single<R>> mapper;
+
+        FlatMapObserver(SingleObserver<R> downstream, Function<T, Single<R>> mapper) {
+            this.downstream = downstream;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public void onSuccess(T value) {
+            if (DisposableHelper.isDisposed(downstream)) {
+                return;
+            }
+            try {
+                // Внутренний Single выдает результат сразу в downstream
+                mapper.apply(value).source.accept(downstream);
+            } catch (Exception e) {
+                downstream.onError(e);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            downstream.onError(t);
+        }
+
+        @Override
+        public void dispose() {
+            DisposableHelper.dispose(downstream);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return DisposableHelper.isDisposed(downstream);
+        }
+    }
+
+    private static final class ObserveOnObserver<T> implements SingleObserver<T>, Disposable, Runnable {
+        private final SingleObserver<T> downstream;
+        private final Scheduler scheduler;
+        private T value;
+        private Throwable error;
+
+        ObserveOnObserver(SingleObserver<T> downstream, Scheduler scheduler) {
+            this.downstream = downstream;
+            this.scheduler = scheduler;
+        }
+
+        @Override
+        public void onSuccess(T value) {
+            this.value = value;
+            scheduler.execute(this);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            this.error = t;
+            scheduler.execute(this);
+        }
+
+        // Scheduler публикует поля задачи потоку который ее выполнит
+        @Override
+        public void run() {
+            if (DisposableHelper.isDisposed(downstream)) {
+                return;
+            }
+            Throwable t = error;
+            if (t != null) {
+                downstream.onError(t);
+            } else {
+                downstream.onSuccess(value);
+            }
+        }
+
+        @Override
+        public void dispose() {
+            DisposableHelper.dispose(downstream);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return DisposableHelper.isDisposed(downstream);
+        }
+    }
+
+    private static final class FutureObserver<T> extends CompletableFuture<T> implements SingleObserver<T>, Disposable {
+
+        @Override
+        public void onSuccess(T value) {
+            complete(value);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            completeExceptionally(t);
+        }
+
+        @Override
+        public void dispose() {
+            cancel(false);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return isDone();
+        }
+    }
+}
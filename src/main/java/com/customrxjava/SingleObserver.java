@@ -0,0 +1,19 @@
+package com.customrxjava;
+
+/**
+ * Интерфейс наблюдателя для Single. Получает ровно один сигнал: значение или ошибку.
+ */
+public interface SingleObserver<T> {
+
+    /**
+     * Получает значение
+     * @param value значение
+     */
+    void onSuccess(T value);
+
+    /**
+     * Обрабатывает ошибки
+     * @param t исключение
+     */
+    void onError(Throwable t);
+}
@@ -0,0 +1,156 @@
+package com.customrxjava.cache;
+
+import com.customrxjava.Scheduler;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Кеш результатов загрузки по ключу с ограничением по размеру и времени жизни.
+ * Загрузка выполняется на Scheduler. Одновременные запросы одного ключа получают один и тот же
+ * CompletableFuture. поэтому загрузчик вызывается для ключа один раз пока загрузка не завершилась.
+ * Ошибки загрузки не кешируются.
+ * @param <K> Тип ключей
+ * @param <V> Тип значений
+ */
+public final class AsyncLoadingCache<K, V> {
+    private final Function<K, V> loader;
+    private final Scheduler scheduler;
+    private final long ttlNanos;
+    private final Map<K, Entry<V>> entries;
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * @param policy Ограничения кеша
+     * @param loader Загрузка значения. может блокировать поток
+     * @param scheduler Scheduler для загрузки
+     */
+    public AsyncLoadingCache(CachePolicy policy, Function<K, V> loader, Scheduler scheduler) {
+        this.loader = loader;
+        this.scheduler = scheduler;
+        this.ttlNanos = policy.getTtl() == null ? 0 : policy.getTtl().toNanos();
+        int maxSize = policy.getMaxSize();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Возвращает значение из кеша. присоединяется к уже идущей загрузке или запускает новую.
+     * @param key Ключ
+     * @return Future со значением
+     */
+    public CompletableFuture<V> get(K key) {
+        V cached = lookup(key);
+        if (cached != null) {
+            hits.increment();
+            return CompletableFuture.completedFuture(cached);
+        }
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            coalesced.increment();
+            return existing;
+        }
+        // Загрузка могла завершиться между проверкой кеша и регистрацией
+        cached = lookup(key);
+        if (cached != null) {
+            inFlight.remove(key, future);
+            hits.increment();
+            future.complete(cached);
+            return future;
+        }
+        loads.increment();
+        try {
+            scheduler.execute(() -> load(key, future));
+        } catch (RuntimeException e) {
+            inFlight.remove(key, future);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private void load(K key, CompletableFuture<V> future) {
+        V value;
+        try {
+            value = loader.apply(key);
+            if (value == null) {
+                throw new NullPointerException("Loader returned null for key " + key);
+            }
+        } catch (Throwable e) {
+            inFlight.remove(key, future);
+            future.completeExceptionally(e);
+            return;
+        }
+        // Значение кладется в кеш до снятия загрузки. чтобы новый запрос не начал ее повторно
+        synchronized (entries) {
+            entries.put(key, new Entry<>(value, ttlNanos == 0 ? 0 : System.nanoTime() + ttlNanos));
+        }
+        inFlight.remove(key, future);
+        future.complete(value);
+    }
+
+    private V lookup(K key) {
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (ttlNanos != 0 && entry.expiresAt - System.nanoTime() <= 0) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.value;
+        }
+    }
+
+    /**
+     * @return Сколько запросов обслужено из кеша
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return Сколько раз вызывался загрузчик
+     */
+    public long getLoadCount() {
+        return loads.sum();
+    }
+
+    /**
+     * @return Сколько запросов присоединились к уже идущей загрузке
+     */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    /**
+     * @return Сколько значений сейчас в кеше. включая еще не удаленные устаревшие
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        final long expiresAt;
+
+        Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
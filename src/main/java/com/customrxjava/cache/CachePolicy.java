@@ -0,0 +1,50 @@
+package com.customrxjava.cache;
+
+import java.time.Duration;
+
+/**
+ * Ограничения кеша результатов для оператора mapAsyncCached.
+ */
+public final class CachePolicy {
+    private final int maxSize;
+    private final Duration ttl;
+
+    private CachePolicy(int maxSize, Duration ttl) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        if (ttl != null && (ttl.isNegative() || ttl.isZero())) {
+            throw new IllegalArgumentException("ttl must be positive: " + ttl);
+        }
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+    }
+
+    /**
+     * @param maxSize Сколько результатов хранить
+     * @return Кеш который вытесняет результат не запрашивавшийся дольше всех
+     */
+    public static CachePolicy lru(int maxSize) {
+        return new CachePolicy(maxSize, null);
+    }
+
+    /**
+     * @param ttl Сколько хранить результат после загрузки
+     * @param maxSize Сколько результатов хранить
+     * @return Кеш с вытеснением по времени и по размеру
+     */
+    public static CachePolicy expireAfterWrite(Duration ttl, int maxSize) {
+        return new CachePolicy(maxSize, ttl);
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @return Время жизни результата или null если результат живет до вытеснения по размеру
+     */
+    public Duration getTtl() {
+        return ttl;
+    }
+}
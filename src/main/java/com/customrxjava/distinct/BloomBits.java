@@ -0,0 +1,67 @@
+package com.customrxjava.distinct;
+
+/**
+ * Битовый массив фильтра Блума.
+ * Размер m = -n ln(p) / ln(2)^2 бит и k = m / n ln(2) хешей выбираются по ожидаемому числу ключей n
+ * и доле ложных срабатываний p. Позиции k хешей получаются двойным хешированием в 64 битах: h1 + i * h2.
+ * где h2 - перемешанный еще раз хеш ключа. поэтому адресуется весь массив. Размер ограничен максимальной
+ * длиной массива long. то есть примерно 2^37 бит.
+ */
+final class BloomBits {
+    // Максимальная длина массива которую разрешают JVM
+    private static final int MAX_WORDS = Integer.MAX_VALUE - 8;
+
+    private final long[] words;
+    private final long bits;
+    private final int hashes;
+
+    BloomBits(long expectedKeys, double falsePositiveRate) {
+        if (expectedKeys <= 0) {
+            throw new IllegalArgumentException("expectedKeys must be positive: " + expectedKeys);
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("falsePositiveRate must be in (0, 1): " + falsePositiveRate);
+        }
+        double ln2 = Math.log(2);
+        double m = Math.max(64, Math.ceil(-expectedKeys * Math.log(falsePositiveRate) / (ln2 * ln2)));
+        if (m > (double) MAX_WORDS * 64) {
+            throw new IllegalArgumentException("Bloom filter needs " + (long) m + " bits. at most "
+                + (long) MAX_WORDS * 64 + " are supported");
+        }
+        this.words = new long[(int) (((long) m + 63) >>> 6)];
+        this.bits = (long) words.length << 6;
+        this.hashes = Math.max(1, (int) Math.round((double) bits / expectedKeys * ln2));
+    }
+
+    /**
+     * Ставит биты ключа.
+     * @param hash 64 битный хеш ключа
+     * @return true если хотя бы один бит не был установлен. то есть ключ точно новый
+     */
+    boolean add(long hash) {
+        long h1 = hash;
+        long h2 = mix(hash + 0x9e3779b97f4a7c15L);
+        boolean changed = false;
+        for (int i = 1; i <= hashes; i++) {
+            // Сбрасываем знаковый бит. остаток от неотрицательного long покрывает любое число бит
+            long index = ((h1 + i * h2) & Long.MAX_VALUE) % bits;
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            if ((words[word] & mask) == 0) {
+                words[word] |= mask;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    // Перемешивание из MurmurHash3. чтобы близкие ключи давали далекие хеши
+    static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+}
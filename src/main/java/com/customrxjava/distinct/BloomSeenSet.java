@@ -0,0 +1,20 @@
+package com.customrxjava.distinct;
+
+/**
+ * Фильтр Блума фиксированного размера. Память не растет с числом ключей. но новый ключ с вероятностью
+ * falsePositiveRate считается уже встреченным и отбрасывается. Встреченный ключ никогда не пропускается повторно.
+ * Хеш строится из hashCode ключа. поэтому у ключей должен быть хороший hashCode.
+ * @param <K> Тип ключей
+ */
+public final class BloomSeenSet<K> implements SeenSet<K> {
+    private final BloomBits bits;
+
+    public BloomSeenSet(long expectedKeys, double falsePositiveRate) {
+        this.bits = new BloomBits(expectedKeys, falsePositiveRate);
+    }
+
+    @Override
+    public boolean add(K key) {
+        return bits.add(BloomBits.mix(key == null ? 0 : key.hashCode()));
+    }
+}
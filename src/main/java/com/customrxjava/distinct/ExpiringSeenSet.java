@@ -0,0 +1,54 @@
+package com.customrxjava.distinct;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Помнит ключ в течение ttl после первой встречи. Ключи хранятся в порядке добавления. поэтому устаревшие
+ * всегда в начале и удаляются при следующем add. maxSize ограничивает память если ключей слишком много.
+ * @param <K> Тип ключей
+ */
+public final class ExpiringSeenSet<K> implements SeenSet<K> {
+    private final long ttlNanos;
+    private final int maxSize;
+    private final LinkedHashMap<K, Long> keys = new LinkedHashMap<>();
+
+    public ExpiringSeenSet(Duration ttl, int maxSize) {
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("ttl must be positive: " + ttl);
+        }
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.ttlNanos = ttl.toNanos();
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public boolean add(K key) {
+        long now = System.nanoTime();
+        evictExpired(now);
+        if (keys.containsKey(key)) {
+            return false;
+        }
+        keys.put(key, now);
+        if (keys.size() > maxSize) {
+            Iterator<K> eldest = keys.keySet().iterator();
+            eldest.next();
+            eldest.remove();
+        }
+        return true;
+    }
+
+    private void evictExpired(long now) {
+        Iterator<Map.Entry<K, Long>> it = keys.entrySet().iterator();
+        while (it.hasNext()) {
+            if (now - it.next().getValue() < ttlNanos) {
+                return;
+            }
+            it.remove();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.customrxjava.distinct;
+
+/**
+ * Фильтр Блума для ключей типа long. Работает как BloomSeenSet но без упаковки ключа.
+ */
+public final class LongBloomSeenSet implements LongSeenSet {
+    private final BloomBits bits;
+
+    public LongBloomSeenSet(long expectedKeys, double falsePositiveRate) {
+        this.bits = new BloomBits(expectedKeys, falsePositiveRate);
+    }
+
+    @Override
+    public boolean add(long key) {
+        return bits.add(BloomBits.mix(key));
+    }
+}
@@ -0,0 +1,136 @@
+package com.customrxjava.distinct;
+
+/**
+ * Помнит maxSize ключей типа long без упаковки. Повторная встреча продлевает жизнь ключа. при переполнении
+ * забывается ключ который не встречался дольше всех.
+ * Ключи лежат в массиве слотов со связным списком порядка использования на индексах. Поиск идет по хеш таблице
+ * с открытой адресацией. в которой хранится номер слота. Все массивы выделяются один раз в конструкторе.
+ */
+public final class LongLruSeenSet implements LongSeenSet {
+    private static final int NONE = -1;
+
+    private final long[] keys;
+    private final int[] prev;
+    private final int[] next;
+    // Номер слота плюс 1. 0 означает пустую ячейку
+    private final int[] table;
+    private final int mask;
+    private int size;
+    // Последний использованный и самый старый слоты
+    private int head = NONE;
+    private int tail = NONE;
+
+    public LongLruSeenSet(int maxSize) {
+        if (maxSize <= 0 || maxSize > (1 << 29)) {
+            throw new IllegalArgumentException("maxSize must be in [1, 2^29]: " + maxSize);
+        }
+        this.keys = new long[maxSize];
+        this.prev = new int[maxSize];
+        this.next = new int[maxSize];
+        int tableSize = Integer.highestOneBit(maxSize * 2 - 1) << 1;
+        this.table = new int[tableSize];
+        this.mask = tableSize - 1;
+    }
+
+    @Override
+    public boolean add(long key) {
+        int index = find(key);
+        if (index != NONE) {
+            moveToHead(table[index] - 1);
+            return false;
+        }
+        int slot;
+        if (size == keys.length) {
+            // Переиспользуем слот самого старого ключа
+            slot = tail;
+            unlink(slot);
+            remove(find(keys[slot]));
+        } else {
+            slot = size++;
+        }
+        keys[slot] = key;
+        insert(key, slot);
+        linkHead(slot);
+        return true;
+    }
+
+    private int find(long key) {
+        int i = home(key);
+        for (;;) {
+            int entry = table[i];
+            if (entry == 0) {
+                return NONE;
+            }
+            if (keys[entry - 1] == key) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    private void insert(long key, int slot) {
+        int i = home(key);
+        while (table[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        table[i] = slot + 1;
+    }
+
+    // Удаление со сдвигом следующих ячеек назад. чтобы цепочки поиска не разрывались
+    private void remove(int i) {
+        table[i] = 0;
+        int j = i;
+        for (;;) {
+            j = (j + 1) & mask;
+            int entry = table[j];
+            if (entry == 0) {
+                return;
+            }
+            int h = home(keys[entry - 1]);
+            boolean between = i <= j ? (i < h && h <= j) : (i < h || h <= j);
+            if (!between) {
+                table[i] = entry;
+                table[j] = 0;
+                i = j;
+            }
+        }
+    }
+
+    private int home(long key) {
+        return (int) BloomBits.mix(key) & mask;
+    }
+
+    private void moveToHead(int slot) {
+        if (slot != head) {
+            unlink(slot);
+            linkHead(slot);
+        }
+    }
+
+    private void unlink(int slot) {
+        int p = prev[slot];
+        int n = next[slot];
+        if (p != NONE) {
+            next[p] = n;
+        } else {
+            head = n;
+        }
+        if (n != NONE) {
+            prev[n] = p;
+        } else {
+            tail = p;
+        }
+    }
+
+    private void linkHead(int slot) {
+        prev[slot] = NONE;
+        next[slot] = head;
+        if (head != NONE) {
+            prev[head] = slot;
+        }
+        head = slot;
+        if (tail == NONE) {
+            tail = slot;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.customrxjava.distinct;
+
+/**
+ * Множество встреченных ключей типа long без упаковки в Long.
+ */
+public interface LongSeenSet {
+
+    /**
+     * Запоминает ключ.
+     * @param key Ключ
+     * @return true если ключ не встречался и элемент нужно пропустить дальше
+     */
+    boolean add(long key);
+
+    /**
+     * @param maxSize Сколько последних ключей помнить
+     * @return Множество которое забывает ключ не встречавшийся дольше всех
+     */
+    static LongSeenSet lru(int maxSize) {
+        return new LongLruSeenSet(maxSize);
+    }
+
+    /**
+     * @param expectedKeys Ожидаемое число различных ключей
+     * @param falsePositiveRate Доля новых ключей которые будут ошибочно считаться встреченными
+     * @return Фильтр Блума фиксированного размера
+     */
+    static LongSeenSet bloom(long expectedKeys, double falsePositiveRate) {
+        return new LongBloomSeenSet(expectedKeys, falsePositiveRate);
+    }
+}
@@ -0,0 +1,30 @@
+package com.customrxjava.distinct;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Помнит maxSize ключей. Повторная встреча продлевает жизнь ключа. при переполнении забывается ключ
+ * который не встречался дольше всех.
+ * @param <K> Тип ключей
+ */
+public final class LruSeenSet<K> implements SeenSet<K> {
+    private final Map<K, Boolean> keys;
+
+    public LruSeenSet(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.keys = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Boolean> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    @Override
+    public boolean add(K key) {
+        return keys.put(key, Boolean.TRUE) == null;
+    }
+}
@@ -0,0 +1,48 @@
+package com.customrxjava.distinct;
+
+import java.time.Duration;
+
+/**
+ * Множество уже встреченных ключей для оператора distinct.
+ * Реализации ограничивают память: помнят только часть ключей или отвечают с вероятностью ошибки.
+ * Используется одним потоком подписки. поэтому синхронизация не нужна.
+ * @param <K> Тип ключей
+ */
+public interface SeenSet<K> {
+
+    /**
+     * Запоминает ключ.
+     * @param key Ключ
+     * @return true если ключ не встречался и элемент нужно пропустить дальше
+     */
+    boolean add(K key);
+
+    /**
+     * @param maxSize Сколько последних ключей помнить
+     * @param <K> Тип ключей
+     * @return Множество которое забывает ключ не встречавшийся дольше всех
+     */
+    static <K> SeenSet<K> lru(int maxSize) {
+        return new LruSeenSet<>(maxSize);
+    }
+
+    /**
+     * @param ttl Сколько помнить ключ после первой встречи
+     * @param maxSize Верхняя граница числа ключей
+     * @param <K> Тип ключей
+     * @return Множество которое забывает ключи по времени
+     */
+    static <K> SeenSet<K> expiring(Duration ttl, int maxSize) {
+        return new ExpiringSeenSet<>(ttl, maxSize);
+    }
+
+    /**
+     * @param expectedKeys Ожидаемое число различных ключей
+     * @param falsePositiveRate Доля новых ключей которые будут ошибочно считаться встреченными
+     * @param <K> Тип ключей
+     * @return Фильтр Блума фиксированного размера
+     */
+    static <K> SeenSet<K> bloom(long expectedKeys, double falsePositiveRate) {
+        return new BloomSeenSet<>(expectedKeys, falsePositiveRate);
+    }
+}
@@ -0,0 +1,403 @@
+package com.customrxjava.flow;
+
+import com.customrxjava.Disposable;
+import com.customrxjava.Observable;
+import com.customrxjava.Observer;
+import com.customrxjava.Scheduler;
+import com.customrxjava.spill.SpillQueue;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Flow.Publisher поверх Observable с политикой для элементов на которые у подписчика нет запроса.
+ * Источник не замедляется. поэтому такие элементы копятся в буфере. выбрасываются или завершают поток ошибкой
+ * в зависимости от BackpressureStrategy. Число выброшенных элементов по всем подпискам доступно через
+ * getDroppedCount.
+ * @param <T> Тип элементов
+ */
+public final class BackpressurePublisher<T> implements Flow.Publisher<T> {
+    private final Observable<T> source;
+    private final BackpressureStrategy<T> strategy;
+    private final Scheduler scheduler;
+    private final LongAdder dropped;
+
+    public BackpressurePublisher(Observable<T> source, BackpressureStrategy<T> strategy) {
+        this(source, strategy, null, new LongAdder());
+    }
+
+    private BackpressurePublisher(Observable<T> source, BackpressureStrategy<T> strategy, Scheduler scheduler,
+                                  LongAdder dropped) {
+        this.source = source;
+        this.strategy = strategy;
+        this.scheduler = scheduler;
+        this.dropped = dropped;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        BackpressureSubscription<T> subscription = new BackpressureSubscription<>(subscriber, strategy, scheduler,
+            dropped);
+        subscriber.onSubscribe(subscription);
+        subscription.setUpstream(source.subscribe(subscription));
+    }
+
+    /**
+     * @return Сколько элементов выброшено политикой по всем подпискам
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Выдает элементы на Scheduler с запросом 128 элементов вперед.
+     * @param scheduler Scheduler для выдачи элементов
+     * @return Новый Observable
+     */
+    public Observable<T> observeOn(Scheduler scheduler) {
+        return observeOn(scheduler, 128);
+    }
+
+    /**
+     * Выдает элементы на Scheduler. Новые элементы запрашиваются только после того как Observer обработал
+     * предыдущие. поэтому отставание потребителя ограничено политикой а не растущей очередью.
+     * @param scheduler Scheduler для выдачи элементов
+     * @param prefetch Сколько элементов запрашивать вперед
+     * @return Новый Observable
+     */
+    public Observable<T> observeOn(Scheduler scheduler, int prefetch) {
+        return Observable.fromPublisher(new BackpressurePublisher<>(source, strategy, scheduler, dropped), prefetch);
+    }
+
+    private static final class BackpressureSubscription<T>
+        implements Flow.Subscription, Observer<T>, Disposable, Runnable {
+        private final Flow.Subscriber<? super T> downstream;
+        private final BackpressureStrategy<T> strategy;
+        private final Scheduler scheduler;
+        private final LongAdder dropped;
+        private final ConcurrentLinkedQueue<T> queue = new ConcurrentLinkedQueue<>();
+        // Размер очереди. растет только в потоке источника и увеличивается до добавления элемента
+        private final AtomicInteger size = new AtomicInteger();
+        // Последний элемент для политики LATEST
+        private final AtomicReference<T> latest = new AtomicReference<>();
+        // Очередь с записью на диск для политики SPILL. для остальных политик null
+        private final SpillQueue<T> spill;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile Disposable upstream;
+        private volatile boolean cancelled;
+        private volatile boolean done;
+        // Ошибка политики или неверный request(n) выдается сразу без накопленных элементов
+        private volatile boolean failFast;
+        private Throwable error;
+
+        BackpressureSubscription(Flow.Subscriber<? super T> downstream, BackpressureStrategy<T> strategy,
+                                 Scheduler scheduler, LongAdder dropped) {
+            this.downstream = downstream;
+            this.strategy = strategy;
+            this.scheduler = scheduler;
+            this.dropped = dropped;
+            this.spill = strategy.mode == BackpressureStrategy.Mode.SPILL
+                ? new SpillQueue<>(strategy.capacity, strategy.codec, strategy.spillDirectory, strategy.segmentSize)
+                : null;
+        }
+
+        void setUpstream(Disposable upstream) {
+            this.upstream = upstream;
+            if (cancelled || done) {
+                upstream.dispose();
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done || cancelled) {
+                return;
+            }
+            if (item == null) {
+                // Ошибка источника а не политики: уже накопленные элементы выдаются до нее
+                cancelUpstream();
+                onError(new NullPointerException("Flow does not allow null items"));
+                return;
+            }
+            switch (strategy.mode) {
+                case BUFFER:
+                    if (size.get() >= strategy.capacity) {
+                        if (!overflow(item)) {
+                            return;
+                        }
+                    }
+                    enqueue(item);
+                    break;
+                case DROP:
+                    if (hasDemand()) {
+                        enqueue(item);
+                    } else {
+                        drop(item);
+                        return;
+                    }
+                    break;
+                case LATEST:
+                    if (hasDemand() && latest.get() == null) {
+                        enqueue(item);
+                    } else {
+                        T previous = latest.getAndSet(item);
+                        if (previous != null) {
+                            drop(previous);
+                        }
+                    }
+                    break;
+                case ERROR:
+                    if (!hasDemand()) {
+                        fail(new IllegalStateException("Item emitted without demand"));
+                        return;
+                    }
+                    enqueue(item);
+                    break;
+                case SPILL:
+                    try {
+                        enqueue(item);
+                    } catch (RuntimeException e) {
+                        // Ошибка Codec или записи сегмента
+                        size.decrementAndGet();
+                        fail(e);
+                        return;
+                    }
+                    break;
+                default:
+                    enqueue(item);
+            }
+            drain();
+        }
+
+        // Возвращает true если новый элемент нужно положить в буфер
+        private boolean overflow(T item) {
+            switch (strategy.overflow) {
+                case DROP_LATEST:
+                    drop(item);
+                    return false;
+                case DROP_OLDEST:
+                    T oldest = queue.poll();
+                    if (oldest != null) {
+                        size.decrementAndGet();
+                        drop(oldest);
+                    }
+                    return true;
+                default:
+                    fail(new IllegalStateException("Backpressure buffer is full: capacity " + strategy.capacity));
+                    return false;
+            }
+        }
+
+        // Запрос покрывает еще не выданные элементы очереди
+        private boolean hasDemand() {
+            return requested.get() > size.get();
+        }
+
+        private void enqueue(T item) {
+            size.incrementAndGet();
+            if (spill != null) {
+                spill.offer(item);
+            } else {
+                queue.offer(item);
+            }
+        }
+
+        private T poll() {
+            return spill != null ? spill.poll() : queue.poll();
+        }
+
+        private boolean isQueueEmpty() {
+            return spill != null ? spill.isEmpty() : queue.isEmpty();
+        }
+
+        private void drop(T item) {
+            dropped.increment();
+            if (strategy.onDrop != null) {
+                try {
+                    strategy.onDrop.accept(item);
+                } catch (Exception e) {
+                    fail(e);
+                }
+            }
+        }
+
+        private void fail(Throwable t) {
+            if (done) {
+                return;
+            }
+            cancelUpstream();
+            error = t;
+            failFast = true;
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            error = t;
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                fail(new IllegalArgumentException("request must be positive: " + n));
+                return;
+            }
+            addRequested(n);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                cancelUpstream();
+                if (wip.getAndIncrement() == 0) {
+                    clear();
+                }
+            }
+        }
+
+        @Override
+        public void dispose() {
+            cancel();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return cancelled || done;
+        }
+
+        private void cancelUpstream() {
+            Disposable d = upstream;
+            if (d != null) {
+                d.dispose();
+            }
+        }
+
+        private void addRequested(long n) {
+            for (;;) {
+                long current = requested.get();
+                if (current == Long.MAX_VALUE) {
+                    return;
+                }
+                long updated = current + n;
+                if (updated < 0) {
+                    updated = Long.MAX_VALUE;
+                }
+                if (requested.compareAndSet(current, updated)) {
+                    return;
+                }
+            }
+        }
+
+        private void clear() {
+            queue.clear();
+            latest.set(null);
+            if (spill != null) {
+                spill.close();
+            }
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            if (scheduler != null) {
+                try {
+                    scheduler.execute(this);
+                } catch (RejectedExecutionException e) {
+                    // Счетчик WIP остается занятым. поэтому цикл выдачи больше не запускается
+                    boolean active = !cancelled;
+                    cancelled = true;
+                    cancelUpstream();
+                    clear();
+                    if (active) {
+                        downstream.onError(e);
+                    }
+                }
+            } else {
+                run();
+            }
+        }
+
+        // Цикл выдачи. при заданном Scheduler выполняется в его потоке
+        @Override
+        public void run() {
+            int missed = 1;
+            for (;;) {
+                for (;;) {
+                    if (cancelled) {
+                        clear();
+                        return;
+                    }
+                    boolean terminated = done;
+                    boolean empty = isQueueEmpty() && latest.get() == null;
+                    if (terminated && (empty || failFast)) {
+                        Throwable t = error;
+                        cancelled = true;
+                        clear();
+                        if (t != null) {
+                            downstream.onError(t);
+                        } else {
+                            downstream.onComplete();
+                        }
+                        return;
+                    }
+                    long r = requested.get();
+                    if (empty || r == 0) {
+                        break;
+                    }
+                    T item;
+                    try {
+                        item = poll();
+                    } catch (RuntimeException e) {
+                        // Элемент с диска не удалось прочитать. продолжать без него нельзя
+                        cancelUpstream();
+                        cancelled = true;
+                        clear();
+                        downstream.onError(e);
+                        return;
+                    }
+                    if (item != null) {
+                        size.decrementAndGet();
+                    } else {
+                        // Очередь могла опустеть из-за DROP_OLDEST. тогда проверяем заново
+                        item = latest.getAndSet(null);
+                        if (item == null) {
+                            continue;
+                        }
+                    }
+                    if (r != Long.MAX_VALUE) {
+                        requested.decrementAndGet();
+                    }
+                    downstream.onNext(item);
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+    }
+}
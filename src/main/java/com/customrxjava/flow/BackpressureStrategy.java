@@ -0,0 +1,124 @@
+package com.customrxjava.flow;
+
+import com.customrxjava.spill.SpillCodec;
+import com.customrxjava.spill.SpillQueue;
+
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * Политика согласования источника который не умеет замедляться с подписчиком который запрашивает элементы.
+ * @param <T> Тип элементов
+ */
+public final class BackpressureStrategy<T> {
+
+    enum Mode {
+        UNBOUNDED,
+        BUFFER,
+        DROP,
+        LATEST,
+        ERROR,
+        SPILL
+    }
+
+    final Mode mode;
+    final int capacity;
+    final BufferOverflow overflow;
+    final Consumer<? super T> onDrop;
+    final SpillCodec<T> codec;
+    final Path spillDirectory;
+    final int segmentSize;
+
+    private BackpressureStrategy(Mode mode, int capacity, BufferOverflow overflow, Consumer<? super T> onDrop) {
+        this(mode, capacity, overflow, onDrop, null, null, 0);
+    }
+
+    private BackpressureStrategy(Mode mode, int capacity, BufferOverflow overflow, Consumer<? super T> onDrop,
+                                 SpillCodec<T> codec, Path spillDirectory, int segmentSize) {
+        this.mode = mode;
+        this.capacity = capacity;
+        this.overflow = overflow;
+        this.onDrop = onDrop;
+        this.codec = codec;
+        this.spillDirectory = spillDirectory;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Все элементы сверх запрошенного копятся в неограниченной очереди.
+     * @param <T> Тип элементов
+     * @return Политика
+     */
+    public static <T> BackpressureStrategy<T> unbounded() {
+        return new BackpressureStrategy<>(Mode.UNBOUNDED, Integer.MAX_VALUE, null, null);
+    }
+
+    /**
+     * Элементы копятся в буфере на capacity элементов. при переполнении срабатывает overflow.
+     * @param capacity Размер буфера
+     * @param overflow Поведение при переполнении
+     * @param onDrop Вызывается для выброшенного элемента или null
+     * @param <T> Тип элементов
+     * @return Политика
+     */
+    public static <T> BackpressureStrategy<T> buffer(int capacity, BufferOverflow overflow, Consumer<? super T> onDrop) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        return new BackpressureStrategy<>(Mode.BUFFER, capacity, overflow, onDrop);
+    }
+
+    /**
+     * Элементы на которые нет запроса выбрасываются.
+     * @param onDrop Вызывается для выброшенного элемента или null
+     * @param <T> Тип элементов
+     * @return Политика
+     */
+    public static <T> BackpressureStrategy<T> drop(Consumer<? super T> onDrop) {
+        return new BackpressureStrategy<>(Mode.DROP, 0, null, onDrop);
+    }
+
+    /**
+     * Пока нет запроса хранится только последний элемент. он выдается при следующем request(n).
+     * @param <T> Тип элементов
+     * @return Политика
+     */
+    public static <T> BackpressureStrategy<T> latest() {
+        return new BackpressureStrategy<>(Mode.LATEST, 0, null, null);
+    }
+
+    /**
+     * Элемент на который нет запроса завершает поток ошибкой.
+     * @param <T> Тип элементов
+     * @return Политика
+     */
+    public static <T> BackpressureStrategy<T> error() {
+        return new BackpressureStrategy<>(Mode.ERROR, 0, null, null);
+    }
+
+    /**
+     * Первые memoryCapacity элементов хранятся в памяти. остальные пишутся на диск в сегменты SpillQueue
+     * и читаются обратно по порядку. Элементы не теряются.
+     * @param memoryCapacity Сколько элементов держать в памяти
+     * @param codec Codec для записи на диск
+     * @param directory Каталог для сегментов или null для временного каталога
+     * @param segmentSize Размер одного сегмента в байтах. не меньше SpillQueue.MIN_SEGMENT_SIZE
+     * @param <T> Тип элементов
+     * @return Политика
+     */
+    public static <T> BackpressureStrategy<T> spill(int memoryCapacity, SpillCodec<T> codec, Path directory,
+                                                    int segmentSize) {
+        // Проверки SpillQueue повторяются здесь. иначе ошибка появится только при первой подписке
+        if (memoryCapacity <= 0) {
+            throw new IllegalArgumentException("memoryCapacity must be positive: " + memoryCapacity);
+        }
+        if (segmentSize < SpillQueue.MIN_SEGMENT_SIZE) {
+            throw new IllegalArgumentException(
+                "segmentSize must be at least " + SpillQueue.MIN_SEGMENT_SIZE + " bytes: " + segmentSize);
+        }
+        if (codec == null) {
+            throw new NullPointerException("codec must not be null");
+        }
+        return new BackpressureStrategy<>(Mode.SPILL, memoryCapacity, null, null, codec, directory, segmentSize);
+    }
+}
@@ -0,0 +1,13 @@
+package com.customrxjava.flow;
+
+/**
+ * Что делать с элементом когда буфер onBackpressureBuffer заполнен.
+ */
+public enum BufferOverflow {
+    /** Отменить подписку на источник и сразу выдать ошибку. накопленные элементы отбрасываются */
+    ERROR,
+    /** Выбросить самый старый элемент буфера и добавить новый */
+    DROP_OLDEST,
+    /** Выбросить новый элемент */
+    DROP_LATEST
+}
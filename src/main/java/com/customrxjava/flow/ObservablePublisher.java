@@ -0,0 +1,24 @@
+package com.customrxjava.flow;
+
+import com.customrxjava.Observable;
+
+import java.util.concurrent.Flow;
+
+/**
+ * Flow.Publisher поверх Observable.
+ * Observable не умеет замедляться. поэтому элементы сверх запрошенного количества копятся в очереди
+ * и выдаются подписчику по мере request(n). Это BackpressurePublisher с неограниченным буфером.
+ * @param <T> Тип элементов
+ */
+public final class ObservablePublisher<T> implements Flow.Publisher<T> {
+    private final BackpressurePublisher<T> delegate;
+
+    public ObservablePublisher(Observable<T> source) {
+        this.delegate = new BackpressurePublisher<>(source, BackpressureStrategy.unbounded());
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        delegate.subscribe(subscriber);
+    }
+}
@@ -0,0 +1,119 @@
+package com.customrxjava.flow;
+
+import com.customrxjava.Disposable;
+import com.customrxjava.Observer;
+import com.customrxjava.operators.DisposableHelper;
+
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+
+/**
+ * Источник Observable который подписывается на Flow.Publisher.
+ * Запрашивает prefetch элементов сразу. а затем дозапрашивает пачками по 75% от prefetch
+ * когда столько элементов уже получено. так мост не скатывается к request(1) на каждый элемент.
+ * Отмена подписки сразу отменяет Flow.Subscription. не дожидаясь следующего элемента.
+ * @param <T> Тип элементов
+ */
+public final class PublisherSource<T> implements Consumer<Observer<T>> {
+    private final Flow.Publisher<T> publisher;
+    private final int prefetch;
+
+    public PublisherSource(Flow.Publisher<T> publisher, int prefetch) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch must be positive: " + prefetch);
+        }
+        this.publisher = publisher;
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public void accept(Observer<T> observer) {
+        BridgeSubscriber<T> subscriber = new BridgeSubscriber<>(observer, prefetch);
+        DisposableHelper.setResource(observer, subscriber);
+        publisher.subscribe(subscriber);
+    }
+
+    private static final class BridgeSubscriber<T> implements Flow.Subscriber<T>, Disposable {
+        private final Observer<T> downstream;
+        private final int prefetch;
+        private final int limit;
+        private volatile Flow.Subscription subscription;
+        // Подписку отменил downstream. может прийти из любого потока
+        private volatile boolean cancelled;
+        private int consumed;
+        private boolean done;
+
+        BridgeSubscriber(Observer<T> downstream, int prefetch) {
+            this.downstream = downstream;
+            this.prefetch = prefetch;
+            this.limit = prefetch - (prefetch >> 2);
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            if (this.subscription != null) {
+                subscription.cancel();
+                return;
+            }
+            this.subscription = subscription;
+            if (cancelled) {
+                subscription.cancel();
+                return;
+            }
+            subscription.request(prefetch);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done || cancelled) {
+                return;
+            }
+            if (DisposableHelper.isDisposed(downstream)) {
+                // Observer ниже не умеет принимать ресурс. об отмене узнаем только здесь
+                done = true;
+                subscription.cancel();
+                return;
+            }
+            downstream.onNext(item);
+            int c = consumed + 1;
+            if (c == limit) {
+                consumed = 0;
+                subscription.request(c);
+            } else {
+                consumed = c;
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (!done) {
+                done = true;
+                downstream.onError(throwable);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (!cancelled) {
+                cancelled = true;
+                Flow.Subscription s = subscription;
+                if (s != null) {
+                    s.cancel();
+                }
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return cancelled;
+        }
+    }
+}
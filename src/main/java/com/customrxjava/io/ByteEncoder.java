@@ -0,0 +1,28 @@
+package com.customrxjava.io;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Записывает элемент в ByteBuffer для writeTo.
+ * Если места в буфере не хватает encode должен бросить BufferOverflowException. тогда запись элемента
+ * повторится в буфере большего размера. Методы put у ByteBuffer делают это сами.
+ * @param <T> Тип элементов
+ */
+@FunctionalInterface
+public interface ByteEncoder<T> {
+
+    /**
+     * @param item Элемент
+     * @param buffer Буфер с позицией на месте записи
+     */
+    void encode(T item, ByteBuffer buffer);
+
+    /**
+     * @param <T> Тип элементов
+     * @return Encoder который пишет String.valueOf(item) в UTF-8 и перевод строки
+     */
+    static <T> ByteEncoder<T> utf8Lines() {
+        return (item, buffer) -> buffer.put(String.valueOf(item).getBytes(StandardCharsets.UTF_8)).put((byte) '\n');
+    }
+}
@@ -0,0 +1,327 @@
+package com.customrxjava.io;
+
+import com.customrxjava.CompletableObserver;
+import com.customrxjava.Disposable;
+import com.customrxjava.Observer;
+import com.customrxjava.Scheduler;
+import com.customrxjava.operators.DisposableHelper;
+import com.customrxjava.operators.SpscLinkedArrayQueue;
+import com.customrxjava.schedulers.IOThreadScheduler;
+import com.customrxjava.schedulers.SchedulerTimer;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Observer оператора writeTo. Пишет элементы в FileChannel.
+ * Поток источника только кладет элемент в очередь. Кодирование в direct буферы и запись идут в задаче
+ * на Scheduler: накопленные буферы записываются одним вызовом FileChannel.write(ByteBuffer[]) когда
+ * выполнено условие из WriteOptions. Буферы после записи переиспользуются.
+ * @param <T> Тип элементов
+ */
+public final class FileSink<T> implements Observer<T>, Disposable, Runnable {
+    /** Scheduler по умолчанию для записи в файлы */
+    public static final Scheduler DEFAULT_SCHEDULER = new IOThreadScheduler();
+    // Сколько свободных буферов хранить для переиспользования
+    private static final int MAX_POOLED = 16;
+
+    private final CompletableObserver downstream;
+    private final Path path;
+    private final ByteEncoder<T> encoder;
+    private final WriteOptions options;
+    private final Scheduler scheduler;
+    private final long flushIntervalNanos;
+    private final SpscLinkedArrayQueue<T> queue = new SpscLinkedArrayQueue<>(128);
+    private final AtomicInteger wip = new AtomicInteger();
+    private volatile boolean done;
+    private volatile boolean terminated;
+    private volatile boolean flushRequested;
+    private Throwable error;
+    // Поля задачи записи. меняются только внутри WIP
+    private FileChannel channel;
+    private final List<ByteBuffer> filled = new ArrayList<>();
+    private final ArrayDeque<ByteBuffer> pool = new ArrayDeque<>();
+    private ByteBuffer current;
+    private ByteBuffer[] gather = new ByteBuffer[4];
+    private int pendingCount;
+    private long pendingBytes;
+    private Disposable timer;
+
+    /**
+     * @param downstream Получает завершение после записи всех элементов
+     * @param path Файл который откроется при первой записи или null если передан channel
+     * @param channel Открытый канал или null если передан path. такой канал не закрывается
+     * @param encoder Запись элемента в буфер
+     * @param options Настройки записи
+     * @param scheduler Scheduler для операций с файлом
+     */
+    public FileSink(CompletableObserver downstream, Path path, FileChannel channel, ByteEncoder<T> encoder,
+                    WriteOptions options, Scheduler scheduler) {
+        this.downstream = downstream;
+        this.path = path;
+        this.channel = channel;
+        this.encoder = encoder;
+        this.options = options;
+        this.scheduler = scheduler;
+        this.flushIntervalNanos = options.getFlushInterval() == null ? 0 : options.getFlushInterval().toNanos();
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (done) {
+            return;
+        }
+        if (isDisposed()) {
+            // Задача записи закроет файл
+            drain();
+            return;
+        }
+        if (item == null) {
+            onError(new NullPointerException("writeTo does not accept null items"));
+            return;
+        }
+        queue.offer(item);
+        drain();
+    }
+
+    @Override
+    public void onNextBatch(List<T> batch) {
+        if (done) {
+            return;
+        }
+        if (isDisposed()) {
+            drain();
+            return;
+        }
+        for (int i = 0, n = batch.size(); i < n; i++) {
+            T item = batch.get(i);
+            if (item == null) {
+                onError(new NullPointerException("writeTo does not accept null items"));
+                return;
+            }
+            queue.offer(item);
+        }
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        if (done) {
+            return;
+        }
+        error = t;
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        if (done) {
+            return;
+        }
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void dispose() {
+        DisposableHelper.dispose(downstream);
+        drain();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return terminated || DisposableHelper.isDisposed(downstream);
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() == 0) {
+            scheduler.execute(this);
+        }
+    }
+
+    // Задача записи на Scheduler
+    @Override
+    public void run() {
+        int missed = 1;
+        for (;;) {
+            if (isDisposed()) {
+                abort();
+                return;
+            }
+            try {
+                if (channel == null) {
+                    channel = open();
+                }
+                for (;;) {
+                    boolean d = done;
+                    T item = queue.poll();
+                    if (item == null) {
+                        if (d) {
+                            finish();
+                            return;
+                        }
+                        break;
+                    }
+                    encode(item);
+                    if (pendingCount >= options.getFlushCount() || pendingBytes >= options.getFlushBytes()
+                        || flushRequested) {
+                        write();
+                    } else {
+                        armTimer();
+                    }
+                }
+                if (flushRequested) {
+                    write();
+                }
+            } catch (Exception e) {
+                abort();
+                downstream.onError(e);
+                return;
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+    private FileChannel open() throws IOException {
+        if (options.isAppend()) {
+            return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        }
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    private void encode(T item) {
+        if (current == null) {
+            current = acquire();
+        }
+        for (;;) {
+            ByteBuffer buffer = current;
+            int start = buffer.position();
+            try {
+                encoder.encode(item, buffer);
+                pendingBytes += buffer.position() - start;
+                pendingCount++;
+                return;
+            } catch (BufferOverflowException e) {
+                buffer.position(start);
+                if (start > 0) {
+                    // Элемент не поместился в остаток. пробуем в новом буфере
+                    filled.add(buffer);
+                    current = acquire();
+                } else {
+                    // Элемент больше целого буфера
+                    current = ByteBuffer.allocateDirect(buffer.capacity() * 2);
+                    release(buffer);
+                }
+            }
+        }
+    }
+
+    // Записывает все накопленные буферы одним вызовом
+    private void write() throws IOException {
+        flushRequested = false;
+        cancelTimer();
+        if (current != null && current.position() > 0) {
+            filled.add(current);
+            current = null;
+        }
+        int n = filled.size();
+        if (n == 0) {
+            return;
+        }
+        if (gather.length < n) {
+            gather = new ByteBuffer[Math.max(n, gather.length * 2)];
+        }
+        long remaining = 0;
+        for (int i = 0; i < n; i++) {
+            ByteBuffer buffer = filled.get(i);
+            buffer.flip();
+            remaining += buffer.remaining();
+            gather[i] = buffer;
+        }
+        while (remaining > 0) {
+            remaining -= channel.write(gather, 0, n);
+        }
+        for (int i = 0; i < n; i++) {
+            gather[i] = null;
+            release(filled.get(i));
+        }
+        filled.clear();
+        pendingCount = 0;
+        pendingBytes = 0;
+    }
+
+    private void finish() throws IOException {
+        write();
+        if (error == null && options.isFsyncOnComplete()) {
+            channel.force(false);
+        }
+        close();
+        terminated = true;
+        if (error != null) {
+            downstream.onError(error);
+        } else {
+            downstream.onComplete();
+        }
+    }
+
+    private void abort() {
+        terminated = true;
+        cancelTimer();
+        queue.clear();
+        try {
+            close();
+        } catch (IOException e) {
+            // Поток уже завершается с другой причиной
+        }
+    }
+
+    private void close() throws IOException {
+        if (path != null && channel != null) {
+            channel.close();
+        }
+    }
+
+    private void armTimer() {
+        if (flushIntervalNanos > 0 && timer == null) {
+            timer = SchedulerTimer.schedule(() -> {
+                flushRequested = true;
+                drain();
+            }, flushIntervalNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void cancelTimer() {
+        if (timer != null) {
+            timer.dispose();
+            timer = null;
+        }
+    }
+
+    private ByteBuffer acquire() {
+        ByteBuffer buffer = pool.poll();
+        return buffer != null ? buffer : ByteBuffer.allocateDirect(options.getBufferSize());
+    }
+
+    private void release(ByteBuffer buffer) {
+        buffer.clear();
+        // Увеличенные буферы не переиспользуются
+        if (buffer.capacity() == options.getBufferSize() && pool.size() < MAX_POOLED) {
+            pool.offer(buffer);
+        }
+    }
+}
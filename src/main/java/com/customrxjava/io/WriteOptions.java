@@ -0,0 +1,119 @@
+package com.customrxjava.io;
+
+import java.time.Duration;
+
+/**
+ * Настройки writeTo: размер буферов и когда накопленные данные записываются в файл.
+ * Запись происходит когда выполнено любое из условий: накоплено flushCount элементов. flushBytes байт
+ * или с первого незаписанного элемента прошло flushInterval.
+ */
+public final class WriteOptions {
+    private final int bufferSize;
+    private final int flushCount;
+    private final long flushBytes;
+    private final Duration flushInterval;
+    private final boolean fsyncOnComplete;
+    private final boolean append;
+
+    private WriteOptions(int bufferSize, int flushCount, long flushBytes, Duration flushInterval,
+                         boolean fsyncOnComplete, boolean append) {
+        this.bufferSize = bufferSize;
+        this.flushCount = flushCount;
+        this.flushBytes = flushBytes;
+        this.flushInterval = flushInterval;
+        this.fsyncOnComplete = fsyncOnComplete;
+        this.append = append;
+    }
+
+    /**
+     * Буферы по 64 КБ. запись каждые 256 КБ или 1 секунду. без fsync. файл перезаписывается.
+     * @return Настройки по умолчанию
+     */
+    public static WriteOptions defaults() {
+        return new WriteOptions(64 * 1024, Integer.MAX_VALUE, 256 * 1024, Duration.ofSeconds(1), false, false);
+    }
+
+    /**
+     * @param bufferSize Размер одного direct буфера в байтах
+     * @return Новый WriteOptions
+     */
+    public WriteOptions withBufferSize(int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be positive: " + bufferSize);
+        }
+        return new WriteOptions(bufferSize, flushCount, flushBytes, flushInterval, fsyncOnComplete, append);
+    }
+
+    /**
+     * @param flushCount Сколько элементов накопить перед записью
+     * @return Новый WriteOptions
+     */
+    public WriteOptions withFlushCount(int flushCount) {
+        if (flushCount <= 0) {
+            throw new IllegalArgumentException("flushCount must be positive: " + flushCount);
+        }
+        return new WriteOptions(bufferSize, flushCount, flushBytes, flushInterval, fsyncOnComplete, append);
+    }
+
+    /**
+     * @param flushBytes Сколько байт накопить перед записью
+     * @return Новый WriteOptions
+     */
+    public WriteOptions withFlushBytes(long flushBytes) {
+        if (flushBytes <= 0) {
+            throw new IllegalArgumentException("flushBytes must be positive: " + flushBytes);
+        }
+        return new WriteOptions(bufferSize, flushCount, flushBytes, flushInterval, fsyncOnComplete, append);
+    }
+
+    /**
+     * @param flushInterval Сколько данные могут ждать записи или null чтобы не ограничивать
+     * @return Новый WriteOptions
+     */
+    public WriteOptions withFlushInterval(Duration flushInterval) {
+        if (flushInterval != null && (flushInterval.isNegative() || flushInterval.isZero())) {
+            throw new IllegalArgumentException("flushInterval must be positive: " + flushInterval);
+        }
+        return new WriteOptions(bufferSize, flushCount, flushBytes, flushInterval, fsyncOnComplete, append);
+    }
+
+    /**
+     * @param fsyncOnComplete Вызывать FileChannel.force перед завершением
+     * @return Новый WriteOptions
+     */
+    public WriteOptions withFsyncOnComplete(boolean fsyncOnComplete) {
+        return new WriteOptions(bufferSize, flushCount, flushBytes, flushInterval, fsyncOnComplete, append);
+    }
+
+    /**
+     * @param append Дописывать в конец существующего файла вместо перезаписи
+     * @return Новый WriteOptions
+     */
+    public WriteOptions withAppend(boolean append) {
+        return new WriteOptions(bufferSize, flushCount, flushBytes, flushInterval, fsyncOnComplete, append);
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public int getFlushCount() {
+        return flushCount;
+    }
+
+    public long getFlushBytes() {
+        return flushBytes;
+    }
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public boolean isFsyncOnComplete() {
+        return fsyncOnComplete;
+    }
+
+    public boolean isAppend() {
+        return append;
+    }
+}
@@ -0,0 +1,241 @@
+package com.customrxjava.operators;
+
+import com.customrxjava.Disposable;
+import com.customrxjava.Observer;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Итератор который получает элементы Observable через ограниченную очередь.
+ * Производитель из другого потока ждет когда очередь заполнена. а потребитель будит его только
+ * после того как освободит 75% очереди. так пробуждения идут пачками а не на каждый элемент.
+ * Если производитель работает в потоке потребителя (синхронный источник) ждать нельзя. иначе будет
+ * взаимная блокировка. поэтому в этом случае очередь растет сверх prefetch.
+ * @param <T> Тип элементов
+ */
+public final class BlockingIterator<T> implements Iterator<T>, Observer<T>, Disposable {
+    private final int prefetch;
+    private final int limit;
+    private final Thread consumerThread;
+    private final ArrayDeque<T> queue = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private boolean consumerWaiting;
+    private boolean producerWaiting;
+    private int consumed;
+    private boolean done;
+    private Throwable error;
+    private volatile boolean disposed;
+    private volatile Disposable upstream;
+
+    public BlockingIterator(int prefetch) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch must be positive: " + prefetch);
+        }
+        this.prefetch = prefetch;
+        this.limit = Math.max(1, prefetch - (prefetch >> 2));
+        this.consumerThread = Thread.currentThread();
+    }
+
+    /**
+     * Запоминает подписку на источник чтобы отменить ее в dispose.
+     * @param upstream Подписка на источник
+     */
+    public void setUpstream(Disposable upstream) {
+        this.upstream = upstream;
+        if (disposed) {
+            upstream.dispose();
+        }
+    }
+
+    /**
+     * Возвращает ошибку источника если поток завершился ошибкой.
+     * @return Ошибка или null
+     */
+    public Throwable getError() {
+        lock.lock();
+        try {
+            return error;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        lock.lock();
+        try {
+            offer(item);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void onNextBatch(List<T> batch) {
+        lock.lock();
+        try {
+            for (int i = 0, n = batch.size(); i < n; i++) {
+                offer(batch.get(i));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        lock.lock();
+        try {
+            if (done) {
+                return;
+            }
+            error = t;
+            done = true;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        lock.lock();
+        try {
+            done = true;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        lock.lock();
+        try {
+            while (queue.isEmpty() && !done) {
+                if (disposed) {
+                    return false;
+                }
+                consumerWaiting = true;
+                try {
+                    notEmpty.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    dispose();
+                    throw new RuntimeException("Interrupted while waiting for next item", e);
+                } finally {
+                    consumerWaiting = false;
+                }
+            }
+            if (queue.isEmpty()) {
+                Throwable t = error;
+                if (t != null) {
+                    throw wrap(t);
+                }
+                return false;
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        lock.lock();
+        try {
+            T item = queue.poll();
+            if (++consumed == limit) {
+                consumed = 0;
+                if (producerWaiting) {
+                    notFull.signal();
+                }
+            }
+            return item;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void dispose() {
+        disposed = true;
+        Disposable d = upstream;
+        if (d != null) {
+            d.dispose();
+        }
+        lock.lock();
+        try {
+            queue.clear();
+            notFull.signal();
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    // Вызывается под блокировкой
+    private void offer(T item) {
+        if (item == null) {
+            if (!done) {
+                error = new NullPointerException("blocking operators do not support null items");
+                done = true;
+                notEmpty.signal();
+            }
+            return;
+        }
+        if (done) {
+            return;
+        }
+        if (Thread.currentThread() != consumerThread) {
+            while (queue.size() >= prefetch && !disposed) {
+                producerWaiting = true;
+                try {
+                    notFull.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } finally {
+                    producerWaiting = false;
+                }
+            }
+        }
+        if (disposed) {
+            return;
+        }
+        queue.offer(item);
+        if (consumerWaiting) {
+            notEmpty.signal();
+        }
+    }
+
+    /**
+     * Превращает ошибку источника в непроверяемое исключение для выброса из блокирующих методов.
+     * @param t Ошибка
+     * @return RuntimeException для выброса
+     */
+    public static RuntimeException wrap(Throwable t) {
+        if (t instanceof RuntimeException) {
+            return (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        return new RuntimeException(t);
+    }
+}
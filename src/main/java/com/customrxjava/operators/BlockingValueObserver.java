@@ -0,0 +1,87 @@
+package com.customrxjava.operators;
+
+import com.customrxjava.Disposable;
+import com.customrxjava.Observer;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Observer для blockingFirst и blockingLast.
+ * В режиме first сразу после первого элемента помечает себя отмененным. это видят источники по цепочке
+ * и прекращают выдачу.
+ * @param <T> Тип элементов
+ */
+public final class BlockingValueObserver<T> implements Observer<T>, Disposable {
+    private final boolean first;
+    private final CountDownLatch latch = new CountDownLatch(1);
+    private T value;
+    private Throwable error;
+    private volatile boolean disposed;
+
+    public BlockingValueObserver(boolean first) {
+        this.first = first;
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (disposed) {
+            return;
+        }
+        value = item;
+        if (first) {
+            disposed = true;
+            latch.countDown();
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        if (latch.getCount() != 0) {
+            error = t;
+            latch.countDown();
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        latch.countDown();
+    }
+
+    @Override
+    public void dispose() {
+        disposed = true;
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    /**
+     * Ждет результат. Если upstream не null он отменяется как только ответ известен.
+     * @param upstream Подписка на источник
+     * @param defaultValue Значение для пустого потока или null чтобы бросить NoSuchElementException
+     * @return Первый или последний элемент
+     */
+    public T await(Disposable upstream, T defaultValue) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            upstream.dispose();
+            throw new RuntimeException("Interrupted while waiting for value", e);
+        }
+        upstream.dispose();
+        if (error != null) {
+            throw BlockingIterator.wrap(error);
+        }
+        if (value != null) {
+            return value;
+        }
+        if (defaultValue != null) {
+            return defaultValue;
+        }
+        throw new NoSuchElementException("Observable is empty");
+    }
+}
@@ -0,0 +1,390 @@
+package com.customrxjava.operators;
+
+import com.customrxjava.Disposable;
+import com.customrxjava.Observable;
+import com.customrxjava.Observer;
+import com.customrxjava.sources.FuseableSource;
+import com.customrxjava.sources.SyncCursor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Общая часть операторов zip и combineLatest.
+ * Синхронные источники (FuseableSource) не подписываются: цикл drain сам забирает из их курсоров ровно столько
+ * элементов сколько нужно. Остальные источники кладут элементы в свою ограниченную очередь с одним производителем
+ * и одним потребителем. Если источник обогнал остальных на bufferSize элементов. поток завершается
+ * IllegalStateException: у Observable нет канала запроса. а ждать места значит блокировать поток источника.
+ * Выдачу делает один цикл drain. который защищен счетчиком WIP и выполняется в потоке того источника
+ * который пришел первым. Блокировок нет.
+ * @param <R> Тип результата
+ */
+abstract class CombineCoordinator<R> {
+    // Обертка для null элементов. очередь null не принимает
+    static final Object NULL = new Object();
+    // Максимальный размер пачки которую получает downstream за один вызов
+    static final int MAX_BATCH = 128;
+
+    final Observer<R> downstream;
+    final Function<Object[], R> combiner;
+    final Inner[] inners;
+    private final int bufferSize;
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicReference<Throwable> error = new AtomicReference<>();
+    private final List<R> batch = new ArrayList<>();
+    private volatile boolean cancelled;
+
+    @SuppressWarnings("unchecked")
+    CombineCoordinator(Observer<R> downstream, Function<Object[], R> combiner, int count, int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be positive: " + bufferSize);
+        }
+        this.downstream = downstream;
+        this.combiner = combiner;
+        this.bufferSize = bufferSize;
+        this.inners = (Inner[]) new CombineCoordinator<?>.Inner[count];
+    }
+
+    /**
+     * @param sources Источники
+     * @param fuseables Для каждого источника его FuseableSource или null если источник нужно подписать
+     */
+    @SuppressWarnings("unchecked")
+    void subscribe(List<? extends Observable<?>> sources, List<? extends FuseableSource<?>> fuseables) {
+        // Все источники создаются до подписки. потому что первый источник может сразу запустить drain
+        for (int i = 0; i < inners.length; i++) {
+            FuseableSource<?> fuseable = fuseables.get(i);
+            inners[i] = fuseable != null
+                ? new CursorInner(((FuseableSource<Object>) fuseable).open())
+                : new InnerObserver(bufferSize);
+        }
+        for (int i = 0; i < inners.length && !cancelled && !DisposableHelper.isDisposed(downstream); i++) {
+            if (inners[i] instanceof CombineCoordinator.InnerObserver) {
+                ((InnerObserver) inners[i]).subscribeTo(sources.get(i));
+            }
+        }
+        // Курсоры читает только drain. для источников только из курсоров это единственный запуск
+        drain();
+    }
+
+    /**
+     * Один проход выдачи. вызывается только из drain поэтому однопоточный.
+     * @return true если поток завершен и дальше выдавать нечего
+     */
+    abstract boolean drainLoop();
+
+    /**
+     * Очищает состояние при отмене. вызывается из drain.
+     */
+    void clear() {
+        for (Inner inner : inners) {
+            if (inner != null) {
+                inner.clear();
+            }
+        }
+    }
+
+    final void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        for (;;) {
+            if (drainLoop()) {
+                return;
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Проверяет отмену и ошибку. Если поток нужно остановить. сообщает об этом downstream.
+     * @return true если выдачу нужно прекратить
+     */
+    final boolean checkTerminated() {
+        if (isDisposed()) {
+            flush();
+            clear();
+            return true;
+        }
+        Throwable t = error.get();
+        if (t != null) {
+            flush();
+            cancelAll();
+            clear();
+            downstream.onError(t);
+            return true;
+        }
+        return false;
+    }
+
+    final void emit(Object[] values) {
+        R result;
+        try {
+            result = combiner.apply(values);
+        } catch (Exception e) {
+            onInnerError(e);
+            return;
+        }
+        batch.add(result);
+        if (batch.size() >= MAX_BATCH) {
+            flush();
+        }
+    }
+
+    final void complete() {
+        flush();
+        cancelAll();
+        clear();
+        downstream.onComplete();
+    }
+
+    final void flush() {
+        List<R> out = batch;
+        if (out.isEmpty()) {
+            return;
+        }
+        try {
+            if (out.size() == 1) {
+                downstream.onNext(out.get(0));
+            } else {
+                downstream.onNextBatch(out);
+            }
+        } finally {
+            out.clear();
+        }
+    }
+
+    final void onInnerError(Throwable t) {
+        if (error.compareAndSet(null, t)) {
+            cancelAll();
+        }
+        drain();
+    }
+
+    private void cancelAll() {
+        cancelled = true;
+        for (Inner inner : inners) {
+            if (inner != null) {
+                inner.cancel();
+            }
+        }
+    }
+
+    // Отменен подписчиком или завершен. Ошибка еще должна дойти до downstream
+    boolean isDisposed() {
+        return cancelled && error.get() == null || DisposableHelper.isDisposed(downstream);
+    }
+
+    static Object unbox(Object value) {
+        return value == NULL ? null : value;
+    }
+
+    /**
+     * Элементы одного источника. Методы чтения вызываются только из drain.
+     */
+    abstract class Inner {
+
+        /**
+         * Нужно вызывать до peek. иначе можно потерять последний элемент подписанного источника.
+         * @return true если источник больше не выдаст новых элементов
+         */
+        abstract boolean isDone();
+
+        /**
+         * @return Следующий элемент без извлечения или null если элементов пока нет
+         */
+        abstract Object peek();
+
+        /**
+         * @return Следующий элемент или null если элементов пока нет
+         */
+        abstract Object poll();
+
+        abstract void clear();
+
+        abstract void cancel();
+    }
+
+    /**
+     * Чтение синхронного источника через курсор. Один элемент читается вперед чтобы узнать о конце источника.
+     */
+    final class CursorInner extends Inner {
+        private final SyncCursor<Object> cursor;
+        private Object next;
+        private boolean exhausted;
+
+        CursorInner(SyncCursor<Object> cursor) {
+            this.cursor = cursor;
+        }
+
+        private void fill() {
+            if (next != null || exhausted) {
+                return;
+            }
+            try {
+                next = cursor.poll();
+            } catch (Exception e) {
+                // Ошибку выдаст checkTerminated. курсор больше не читается
+                exhausted = true;
+                if (error.compareAndSet(null, e)) {
+                    cancelAll();
+                }
+                return;
+            }
+            if (next == null) {
+                exhausted = true;
+            }
+        }
+
+        @Override
+        boolean isDone() {
+            fill();
+            return exhausted && next == null;
+        }
+
+        @Override
+        Object peek() {
+            fill();
+            return next;
+        }
+
+        @Override
+        Object poll() {
+            fill();
+            Object value = next;
+            next = null;
+            return value;
+        }
+
+        @Override
+        void clear() {
+            next = null;
+            exhausted = true;
+        }
+
+        @Override
+        void cancel() {
+            // Подписки нет. курсор просто перестает читаться
+        }
+    }
+
+    /**
+     * Подписчик на один источник. Единственный производитель своей очереди.
+     */
+    final class InnerObserver extends Inner implements Observer<Object>, Disposable {
+        final SpscArrayQueue<Object> queue;
+        volatile boolean done;
+        private volatile Disposable upstream;
+        private volatile boolean innerCancelled;
+
+        InnerObserver(int bufferSize) {
+            this.queue = new SpscArrayQueue<>(bufferSize);
+        }
+
+        @SuppressWarnings("unchecked")
+        void subscribeTo(Observable<?> source) {
+            Disposable d = ((Observable<Object>) source).subscribe(this);
+            upstream = d;
+            if (innerCancelled) {
+                d.dispose();
+            }
+        }
+
+        @Override
+        boolean isDone() {
+            return done;
+        }
+
+        @Override
+        Object peek() {
+            return queue.peek();
+        }
+
+        @Override
+        Object poll() {
+            return queue.poll();
+        }
+
+        @Override
+        void clear() {
+            queue.clear();
+        }
+
+        @Override
+        void cancel() {
+            innerCancelled = true;
+            Disposable d = upstream;
+            if (d != null) {
+                d.dispose();
+            }
+        }
+
+        @Override
+        public void onNext(Object item) {
+            if (done || innerCancelled) {
+                return;
+            }
+            if (!queue.offer(item == null ? NULL : item)) {
+                overflow();
+                return;
+            }
+            drain();
+        }
+
+        @Override
+        public void onNextBatch(List<Object> items) {
+            if (done || innerCancelled) {
+                return;
+            }
+            for (int i = 0, n = items.size(); i < n; i++) {
+                Object item = items.get(i);
+                if (!queue.offer(item == null ? NULL : item)) {
+                    overflow();
+                    return;
+                }
+            }
+            drain();
+        }
+
+        private void overflow() {
+            done = true;
+            cancel();
+            onInnerError(new IllegalStateException("Source buffer is full: capacity " + queue.capacity()));
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            done = true;
+            onInnerError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void dispose() {
+            cancel();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return innerCancelled || CombineCoordinator.this.isDisposed();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.customrxjava.operators;
+
+import com.customrxjava.Observable;
+import com.customrxjava.Observer;
+import com.customrxjava.sources.FuseableSource;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Оператор combineLatest. После того как каждый источник выдал хотя бы один элемент. на каждый новый элемент
+ * выдает результат для последних значений всех источников.
+ * Завершается когда завершились все источники. или когда источник завершился не выдав ни одного элемента.
+ * @param <R> Тип результата
+ */
+public final class CombineLatestOperator<R> implements Consumer<Observer<R>> {
+    private final List<? extends Observable<?>> sources;
+    private final List<? extends FuseableSource<?>> fuseables;
+    private final Function<Object[], R> combiner;
+    private final int bufferSize;
+
+    /**
+     * @param sources Источники
+     * @param fuseables Для каждого источника его FuseableSource или null
+     * @param combiner Функция объединения
+     * @param bufferSize Сколько необработанных элементов может накопить один источник
+     */
+    public CombineLatestOperator(List<? extends Observable<?>> sources, List<? extends FuseableSource<?>> fuseables,
+                                 Function<Object[], R> combiner, int bufferSize) {
+        if (sources.isEmpty()) {
+            throw new IllegalArgumentException("combineLatest requires at least one source");
+        }
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be positive: " + bufferSize);
+        }
+        this.sources = sources;
+        this.fuseables = fuseables;
+        this.combiner = combiner;
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public void accept(Observer<R> observer) {
+        new CombineLatestCoordinator<>(observer, combiner, sources.size(), bufferSize).subscribe(sources, fuseables);
+    }
+
+    private static final class CombineLatestCoordinator<R> extends CombineCoordinator<R> {
+        // Состояние ниже меняется только в drain
+        private final Object[] latest;
+        private final boolean[] hasValue;
+        private int filled;
+
+        CombineLatestCoordinator(Observer<R> downstream, Function<Object[], R> combiner, int count,
+                                 int bufferSize) {
+            super(downstream, combiner, count, bufferSize);
+            this.latest = new Object[count];
+            this.hasValue = new boolean[count];
+        }
+
+        @Override
+        boolean drainLoop() {
+            Inner[] inners = this.inners;
+            for (;;) {
+                if (checkTerminated()) {
+                    return true;
+                }
+                boolean progressed = false;
+                int finished = 0;
+                // По одному элементу из каждой очереди по кругу. чтобы быстрый источник не задерживал остальные
+                for (int i = 0; i < inners.length; i++) {
+                    Inner inner = inners[i];
+                    boolean done = inner.isDone();
+                    Object value = inner.poll();
+                    if (value == null) {
+                        if (done) {
+                            if (!hasValue[i]) {
+                                complete();
+                                return true;
+                            }
+                            finished++;
+                        }
+                        continue;
+                    }
+                    progressed = true;
+                    if (!hasValue[i]) {
+                        hasValue[i] = true;
+                        filled++;
+                    }
+                    latest[i] = unbox(value);
+                    if (filled == inners.length) {
+                        emit(latest.clone());
+                    }
+                }
+                if (finished == inners.length) {
+                    complete();
+                    return true;
+                }
+                if (!progressed) {
+                    flush();
+                    // Курсор мог завершиться ошибкой при чтении
+                    return checkTerminated();
+                }
+            }
+        }
+
+        @Override
+        void clear() {
+            super.clear();
+            Arrays.fill(latest, null);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.customrxjava.operators;
+
+import com.customrxjava.sources.SyncCursor;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Итератор поверх курсора синхронного источника. Элементы читаются в потоке потребителя без очереди.
+ * @param <T> Тип элементов
+ */
+public final class CursorIterator<T> implements Iterator<T> {
+    private final SyncCursor<T> cursor;
+    private T next;
+    private boolean done;
+
+    public CursorIterator(SyncCursor<T> cursor) {
+        this.cursor = cursor;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !done) {
+            next = cursor.poll();
+            done = next == null;
+        }
+        return next != null;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T item = next;
+        next = null;
+        return item;
+    }
+}
@@ -0,0 +1,46 @@
+package com.customrxjava.operators;
+
+import com.customrxjava.Disposable;
+
+/**
+ * Вспомогательные методы для передачи отмены подписки по цепочке Observer.
+ */
+public final class DisposableHelper {
+
+    private DisposableHelper() {
+    }
+
+    /**
+     * Возвращает true если Observer реализует Disposable и уже отменен.
+     * Подходит для любых наблюдателей. в том числе SingleObserver и CompletableObserver.
+     * @param observer Observer для проверки
+     * @return true если подписка отменена
+     */
+    public static boolean isDisposed(Object observer) {
+        return observer instanceof Disposable && ((Disposable) observer).isDisposed();
+    }
+
+    /**
+     * Отменяет Observer если он реализует Disposable.
+     * @param observer Observer для отмены
+     */
+    public static void dispose(Object observer) {
+        if (observer instanceof Disposable) {
+            ((Disposable) observer).dispose();
+        }
+    }
+
+    /**
+     * Передает ресурс источника Observer который умеет отменять его сам.
+     * @param observer Observer ниже по цепочке
+     * @param resource Ресурс
+     * @return false если Observer не ResourceHolder и об отмене придется узнавать при следующем сигнале
+     */
+    public static boolean setResource(Object observer, Disposable resource) {
+        if (observer instanceof ResourceHolder) {
+            ((ResourceHolder) observer).setResource(resource);
+            return true;
+        }
+        return false;
+    }
+}
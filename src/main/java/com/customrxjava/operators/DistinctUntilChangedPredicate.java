@@ -0,0 +1,59 @@
+package com.customrxjava.operators;
+
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Предикат оператора distinctUntilChanged. Помнит ключ предыдущего элемента. создается на каждую подписку.
+ * @param <T> Тип элементов
+ * @param <K> Тип ключей
+ */
+public final class DistinctUntilChangedPredicate<T, K> implements Predicate<T> {
+    private final Function<T, K> keySelector;
+    private K last;
+    private boolean hasLast;
+
+    public DistinctUntilChangedPredicate(Function<T, K> keySelector) {
+        this.keySelector = keySelector;
+    }
+
+    @Override
+    public boolean test(T item) {
+        K key = keySelector.apply(item);
+        if (hasLast && Objects.equals(last, key)) {
+            // Запоминаем новый ключ. так равные но разные объекты не держат старый в памяти
+            last = key;
+            return false;
+        }
+        last = key;
+        hasLast = true;
+        return true;
+    }
+
+    /**
+     * Вариант для ключей типа long без упаковки.
+     * @param <T> Тип элементов
+     */
+    public static final class OfLong<T> implements Predicate<T> {
+        private final ToLongFunction<T> keySelector;
+        private long last;
+        private boolean hasLast;
+
+        public OfLong(ToLongFunction<T> keySelector) {
+            this.keySelector = keySelector;
+        }
+
+        @Override
+        public boolean test(T item) {
+            long key = keySelector.applyAsLong(item);
+            if (hasLast && last == key) {
+                return false;
+            }
+            last = key;
+            hasLast = true;
+            return true;
+        }
+    }
+}
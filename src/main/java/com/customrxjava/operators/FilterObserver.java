@@ -0,0 +1,126 @@
+package com.customrxjava.operators;
+
+import com.customrxjava.Disposable;
+import com.customrxjava.Observer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Observer оператора filter. Прошедшие элементы пачки собираются в переиспользуемый буфер.
+ * Ошибка предиката завершает поток onError. как и в слитом с источником filter.
+ * @param <T> Тип элементов
+ */
+public final class FilterObserver<T> implements Observer<T>, Disposable, ResourceHolder {
+    private final Observer<T> downstream;
+    private final Predicate<T> predicate;
+    private final List<T> buffer = new ArrayList<>();
+    private volatile boolean done;
+
+    public FilterObserver(Observer<T> downstream, Predicate<T> predicate) {
+        this.downstream = downstream;
+        this.predicate = predicate;
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (done) {
+            return;
+        }
+        boolean accepted;
+        try {
+            accepted = predicate.test(item);
+        } catch (Exception e) {
+            fail(e);
+            return;
+        }
+        if (!accepted) {
+            return;
+        }
+        try {
+            downstream.onNext(item);
+        } catch (Exception e) {
+            fail(e);
+        }
+    }
+
+    @Override
+    public void onNextBatch(List<T> batch) {
+        if (done) {
+            return;
+        }
+        List<T> out = buffer;
+        for (int i = 0, n = batch.size(); i < n; i++) {
+            T item = batch.get(i);
+            try {
+                if (predicate.test(item)) {
+                    out.add(item);
+                }
+            } catch (Exception e) {
+                flush(out);
+                fail(e);
+                return;
+            }
+        }
+        flush(out);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        if (done) {
+            return;
+        }
+        done = true;
+        downstream.onError(t);
+    }
+
+    @Override
+    public void onComplete() {
+        if (done) {
+            return;
+        }
+        done = true;
+        downstream.onComplete();
+    }
+
+    @Override
+    public void dispose() {
+        DisposableHelper.dispose(downstream);
+    }
+
+    @Override
+    public void setResource(Disposable resource) {
+        // Своего ресурса нет. отмену ждет Observer ниже
+        if (!DisposableHelper.setResource(downstream, resource) && isDisposed()) {
+            resource.dispose();
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return done || DisposableHelper.isDisposed(downstream);
+    }
+
+    private void fail(Exception e) {
+        // Ошибка downstream при выдаче остатка пачки уже завершила поток
+        if (done) {
+            return;
+        }
+        done = true;
+        downstream.onError(e);
+    }
+
+    private void flush(List<T> out) {
+        if (out.isEmpty()) {
+            return;
+        }
+        try {
+            downstream.onNextBatch(out);
+        } catch (Exception e) {
+            fail(e);
+        } finally {
+            out.clear();
+        }
+    }
+}
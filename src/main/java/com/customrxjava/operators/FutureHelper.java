@@ -0,0 +1,25 @@
+package com.customrxjava.operators;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Вспомогательные методы для связи с CompletableFuture.
+ */
+public final class FutureHelper {
+
+    private FutureHelper() {
+    }
+
+    /**
+     * Достает исходную ошибку из обертки CompletionException или ExecutionException.
+     * @param t Ошибка из CompletableFuture
+     * @return Исходная ошибка
+     */
+    public static Throwable unwrap(Throwable t) {
+        if ((t instanceof CompletionException || t instanceof ExecutionException) && t.getCause() != null) {
+            return t.getCause();
+        }
+        return t;
+    }
+}
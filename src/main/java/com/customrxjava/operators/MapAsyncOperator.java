@@ -0,0 +1,264 @@
+package com.customrxjava.operators;
+
+import com.customrxjava.Disposable;
+import com.customrxjava.Observable;
+import com.customrxjava.Observer;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Оператор асинхронного преобразования с ограниченным числом одновременных вызовов.
+ * Для каждого элемента запускается CompletableFuture. но не больше maxConcurrency сразу. остальные элементы
+ * ждут в очереди. Результаты выдаются в порядке элементов источника: каждый запущенный элемент получает
+ * порядковый номер. а завершившееся преобразование кладет результат в кольцевой буфер по этому номеру.
+ * Цикл выдачи забирает результаты из буфера подряд начиная со следующего номера. Запущенных элементов
+ * не больше размера буфера. поэтому ячейка всегда свободна.
+ * Завершение источника выдается после всех результатов. ошибка преобразования завершает поток сразу
+ * когда до нее доходит очередь.
+ * @param <T> Тип элементов источника
+ * @param <R> Тип результатов
+ */
+public final class MapAsyncOperator<T, R> implements Consumer<Observer<R>> {
+    private final Observable<T> upstream;
+    private final Function<T, CompletableFuture<R>> mapper;
+    private final int maxConcurrency;
+
+    /**
+     * @param upstream Источник
+     * @param mapper Запускает преобразование элемента
+     * @param maxConcurrency Сколько преобразований может выполняться одновременно
+     */
+    public MapAsyncOperator(Observable<T> upstream, Function<T, CompletableFuture<R>> mapper, int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive: " + maxConcurrency);
+        }
+        this.upstream = upstream;
+        this.mapper = mapper;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    @Override
+    public void accept(Observer<R> observer) {
+        MapAsyncObserver parent = new MapAsyncObserver(observer);
+        parent.setUpstream(upstream.subscribe(parent));
+    }
+
+    private final class MapAsyncObserver implements Observer<T>, Disposable {
+        private final Observer<R> downstream;
+        // Элементы которые еще не запущены
+        private final ConcurrentLinkedQueue<T> pending = new ConcurrentLinkedQueue<>();
+        // Результаты по номеру элемента. пишут потоки преобразований. читает и очищает цикл выдачи
+        private final AtomicReferenceArray<Object> results;
+        private final int mask;
+        // Номера следующего запускаемого и следующего выдаваемого элемента. меняются только внутри WIP
+        private long startIndex;
+        private long emitIndex;
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile Disposable upstreamDisposable;
+        private volatile boolean done;
+        private volatile boolean cancelled;
+        private Throwable error;
+
+        MapAsyncObserver(Observer<R> downstream) {
+            this.downstream = downstream;
+            int capacity = 1 << (32 - Integer.numberOfLeadingZeros(maxConcurrency - 1));
+            this.results = new AtomicReferenceArray<>(capacity);
+            this.mask = capacity - 1;
+        }
+
+        void setUpstream(Disposable d) {
+            upstreamDisposable = d;
+            if (cancelled) {
+                d.dispose();
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done || cancelled) {
+                return;
+            }
+            if (item == null) {
+                cancelUpstream();
+                onError(new NullPointerException("onNext called with null"));
+                return;
+            }
+            pending.offer(item);
+            drain();
+        }
+
+        @Override
+        public void onNextBatch(List<T> batch) {
+            if (done || cancelled) {
+                return;
+            }
+            for (int i = 0, n = batch.size(); i < n; i++) {
+                pending.offer(batch.get(i));
+            }
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            error = t;
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void dispose() {
+            if (!cancelled) {
+                cancelled = true;
+                cancelUpstream();
+                drain();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return cancelled || DisposableHelper.isDisposed(downstream);
+        }
+
+        private void cancelUpstream() {
+            Disposable d = upstreamDisposable;
+            if (d != null) {
+                d.dispose();
+            }
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                for (;;) {
+                    if (isDisposed()) {
+                        clear();
+                        break;
+                    }
+                    boolean d = done;
+                    boolean progressed = emitReady() | startPending();
+                    if (cancelled) {
+                        continue;
+                    }
+                    if (!progressed) {
+                        if (d && startIndex == emitIndex && pending.isEmpty()) {
+                            cancelled = true;
+                            Throwable t = error;
+                            if (t != null) {
+                                downstream.onError(t);
+                            } else {
+                                downstream.onComplete();
+                            }
+                        }
+                        break;
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        // Выдает готовые результаты подряд начиная со следующего номера
+        @SuppressWarnings("unchecked")
+        private boolean emitReady() {
+            boolean emitted = false;
+            while (!cancelled && emitIndex != startIndex) {
+                int index = (int) emitIndex & mask;
+                Object result = results.get(index);
+                if (result == null) {
+                    break;
+                }
+                results.lazySet(index, null);
+                emitIndex++;
+                if (result instanceof Failure) {
+                    fail(((Failure) result).error);
+                    return true;
+                }
+                downstream.onNext((R) result);
+                emitted = true;
+            }
+            return emitted;
+        }
+
+        // Запускает ожидающие элементы пока есть свободные места
+        private boolean startPending() {
+            boolean started = false;
+            while (!cancelled && startIndex - emitIndex < maxConcurrency) {
+                T item = pending.poll();
+                if (item == null) {
+                    break;
+                }
+                CompletableFuture<R> future;
+                try {
+                    future = mapper.apply(item);
+                } catch (RuntimeException e) {
+                    fail(e);
+                    return true;
+                }
+                int index = (int) startIndex++ & mask;
+                future.whenComplete((result, e) -> {
+                    results.set(index, complete(result, e));
+                    drain();
+                });
+                started = true;
+            }
+            return started;
+        }
+
+        private Object complete(R result, Throwable e) {
+            if (e != null) {
+                return new Failure(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+            }
+            if (result == null) {
+                return new Failure(new NullPointerException("mapAsync produced null"));
+            }
+            return result;
+        }
+
+        private void fail(Throwable t) {
+            cancelled = true;
+            cancelUpstream();
+            clear();
+            downstream.onError(t);
+        }
+
+        // Запущенные Future не отменяются: их могут ждать другие подписчики общего кеша
+        private void clear() {
+            pending.clear();
+            for (int i = 0; i < results.length(); i++) {
+                results.lazySet(i, null);
+            }
+        }
+    }
+
+    private static final class Failure {
+        final Throwable error;
+
+        Failure(Throwable error) {
+            this.error = error;
+        }
+    }
+}
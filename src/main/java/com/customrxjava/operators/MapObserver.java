@@ -0,0 +1,131 @@
+package com.customrxjava.operators;
+
+import com.customrxjava.Disposable;
+import com.customrxjava.Observer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Observer оператора map. Пачки преобразуются в переиспользуемый буфер и передаются дальше одним вызовом.
+ * Ошибка функции или null результат завершают поток onError. как и в слитом с источником map.
+ * после этого Observer считается отмененным и остальные элементы не преобразуются.
+ * @param <T> Тип входных элементов
+ * @param <R> Тип выходных элементов
+ */
+public final class MapObserver<T, R> implements Observer<T>, Disposable, ResourceHolder {
+    private final Observer<R> downstream;
+    private final Function<T, R> mapper;
+    private final List<R> buffer = new ArrayList<>();
+    private volatile boolean done;
+
+    public MapObserver(Observer<R> downstream, Function<T, R> mapper) {
+        this.downstream = downstream;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (done) {
+            return;
+        }
+        R result;
+        try {
+            result = apply(item);
+        } catch (Exception e) {
+            fail(e);
+            return;
+        }
+        try {
+            downstream.onNext(result);
+        } catch (Exception e) {
+            fail(e);
+        }
+    }
+
+    @Override
+    public void onNextBatch(List<T> batch) {
+        if (done) {
+            return;
+        }
+        List<R> out = buffer;
+        for (int i = 0, n = batch.size(); i < n; i++) {
+            try {
+                out.add(apply(batch.get(i)));
+            } catch (Exception e) {
+                // Уже преобразованные элементы пачки выдаются до ошибки
+                flush(out);
+                fail(e);
+                return;
+            }
+        }
+        flush(out);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        if (done) {
+            return;
+        }
+        done = true;
+        downstream.onError(t);
+    }
+
+    @Override
+    public void onComplete() {
+        if (done) {
+            return;
+        }
+        done = true;
+        downstream.onComplete();
+    }
+
+    @Override
+    public void dispose() {
+        DisposableHelper.dispose(downstream);
+    }
+
+    @Override
+    public void setResource(Disposable resource) {
+        // Своего ресурса нет. отмену ждет Observer ниже
+        if (!DisposableHelper.setResource(downstream, resource) && isDisposed()) {
+            resource.dispose();
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return done || DisposableHelper.isDisposed(downstream);
+    }
+
+    private R apply(T item) {
+        R result = mapper.apply(item);
+        if (result == null) {
+            throw new NullPointerException("mapper returned null");
+        }
+        return result;
+    }
+
+    private void fail(Exception e) {
+        // Ошибка downstream при выдаче остатка пачки уже завершила поток
+        if (done) {
+            return;
+        }
+        done = true;
+        downstream.onError(e);
+    }
+
+    private void flush(List<R> out) {
+        if (out.isEmpty()) {
+            return;
+        }
+        try {
+            downstream.onNextBatch(out);
+        } catch (Exception e) {
+            fail(e);
+        } finally {
+            out.clear();
+        }
+    }
+}
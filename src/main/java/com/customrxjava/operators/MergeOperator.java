@@ -0,0 +1,293 @@
+package com.customrxjava.operators;
+
+import com.customrxjava.Disposable;
+import com.customrxjava.Observable;
+import com.customrxjava.Observer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Оператор merge. Подписывается на все источники сразу и выдает их элементы в один поток.
+ * Downstream вызывается строго последовательно. Источник который пришел когда никто не выдает элементы.
+ * выдает свой элемент напрямую. остальные кладут элементы в свою очередь без блокировок. а их выгребает
+ * тот поток который сейчас выдает.
+ * @param <T> Тип элементов
+ */
+public final class MergeOperator<T> implements Consumer<Observer<T>> {
+    private final List<? extends Observable<? extends T>> sources;
+    private final int prefetch;
+
+    public MergeOperator(List<? extends Observable<? extends T>> sources, int prefetch) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch must be positive: " + prefetch);
+        }
+        this.sources = sources;
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public void accept(Observer<T> observer) {
+        if (sources.isEmpty()) {
+            observer.onComplete();
+            return;
+        }
+        new MergeCoordinator<>(observer, sources.size(), prefetch).subscribe(sources);
+    }
+
+    private static final class MergeCoordinator<T> {
+        // Обертка для null элементов. очередь null не принимает
+        private static final Object NULL = new Object();
+        // Максимальный размер пачки которую получает downstream за один вызов
+        private static final int MAX_BATCH = 128;
+
+        private final Observer<T> downstream;
+        private final List<InnerObserver> inners;
+        private final AtomicInteger wip = new AtomicInteger();
+        private final AtomicInteger active;
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        private final List<T> batch = new ArrayList<>();
+        private volatile boolean cancelled;
+
+        MergeCoordinator(Observer<T> downstream, int count, int prefetch) {
+            this.downstream = downstream;
+            this.active = new AtomicInteger(count);
+            this.inners = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                inners.add(new InnerObserver(prefetch));
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        void subscribe(List<? extends Observable<? extends T>> sources) {
+            for (int i = 0; i < sources.size() && !isCancelled(); i++) {
+                inners.get(i).subscribeTo((Observable<T>) sources.get(i));
+            }
+        }
+
+        boolean isCancelled() {
+            return cancelled || DisposableHelper.isDisposed(downstream);
+        }
+
+        void onInnerError(Throwable t) {
+            if (error.compareAndSet(null, t)) {
+                cancelAll();
+            }
+            drain();
+        }
+
+        void onInnerComplete() {
+            active.decrementAndGet();
+            drain();
+        }
+
+        private void cancelAll() {
+            cancelled = true;
+            for (InnerObserver inner : inners) {
+                inner.cancel();
+            }
+        }
+
+        void drain() {
+            if (wip.getAndIncrement() == 0) {
+                drainLoop();
+            }
+        }
+
+        // Выполняется только владельцем WIP
+        @SuppressWarnings("unchecked")
+        private void drainLoop() {
+            int missed = 1;
+            List<T> out = batch;
+            for (;;) {
+                for (;;) {
+                    if (checkTerminated()) {
+                        return;
+                    }
+                    // active нужно прочитать до проверки очередей. иначе можно потерять последние элементы
+                    boolean done = active.get() == 0;
+                    boolean empty = true;
+                    for (InnerObserver inner : inners) {
+                        Object value = inner.queue.poll();
+                        if (value != null) {
+                            empty = false;
+                            out.add(value == NULL ? null : (T) value);
+                            if (out.size() >= MAX_BATCH) {
+                                flush(out);
+                            }
+                        }
+                    }
+                    if (empty) {
+                        flush(out);
+                        if (done) {
+                            cancelled = true;
+                            downstream.onComplete();
+                            return;
+                        }
+                        break;
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private boolean checkTerminated() {
+            Throwable t = error.get();
+            if (t != null) {
+                batch.clear();
+                clearQueues();
+                downstream.onError(t);
+                return true;
+            }
+            if (isCancelled()) {
+                batch.clear();
+                clearQueues();
+                return true;
+            }
+            return false;
+        }
+
+        private void clearQueues() {
+            for (InnerObserver inner : inners) {
+                inner.queue.clear();
+            }
+        }
+
+        private void flush(List<T> out) {
+            if (out.isEmpty()) {
+                return;
+            }
+            try {
+                if (out.size() == 1) {
+                    downstream.onNext(out.get(0));
+                } else {
+                    downstream.onNextBatch(out);
+                }
+            } finally {
+                out.clear();
+            }
+        }
+
+        /**
+         * Подписчик на один источник. Единственный производитель своей очереди.
+         */
+        private final class InnerObserver implements Observer<T>, Disposable {
+            final SpscLinkedArrayQueue<Object> queue;
+            private volatile Disposable upstream;
+            private volatile boolean innerCancelled;
+            private boolean done;
+
+            InnerObserver(int prefetch) {
+                this.queue = new SpscLinkedArrayQueue<>(prefetch);
+            }
+
+            void subscribeTo(Observable<T> source) {
+                Disposable d = source.subscribe(this);
+                upstream = d;
+                if (innerCancelled) {
+                    d.dispose();
+                }
+            }
+
+            void cancel() {
+                innerCancelled = true;
+                Disposable d = upstream;
+                if (d != null) {
+                    d.dispose();
+                }
+            }
+
+            @Override
+            public void onNext(T item) {
+                if (done || innerCancelled) {
+                    return;
+                }
+                // Быстрый путь: никто не выдает и в своей очереди нет более ранних элементов
+                if (wip.get() == 0 && wip.compareAndSet(0, 1)) {
+                    if (queue.isEmpty()) {
+                        if (!isCancelled()) {
+                            downstream.onNext(item);
+                        }
+                        if (wip.decrementAndGet() == 0) {
+                            return;
+                        }
+                    } else {
+                        queue.offer(item == null ? NULL : item);
+                    }
+                } else {
+                    queue.offer(item == null ? NULL : item);
+                    if (wip.getAndIncrement() != 0) {
+                        return;
+                    }
+                }
+                drainLoop();
+            }
+
+            @Override
+            public void onNextBatch(List<T> items) {
+                if (done || innerCancelled || items.isEmpty()) {
+                    return;
+                }
+                if (wip.get() == 0 && wip.compareAndSet(0, 1)) {
+                    if (queue.isEmpty()) {
+                        if (!isCancelled()) {
+                            downstream.onNextBatch(items);
+                        }
+                        if (wip.decrementAndGet() == 0) {
+                            return;
+                        }
+                    } else {
+                        offerAll(items);
+                    }
+                } else {
+                    offerAll(items);
+                    if (wip.getAndIncrement() != 0) {
+                        return;
+                    }
+                }
+                drainLoop();
+            }
+
+            private void offerAll(List<T> items) {
+                for (int i = 0, n = items.size(); i < n; i++) {
+                    T item = items.get(i);
+                    queue.offer(item == null ? NULL : item);
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                if (done) {
+                    return;
+                }
+                done = true;
+                onInnerError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                if (done) {
+                    return;
+                }
+                done = true;
+                onInnerComplete();
+            }
+
+            @Override
+            public void dispose() {
+                cancel();
+            }
+
+            @Override
+            public boolean isDisposed() {
+                return innerCancelled || isCancelled();
+            }
+        }
+    }
+}
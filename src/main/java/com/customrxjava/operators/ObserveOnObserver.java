@@ -0,0 +1,207 @@
+package com.customrxjava.operators;
+
+import com.customrxjava.Disposable;
+import com.customrxjava.Observer;
+import com.customrxjava.Scheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Observer оператора observeOn.
+ * Сигналы складываются в очередь. а на Scheduler планируется одна задача которая выгребает все накопившееся
+ * и отдает элементы пачками. Так порядок сохраняется даже на многопоточном Scheduler.
+ * @param <T> Тип элементов
+ */
+public final class ObserveOnObserver<T> implements Observer<T>, Disposable, Runnable {
+    // Максимальный размер пачки которую получает downstream за один вызов
+    static final int MAX_BATCH = 128;
+
+    private final Observer<T> downstream;
+    private final Scheduler scheduler;
+    private final ConcurrentLinkedQueue<Object> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final List<T> batch = new ArrayList<>();
+    private volatile boolean done;
+    // Scheduler отклонил задачу выдачи или downstream упал. downstream уже получил ошибку
+    private volatile boolean rejected;
+    private volatile Disposable upstream;
+    private Throwable error;
+
+    public ObserveOnObserver(Observer<T> downstream, Scheduler scheduler) {
+        this.downstream = downstream;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * @param upstream Подписка на источник. отменяется если Scheduler отклонил задачу выдачи
+     */
+    public void setUpstream(Disposable upstream) {
+        this.upstream = upstream;
+        if (rejected) {
+            upstream.dispose();
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (rejected) {
+            return;
+        }
+        queue.offer(item == null ? NullItem.INSTANCE : item);
+        schedule();
+    }
+
+    @Override
+    public void onNextBatch(List<T> items) {
+        if (items.isEmpty() || rejected) {
+            return;
+        }
+        // Пачку нужно скопировать так как источник может переиспользовать список
+        queue.offer(new Chunk(items.toArray()));
+        schedule();
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        if (rejected) {
+            return;
+        }
+        error = t;
+        done = true;
+        schedule();
+    }
+
+    @Override
+    public void onComplete() {
+        if (rejected) {
+            return;
+        }
+        done = true;
+        schedule();
+    }
+
+    @Override
+    public void dispose() {
+        DisposableHelper.dispose(downstream);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return rejected || DisposableHelper.isDisposed(downstream);
+    }
+
+    private void schedule() {
+        if (wip.getAndIncrement() == 0) {
+            try {
+                scheduler.execute(this);
+            } catch (RejectedExecutionException e) {
+                fail(e);
+            }
+        }
+    }
+
+    private void fail(RuntimeException e) {
+        // Счетчик WIP остается занятым. поэтому задача выдачи больше не планируется
+        rejected = true;
+        Disposable d = upstream;
+        if (d != null) {
+            d.dispose();
+        }
+        queue.clear();
+        batch.clear();
+        downstream.onError(e);
+    }
+
+    @Override
+    public void run() {
+        try {
+            drain();
+        } catch (RuntimeException e) {
+            if (rejected) {
+                // Упал сам терминальный сигнал. второй раз downstream не завершается
+                throw e;
+            }
+            // downstream упал при выдаче элемента. счетчик WIP не освобождается и поток завершается ошибкой
+            fail(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void drain() {
+        int missed = 1;
+        List<T> out = batch;
+        for (;;) {
+            if (DisposableHelper.isDisposed(downstream)) {
+                queue.clear();
+                return;
+            }
+            for (;;) {
+                boolean terminated = done;
+                Object value = queue.poll();
+                if (value == null) {
+                    flush(out);
+                    if (terminated) {
+                        // Дальше ошибки downstream не перехватываются. терминальный сигнал уже отдан
+                        rejected = true;
+                        Throwable t = error;
+                        if (t != null) {
+                            downstream.onError(t);
+                        } else {
+                            downstream.onComplete();
+                        }
+                        return;
+                    }
+                    break;
+                }
+                if (value instanceof Chunk) {
+                    Object[] items = ((Chunk) value).items;
+                    if (out.isEmpty() && items.length >= MAX_BATCH) {
+                        downstream.onNextBatch((List<T>) Arrays.asList(items));
+                        continue;
+                    }
+                    for (Object item : items) {
+                        out.add((T) item);
+                    }
+                } else {
+                    out.add(value == NullItem.INSTANCE ? null : (T) value);
+                }
+                if (out.size() >= MAX_BATCH) {
+                    flush(out);
+                }
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+
+    private void flush(List<T> out) {
+        if (out.isEmpty()) {
+            return;
+        }
+        if (out.size() == 1) {
+            downstream.onNext(out.get(0));
+        } else {
+            downstream.onNextBatch(out);
+        }
+        out.clear();
+    }
+
+    private static final class Chunk {
+        final Object[] items;
+
+        Chunk(Object[] items) {
+            this.items = items;
+        }
+    }
+
+    private enum NullItem {
+        INSTANCE
+    }
+}
@@ -0,0 +1,18 @@
+package com.customrxjava.operators;
+
+import com.customrxjava.Disposable;
+
+/**
+ * Observer который при отмене подписки сам отменяет переданный ресурс.
+ * Отмена в этой библиотеке обычно замечается источником при следующем сигнале. Источник который может долго
+ * молчать (таймер. внешний Publisher. открытый файл) передает сюда свой ресурс и освобождает его сразу.
+ * Промежуточные Observer без своего состояния передают ресурс дальше вниз по цепочке.
+ */
+public interface ResourceHolder {
+
+    /**
+     * Запоминает ресурс. Если подписка уже отменена. ресурс отменяется сразу.
+     * @param resource Ресурс источника
+     */
+    void setResource(Disposable resource);
+}
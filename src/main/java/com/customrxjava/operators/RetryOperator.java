@@ -0,0 +1,134 @@
+package com.customrxjava.operators;
+
+import com.customrxjava.Disposable;
+import com.customrxjava.Observable;
+import com.customrxjava.Observer;
+import com.customrxjava.Scheduler;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Оператор повторной подписки после ошибки.
+ * Повторная подписка идет через цикл со счетчиком WIP. Если источник падает синхронно прямо во время подписки.
+ * новая подписка выполняется следующей итерацией цикла а не рекурсивным вызовом. поэтому стек не растет.
+ * Отложенный повтор планируется через Scheduler.schedule и не занимает поток во время ожидания. Отмена подписки
+ * отменяет ожидающий таймер. а отказ Scheduler принять повтор завершает поток ошибкой.
+ * @param <T> Тип элементов
+ */
+public final class RetryOperator<T> implements Consumer<Observer<T>> {
+
+    /**
+     * Решает нужно ли повторять подписку после ошибки.
+     */
+    public interface Decider {
+        /**
+         * Возвращает задержку перед повтором.
+         * @param attempt Номер повтора начиная с 1
+         * @param error Ошибка
+         * @return Задержка в наносекундах. 0 для немедленного повтора или отрицательное число чтобы отдать ошибку
+         */
+        long delayNanos(int attempt, Throwable error);
+    }
+
+    private final Observable<T> upstream;
+    private final Decider decider;
+    private final Scheduler scheduler;
+
+    /**
+     * @param upstream Источник
+     * @param decider Решение о повторе
+     * @param scheduler Scheduler для отложенных повторов или null если задержек нет
+     */
+    public RetryOperator(Observable<T> upstream, Decider decider, Scheduler scheduler) {
+        this.upstream = upstream;
+        this.decider = decider;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void accept(Observer<T> observer) {
+        RetryObserver parent = new RetryObserver(observer);
+        DisposableHelper.setResource(observer, parent.timer);
+        parent.resubscribe();
+    }
+
+    private final class RetryObserver implements Observer<T>, Disposable, Runnable {
+        private final Observer<T> downstream;
+        private final AtomicInteger wip = new AtomicInteger();
+        // Таймер отложенного повтора
+        final SerialDisposable timer = new SerialDisposable();
+        private int attempt;
+
+        RetryObserver(Observer<T> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onNext(T item) {
+            downstream.onNext(item);
+        }
+
+        @Override
+        public void onNextBatch(List<T> batch) {
+            downstream.onNextBatch(batch);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (isDisposed()) {
+                return;
+            }
+            long delay;
+            try {
+                delay = decider.delayNanos(++attempt, t);
+            } catch (Exception e) {
+                downstream.onError(e);
+                return;
+            }
+            if (delay < 0) {
+                downstream.onError(t);
+            } else if (delay == 0 || scheduler == null) {
+                resubscribe();
+            } else {
+                timer.set(scheduler.schedule(this, delay, TimeUnit.NANOSECONDS, downstream::onError));
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            downstream.onComplete();
+        }
+
+        // Отложенный повтор
+        @Override
+        public void run() {
+            resubscribe();
+        }
+
+        void resubscribe() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                if (isDisposed()) {
+                    return;
+                }
+                upstream.subscribe(this);
+            } while (wip.decrementAndGet() != 0);
+        }
+
+        @Override
+        public void dispose() {
+            timer.dispose();
+            DisposableHelper.dispose(downstream);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return DisposableHelper.isDisposed(downstream);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.customrxjava.operators;
+
+import com.customrxjava.Disposable;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Ячейка для текущего Disposable. например таймера который заводится заново.
+ * После dispose текущий и все следующие Disposable отменяются.
+ */
+public final class SerialDisposable implements Disposable {
+    private static final Disposable DISPOSED = new Disposable() {
+        @Override
+        public void dispose() {
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return true;
+        }
+    };
+
+    private final AtomicReference<Disposable> current = new AtomicReference<>();
+
+    /**
+     * Заменяет текущий Disposable. Предыдущий не отменяется.
+     * @param next Новый Disposable
+     */
+    public void set(Disposable next) {
+        for (;;) {
+            Disposable d = current.get();
+            if (d == DISPOSED) {
+                next.dispose();
+                return;
+            }
+            if (current.compareAndSet(d, next)) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void dispose() {
+        Disposable d = current.getAndSet(DISPOSED);
+        if (d != null && d != DISPOSED) {
+            d.dispose();
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return current.get() == DISPOSED;
+    }
+}
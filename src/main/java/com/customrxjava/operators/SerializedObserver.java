@@ -0,0 +1,151 @@
+package com.customrxjava.operators;
+
+import com.customrxjava.Disposable;
+import com.customrxjava.Observer;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Observer который позволяет вызывать onNext, onError и onComplete из нескольких потоков одновременно.
+ * Downstream всегда получает сигналы последовательно.
+ * Поток который первым захватил счетчик WIP передает элемент сразу без очереди и без блокировок. Остальные потоки
+ * кладут элементы в очередь из связанных массивов и уходят. а захвативший поток выдает их перед тем как отпустить
+ * счетчик. Запись в очередь защищена монитором только на этом медленном пути. потому что очередь рассчитана на
+ * одного производителя.
+ * @param <T> Тип элементов
+ */
+public final class SerializedObserver<T> implements Observer<T>, Disposable {
+    private static final int CHUNK_SIZE = 64;
+
+    private final Observer<T> downstream;
+    private final AtomicInteger wip = new AtomicInteger();
+    private final SpscLinkedArrayQueue<T> queue = new SpscLinkedArrayQueue<>(CHUNK_SIZE);
+    private volatile boolean done;
+    private volatile Throwable error;
+    // Терминальный сигнал уже отдан. меняется только внутри WIP
+    private boolean terminated;
+
+    public SerializedObserver(Observer<T> downstream) {
+        this.downstream = downstream;
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (done || isDisposed()) {
+            return;
+        }
+        if (item == null) {
+            onError(new NullPointerException("onNext called with null"));
+            return;
+        }
+        if (wip.get() == 0 && wip.compareAndSet(0, 1)) {
+            downstream.onNext(item);
+            if (wip.decrementAndGet() == 0) {
+                return;
+            }
+        } else {
+            synchronized (queue) {
+                queue.offer(item);
+            }
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+        }
+        drainLoop();
+    }
+
+    @Override
+    public void onNextBatch(List<T> batch) {
+        if (done || isDisposed()) {
+            return;
+        }
+        if (wip.get() == 0 && wip.compareAndSet(0, 1)) {
+            downstream.onNextBatch(batch);
+            if (wip.decrementAndGet() == 0) {
+                return;
+            }
+        } else {
+            // Пачку нельзя сохранять после возврата. поэтому в очередь кладутся ее элементы
+            synchronized (queue) {
+                for (int i = 0, n = batch.size(); i < n; i++) {
+                    queue.offer(batch.get(i));
+                }
+            }
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+        }
+        drainLoop();
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        if (done || isDisposed()) {
+            return;
+        }
+        error = t;
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        if (done || isDisposed()) {
+            return;
+        }
+        done = true;
+        drain();
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() == 0) {
+            drainLoop();
+        }
+    }
+
+    private void drainLoop() {
+        int missed = 1;
+        for (;;) {
+            for (;;) {
+                if (terminated) {
+                    queue.clear();
+                    break;
+                }
+                if (isDisposed()) {
+                    queue.clear();
+                    break;
+                }
+                boolean d = done;
+                T item = queue.poll();
+                if (item == null) {
+                    if (d) {
+                        terminated = true;
+                        Throwable e = error;
+                        if (e != null) {
+                            downstream.onError(e);
+                        } else {
+                            downstream.onComplete();
+                        }
+                    }
+                    break;
+                }
+                downstream.onNext(item);
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void dispose() {
+        DisposableHelper.dispose(downstream);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return DisposableHelper.isDisposed(downstream);
+    }
+}
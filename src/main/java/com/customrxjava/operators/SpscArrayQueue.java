@@ -0,0 +1,87 @@
+package com.customrxjava.operators;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Ограниченная очередь для одного производителя и одного потребителя без блокировок.
+ * Кольцевой массив размером в степень двойки. свободна ли ячейка видно по null. поэтому производитель и потребитель
+ * не читают индексы друг друга. null элементы не допускаются.
+ * @param <T> Тип элементов
+ */
+public final class SpscArrayQueue<T> {
+    private final AtomicReferenceArray<T> buffer;
+    private final int mask;
+    // Поле производителя
+    private long producerIndex;
+    // Поле потребителя
+    private long consumerIndex;
+
+    /**
+     * @param capacity Размер очереди. округляется вверх до степени двойки
+     */
+    public SpscArrayQueue(int capacity) {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("capacity must be in [1, 2^30]: " + capacity);
+        }
+        int size = 1 << (32 - Integer.numberOfLeadingZeros(capacity - 1));
+        this.buffer = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Добавляет элемент. Вызывается только из потока производителя.
+     * @param item Элемент
+     * @return false если очередь заполнена
+     */
+    public boolean offer(T item) {
+        if (item == null) {
+            throw new NullPointerException("SpscArrayQueue does not accept null");
+        }
+        int index = (int) producerIndex & mask;
+        if (buffer.get(index) != null) {
+            return false;
+        }
+        buffer.lazySet(index, item);
+        producerIndex++;
+        return true;
+    }
+
+    /**
+     * Извлекает элемент. Вызывается только из потока потребителя.
+     * @return Элемент или null если очередь пуста
+     */
+    public T poll() {
+        int index = (int) consumerIndex & mask;
+        T item = buffer.get(index);
+        if (item == null) {
+            return null;
+        }
+        buffer.lazySet(index, null);
+        consumerIndex++;
+        return item;
+    }
+
+    /**
+     * Возвращает первый элемент не извлекая его. Вызывается только из потока потребителя.
+     * @return Элемент или null если очередь пуста
+     */
+    public T peek() {
+        return buffer.get((int) consumerIndex & mask);
+    }
+
+    /**
+     * @return Сколько элементов помещается в очередь
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Удаляет все элементы. Вызывается только из потока потребителя.
+     */
+    public void clear() {
+        while (poll() != null) {
+            // Просто выбрасываем элементы
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.customrxjava.operators;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Очередь для одного производителя и одного потребителя без блокировок.
+ * Элементы лежат в связанных массивах фиксированного размера. новый массив добавляется когда текущий заполнен.
+ * Производитель и потребитель работают с разными полями и синхронизируются только через ячейки массива.
+ * null элементы не допускаются.
+ * @param <T> Тип элементов
+ */
+public final class SpscLinkedArrayQueue<T> {
+    private final int chunkSize;
+    // Поля производителя
+    private Chunk producerChunk;
+    private int producerOffset;
+    // Поля потребителя
+    private Chunk consumerChunk;
+    private int consumerOffset;
+
+    public SpscLinkedArrayQueue(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+        Chunk first = new Chunk(chunkSize);
+        this.producerChunk = first;
+        this.consumerChunk = first;
+    }
+
+    /**
+     * Добавляет элемент. Вызывается только из потока производителя.
+     * @param item Элемент
+     */
+    public void offer(T item) {
+        if (item == null) {
+            throw new NullPointerException("SpscLinkedArrayQueue does not accept null");
+        }
+        if (producerOffset == chunkSize) {
+            Chunk next = new Chunk(chunkSize);
+            producerChunk.next = next;
+            producerChunk = next;
+            producerOffset = 0;
+        }
+        producerChunk.slots.lazySet(producerOffset++, item);
+    }
+
+    /**
+     * Извлекает элемент. Вызывается только из потока потребителя.
+     * @return Элемент или null если очередь пуста
+     */
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        if (!advance()) {
+            return null;
+        }
+        AtomicReferenceArray<Object> slots = consumerChunk.slots;
+        Object item = slots.get(consumerOffset);
+        if (item == null) {
+            return null;
+        }
+        slots.lazySet(consumerOffset++, null);
+        return (T) item;
+    }
+
+    /**
+     * Возвращает первый элемент не извлекая его. Вызывается только из потока потребителя.
+     * @return Элемент или null если очередь пуста
+     */
+    @SuppressWarnings("unchecked")
+    public T peek() {
+        if (!advance()) {
+            return null;
+        }
+        return (T) consumerChunk.slots.get(consumerOffset);
+    }
+
+    /**
+     * Возвращает true если очередь пуста. Вызывается только из потока потребителя.
+     * @return true если элементов нет
+     */
+    public boolean isEmpty() {
+        return peek() == null;
+    }
+
+    /**
+     * Удаляет все элементы. Вызывается только из потока потребителя.
+     */
+    public void clear() {
+        while (poll() != null) {
+            // Освобождаем ссылки на элементы
+        }
+    }
+
+    // Переходит на следующий массив когда текущий прочитан до конца
+    private boolean advance() {
+        if (consumerOffset == chunkSize) {
+            Chunk next = consumerChunk.next;
+            if (next == null) {
+                return false;
+            }
+            consumerChunk = next;
+            consumerOffset = 0;
+        }
+        return true;
+    }
+
+    private static final class Chunk {
+        final AtomicReferenceArray<Object> slots;
+        volatile Chunk next;
+
+        Chunk(int size) {
+            this.slots = new AtomicReferenceArray<>(size);
+        }
+    }
+}
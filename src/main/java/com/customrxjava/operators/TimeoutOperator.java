@@ -0,0 +1,280 @@
+package com.customrxjava.operators;
+
+import com.customrxjava.Disposable;
+import com.customrxjava.Observable;
+import com.customrxjava.Observer;
+import com.customrxjava.schedulers.SchedulerTimer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Оператор timeout. Если следующий элемент не пришел до срока. отменяет подписку на источник и выдает
+ * TimeoutException или переключается на запасной Observable.
+ * Элемент только сдвигает срок и увеличивает номер. а задача на общем таймере обычно одна на подписку: когда она
+ * срабатывает раньше нового срока. она перепланирует себя на оставшееся время. Новая задача ставится только
+ * если срок элемента раньше уже взведенного таймера.
+ * Номер элемента защищает от гонки между таймером и новым элементом: таймер завершает поток только
+ * если номер не изменился с момента проверки срока. Срок следующего элемента взводится только после возврата
+ * из onNext. поэтому медленный Observer не получает onError параллельно с обработкой элемента.
+ * @param <T> Тип элементов
+ */
+public final class TimeoutOperator<T> implements Consumer<Observer<T>> {
+    // Номер после завершения потока
+    private static final long TERMINATED = Long.MAX_VALUE;
+    // Срок когда ждать не нужно
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    private final Observable<T> upstream;
+    private final Duration firstTimeout;
+    private final Function<T, Duration> itemTimeout;
+    private final Observable<T> fallback;
+
+    /**
+     * @param upstream Источник
+     * @param firstTimeout Срок для первого элемента или null если он не ограничен
+     * @param itemTimeout Срок для следующего элемента после данного
+     * @param fallback Запасной Observable или null чтобы выдать TimeoutException
+     */
+    public TimeoutOperator(Observable<T> upstream, Duration firstTimeout, Function<T, Duration> itemTimeout,
+                           Observable<T> fallback) {
+        this.upstream = upstream;
+        this.firstTimeout = firstTimeout;
+        this.itemTimeout = itemTimeout;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public void accept(Observer<T> observer) {
+        TimeoutObserver parent = new TimeoutObserver(observer);
+        if (firstTimeout != null) {
+            parent.deadline = System.nanoTime() + firstTimeout.toNanos();
+            parent.ensureArmed();
+        }
+        parent.setUpstream(upstream.subscribe(parent));
+    }
+
+    private final class TimeoutObserver implements Observer<T>, Disposable, Runnable {
+        private final Observer<T> downstream;
+        private final AtomicLong index = new AtomicLong();
+        // Срок на который взведен ближайший таймер
+        private final AtomicLong armedDeadline = new AtomicLong(NO_DEADLINE);
+        private volatile long deadline = NO_DEADLINE;
+        private volatile Disposable upstreamDisposable;
+        private volatile Disposable timer;
+
+        TimeoutObserver(Observer<T> downstream) {
+            this.downstream = downstream;
+        }
+
+        void setUpstream(Disposable d) {
+            upstreamDisposable = d;
+            if (index.get() == TERMINATED) {
+                d.dispose();
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            long idx = index.get();
+            if (idx == TERMINATED) {
+                return;
+            }
+            Duration timeout;
+            try {
+                timeout = itemTimeout.apply(item);
+            } catch (Exception e) {
+                onError(e);
+                return;
+            }
+            // Пока элемент обрабатывается срока нет. поэтому таймер не выдаст сигнал параллельно с onNext
+            deadline = NO_DEADLINE;
+            if (!index.compareAndSet(idx, idx + 1)) {
+                return;
+            }
+            downstream.onNext(item);
+            startTimeout(idx + 1, timeout);
+        }
+
+        @Override
+        public void onNextBatch(List<T> batch) {
+            int n = batch.size();
+            if (n == 0) {
+                return;
+            }
+            long idx = index.get();
+            if (idx == TERMINATED) {
+                return;
+            }
+            Duration timeout;
+            try {
+                timeout = itemTimeout.apply(batch.get(n - 1));
+            } catch (Exception e) {
+                onError(e);
+                return;
+            }
+            deadline = NO_DEADLINE;
+            if (!index.compareAndSet(idx, idx + 1)) {
+                return;
+            }
+            downstream.onNextBatch(batch);
+            startTimeout(idx + 1, timeout);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (index.getAndSet(TERMINATED) != TERMINATED) {
+                cancelTimer();
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (index.getAndSet(TERMINATED) != TERMINATED) {
+                cancelTimer();
+                downstream.onComplete();
+            }
+        }
+
+        // Срок следующего элемента отсчитывается после того как downstream обработал текущий
+        private void startTimeout(long idx, Duration timeout) {
+            if (timeout == null || index.get() != idx) {
+                return;
+            }
+            deadline = System.nanoTime() + timeout.toNanos();
+            ensureArmed();
+        }
+
+        // Новый таймер нужен только если срок раньше уже взведенного. иначе его перепланирует сработавший таймер
+        void ensureArmed() {
+            long d = deadline;
+            if (d == NO_DEADLINE) {
+                return;
+            }
+            for (;;) {
+                long armed = armedDeadline.get();
+                if (armed - d <= 0 && armed != NO_DEADLINE) {
+                    return;
+                }
+                if (armedDeadline.compareAndSet(armed, d)) {
+                    timer = SchedulerTimer.schedule(this, d - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    return;
+                }
+            }
+        }
+
+        // Срабатывание таймера
+        @Override
+        public void run() {
+            for (;;) {
+                long idx = index.get();
+                if (idx == TERMINATED || isDisposed()) {
+                    return;
+                }
+                long d = deadline;
+                long now = System.nanoTime();
+                long armed = armedDeadline.get();
+                if (armed != NO_DEADLINE && armed - now > 0 && (d == NO_DEADLINE || armed - d <= 0)) {
+                    // Устаревший таймер. раньше сработает другой
+                    return;
+                }
+                if (d == NO_DEADLINE) {
+                    armedDeadline.compareAndSet(armed, NO_DEADLINE);
+                    // Новый срок мог появиться пока таймер был взведен
+                    ensureArmed();
+                    return;
+                }
+                if (d - now > 0) {
+                    if (armedDeadline.compareAndSet(armed, d)) {
+                        timer = SchedulerTimer.schedule(this, d - now, TimeUnit.NANOSECONDS);
+                        if (deadline - d < 0) {
+                            ensureArmed();
+                        }
+                        return;
+                    }
+                    continue;
+                }
+                if (index.compareAndSet(idx, TERMINATED)) {
+                    expire();
+                    return;
+                }
+            }
+        }
+
+        private void expire() {
+            Disposable d = upstreamDisposable;
+            if (d != null) {
+                d.dispose();
+            }
+            if (fallback == null) {
+                downstream.onError(new TimeoutException("No item received within the timeout"));
+            } else {
+                fallback.subscribe(new FallbackObserver<>(downstream));
+            }
+        }
+
+        private void cancelTimer() {
+            Disposable t = timer;
+            if (t != null) {
+                t.dispose();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            DisposableHelper.dispose(downstream);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return index.get() == TERMINATED || DisposableHelper.isDisposed(downstream);
+        }
+    }
+
+    /**
+     * Передает сигналы запасного Observable в downstream.
+     */
+    private static final class FallbackObserver<T> implements Observer<T>, Disposable {
+        private final Observer<T> downstream;
+
+        FallbackObserver(Observer<T> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onNext(T item) {
+            downstream.onNext(item);
+        }
+
+        @Override
+        public void onNextBatch(List<T> batch) {
+            downstream.onNextBatch(batch);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            downstream.onComplete();
+        }
+
+        @Override
+        public void dispose() {
+            DisposableHelper.dispose(downstream);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return DisposableHelper.isDisposed(downstream);
+        }
+    }
+}
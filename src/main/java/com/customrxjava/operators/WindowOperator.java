@@ -0,0 +1,235 @@
+package com.customrxjava.operators;
+
+import com.customrxjava.Disposable;
+import com.customrxjava.Observable;
+import com.customrxjava.Observer;
+import com.customrxjava.windows.Aggregator;
+import com.customrxjava.windows.MergeableAggregator;
+import com.customrxjava.windows.Window;
+import com.customrxjava.windows.WindowAssigner;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Оператор окон по времени события.
+ * Хранит только открытые окна и их аккумуляторы. поэтому память пропорциональна числу окон а не элементов.
+ * Водяной знак равен максимальной увиденной метке времени минус maxOutOfOrderness.
+ * Окно выдается когда водяной знак достигает его конца и удаляется после allowedLateness.
+ * Подписчик получает Aggregator.snapshot аккумулятора. поэтому изменяемый аккумулятор стоит копировать там.
+ * @param <T> Тип элементов
+ * @param <A> Тип аккумулятора
+ */
+public final class WindowOperator<T, A> implements Consumer<Observer<Window<A>>> {
+    private final Observable<T> upstream;
+    private final WindowAssigner assigner;
+    private final ToLongFunction<T> timestampExtractor;
+    private final Aggregator<T, A> aggregator;
+    // Тот же aggregator для сессионных окон. null для остальных
+    private final MergeableAggregator<T, A> merger;
+    private final long maxOutOfOrderness;
+    private final long allowedLateness;
+
+    public WindowOperator(Observable<T> upstream, WindowAssigner assigner, ToLongFunction<T> timestampExtractor,
+                          Aggregator<T, A> aggregator, long maxOutOfOrderness, long allowedLateness) {
+        if (maxOutOfOrderness < 0 || allowedLateness < 0) {
+            throw new IllegalArgumentException("maxOutOfOrderness and allowedLateness must not be negative");
+        }
+        if (assigner.getKind() == WindowAssigner.Kind.SESSION) {
+            if (!(aggregator instanceof MergeableAggregator)) {
+                throw new IllegalArgumentException("session windows require a MergeableAggregator");
+            }
+            this.merger = (MergeableAggregator<T, A>) aggregator;
+        } else {
+            this.merger = null;
+        }
+        this.upstream = upstream;
+        this.assigner = assigner;
+        this.timestampExtractor = timestampExtractor;
+        this.aggregator = aggregator;
+        this.maxOutOfOrderness = maxOutOfOrderness;
+        this.allowedLateness = allowedLateness;
+    }
+
+    @Override
+    public void accept(Observer<Window<A>> observer) {
+        WindowObserver parent = new WindowObserver(observer);
+        parent.setUpstream(upstream.subscribe(parent));
+    }
+
+    private static final class WindowState<A> {
+        long end;
+        A accumulator;
+        boolean fired;
+
+        WindowState(long end, A accumulator) {
+            this.end = end;
+            this.accumulator = accumulator;
+        }
+    }
+
+    private final class WindowObserver implements Observer<T>, Disposable {
+        private final Observer<Window<A>> downstream;
+        // Окна по времени начала. для tumbling и sliding порядок начала совпадает с порядком конца
+        private final TreeMap<Long, WindowState<A>> windows = new TreeMap<>();
+        private long watermark = Long.MIN_VALUE;
+        private volatile boolean done;
+        private volatile Disposable upstreamDisposable;
+
+        WindowObserver(Observer<Window<A>> downstream) {
+            this.downstream = downstream;
+        }
+
+        void setUpstream(Disposable d) {
+            upstreamDisposable = d;
+            if (done) {
+                d.dispose();
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            try {
+                long timestamp = timestampExtractor.applyAsLong(item);
+                if (assigner.getKind() == WindowAssigner.Kind.SESSION) {
+                    addToSession(item, timestamp);
+                } else {
+                    addToFixedWindows(item, timestamp);
+                }
+                long candidate = timestamp - maxOutOfOrderness;
+                if (candidate > watermark) {
+                    watermark = candidate;
+                    advanceWatermark();
+                }
+            } catch (Exception e) {
+                fail(e);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            fail(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            for (Map.Entry<Long, WindowState<A>> entry : windows.entrySet()) {
+                WindowState<A> state = entry.getValue();
+                if (!state.fired) {
+                    downstream.onNext(new Window<>(entry.getKey(), state.end, aggregator.snapshot(state.accumulator),
+                        false));
+                }
+            }
+            windows.clear();
+            downstream.onComplete();
+        }
+
+        @Override
+        public void dispose() {
+            DisposableHelper.dispose(downstream);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return done || DisposableHelper.isDisposed(downstream);
+        }
+
+        private void fail(Throwable t) {
+            // Открытые окна и водяной знак сбрасываются. источник отменяется если он еще выдает
+            done = true;
+            windows.clear();
+            watermark = Long.MIN_VALUE;
+            Disposable d = upstreamDisposable;
+            if (d != null) {
+                d.dispose();
+            }
+            downstream.onError(t);
+        }
+
+        private void addToFixedWindows(T item, long timestamp) {
+            long size = assigner.getSize();
+            long slide = assigner.getSlide();
+            long lastStart = timestamp - Math.floorMod(timestamp, slide);
+            for (long start = lastStart; start > timestamp - size; start -= slide) {
+                long end = start + size;
+                if (isExpired(end)) {
+                    // Окна начинаются все раньше поэтому остальные тоже просрочены
+                    break;
+                }
+                WindowState<A> state = windows.get(start);
+                if (state == null) {
+                    state = new WindowState<>(end, aggregator.createAccumulator());
+                    windows.put(start, state);
+                }
+                state.accumulator = aggregator.add(state.accumulator, item);
+                if (end <= watermark) {
+                    // Водяной знак уже прошел конец окна. выдаем обновление сразу
+                    state.fired = true;
+                    downstream.onNext(new Window<>(start, end, aggregator.snapshot(state.accumulator), true));
+                }
+            }
+        }
+
+        private void addToSession(T item, long timestamp) {
+            long start = timestamp;
+            long end = timestamp + assigner.getSize();
+            if (isExpired(end)) {
+                return;
+            }
+            A accumulator = aggregator.add(aggregator.createAccumulator(), item);
+            // Сессии не пересекаются. поэтому идем назад от последней сессии начавшейся до end
+            Map.Entry<Long, WindowState<A>> entry = windows.lowerEntry(end);
+            while (entry != null && entry.getValue().end > timestamp) {
+                WindowState<A> other = entry.getValue();
+                start = Math.min(start, entry.getKey());
+                end = Math.max(end, other.end);
+                accumulator = merger.merge(other.accumulator, accumulator);
+                windows.remove(entry.getKey());
+                entry = windows.lowerEntry(entry.getKey());
+            }
+            WindowState<A> merged = new WindowState<>(end, accumulator);
+            merged.fired = end <= watermark;
+            windows.put(start, merged);
+            if (merged.fired) {
+                downstream.onNext(new Window<>(start, end, aggregator.snapshot(accumulator), true));
+            }
+        }
+
+        private void advanceWatermark() {
+            Iterator<Map.Entry<Long, WindowState<A>>> iterator = windows.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Long, WindowState<A>> entry = iterator.next();
+                WindowState<A> state = entry.getValue();
+                if (state.end > watermark) {
+                    // Окна упорядочены по началу. а значит и по концу. дальше только открытые
+                    break;
+                }
+                if (!state.fired) {
+                    state.fired = true;
+                    downstream.onNext(new Window<>(entry.getKey(), state.end, aggregator.snapshot(state.accumulator),
+                        false));
+                }
+                if (isExpired(state.end)) {
+                    iterator.remove();
+                }
+            }
+        }
+
+        private boolean isExpired(long end) {
+            return watermark != Long.MIN_VALUE && end + allowedLateness <= watermark;
+        }
+    }
+}
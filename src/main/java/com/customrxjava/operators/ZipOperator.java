@@ -0,0 +1,86 @@
+package com.customrxjava.operators;
+
+import com.customrxjava.Observable;
+import com.customrxjava.Observer;
+import com.customrxjava.sources.FuseableSource;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Оператор zip. Выдает результат когда у каждого источника есть очередной элемент.
+ * Завершается когда любой завершившийся источник исчерпал свою очередь. Источник обогнавший остальных
+ * на bufferSize элементов завершает поток ошибкой.
+ * @param <R> Тип результата
+ */
+public final class ZipOperator<R> implements Consumer<Observer<R>> {
+    private final List<? extends Observable<?>> sources;
+    private final List<? extends FuseableSource<?>> fuseables;
+    private final Function<Object[], R> zipper;
+    private final int bufferSize;
+
+    /**
+     * @param sources Источники
+     * @param fuseables Для каждого источника его FuseableSource или null
+     * @param zipper Функция объединения
+     * @param bufferSize Сколько элементов источник может выдать вперед остальных
+     */
+    public ZipOperator(List<? extends Observable<?>> sources, List<? extends FuseableSource<?>> fuseables,
+                       Function<Object[], R> zipper, int bufferSize) {
+        if (sources.isEmpty()) {
+            throw new IllegalArgumentException("zip requires at least one source");
+        }
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be positive: " + bufferSize);
+        }
+        this.sources = sources;
+        this.fuseables = fuseables;
+        this.zipper = zipper;
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public void accept(Observer<R> observer) {
+        new ZipCoordinator<>(observer, zipper, sources.size(), bufferSize).subscribe(sources, fuseables);
+    }
+
+    private static final class ZipCoordinator<R> extends CombineCoordinator<R> {
+
+        ZipCoordinator(Observer<R> downstream, Function<Object[], R> zipper, int count, int bufferSize) {
+            super(downstream, zipper, count, bufferSize);
+        }
+
+        @Override
+        boolean drainLoop() {
+            Inner[] inners = this.inners;
+            for (;;) {
+                if (checkTerminated()) {
+                    return true;
+                }
+                boolean ready = true;
+                for (Inner inner : inners) {
+                    // done нужно прочитать до проверки очереди. иначе можно потерять последний элемент
+                    boolean done = inner.isDone();
+                    if (inner.peek() == null) {
+                        if (done) {
+                            complete();
+                            return true;
+                        }
+                        ready = false;
+                    }
+                }
+                if (!ready) {
+                    flush();
+                    // Курсор мог завершиться ошибкой при чтении
+                    return checkTerminated();
+                }
+                Object[] values = new Object[inners.length];
+                for (int i = 0; i < inners.length; i++) {
+                    values[i] = unbox(inners[i].poll());
+                }
+                emit(values);
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.customrxjava.retry;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+/**
+ * Политика повторной подписки с экспоненциальной задержкой.
+ * Задержка перед попыткой n равна initialDelay * multiplier^(n-1) но не больше maxDelay.
+ * Случайный разброс jitter уменьшает задержку на случайную долю до jitter. чтобы клиенты
+ * упавшие одновременно не повторяли запросы тоже одновременно.
+ */
+public final class RetryPolicy {
+    private final int maxRetries;
+    private final long initialDelayNanos;
+    private final long maxDelayNanos;
+    private final double multiplier;
+    private final double jitter;
+    private final Predicate<Throwable> retryOn;
+
+    private RetryPolicy(int maxRetries, long initialDelayNanos, long maxDelayNanos, double multiplier,
+                        double jitter, Predicate<Throwable> retryOn) {
+        this.maxRetries = maxRetries;
+        this.initialDelayNanos = initialDelayNanos;
+        this.maxDelayNanos = maxDelayNanos;
+        this.multiplier = multiplier;
+        this.jitter = jitter;
+        this.retryOn = retryOn;
+    }
+
+    /**
+     * Экспоненциальная задержка с множителем 2 без разброса. повторяются любые ошибки.
+     * @param maxRetries Максимальное число повторов
+     * @param initialDelay Задержка перед первым повтором
+     * @param maxDelay Максимальная задержка
+     * @return Новый RetryPolicy
+     */
+    public static RetryPolicy exponential(int maxRetries, Duration initialDelay, Duration maxDelay) {
+        if (maxRetries < 0) {
+            throw new IllegalArgumentException("maxRetries must not be negative: " + maxRetries);
+        }
+        if (initialDelay.isNegative() || maxDelay.compareTo(initialDelay) < 0) {
+            throw new IllegalArgumentException("delays must satisfy 0 <= initialDelay <= maxDelay");
+        }
+        return new RetryPolicy(maxRetries, initialDelay.toNanos(), maxDelay.toNanos(), 2.0, 0.0, error -> true);
+    }
+
+    /**
+     * Возвращает копию политики с другим множителем задержки.
+     * @param multiplier Множитель. не меньше 1
+     * @return Новый RetryPolicy
+     */
+    public RetryPolicy withMultiplier(double multiplier) {
+        if (!(multiplier >= 1.0)) {
+            throw new IllegalArgumentException("multiplier must be >= 1: " + multiplier);
+        }
+        return new RetryPolicy(maxRetries, initialDelayNanos, maxDelayNanos, multiplier, jitter, retryOn);
+    }
+
+    /**
+     * Возвращает копию политики со случайным разбросом задержки.
+     * @param jitter Доля от 0 до 1 на которую задержка может быть случайно уменьшена
+     * @return Новый RetryPolicy
+     */
+    public RetryPolicy withJitter(double jitter) {
+        if (!(jitter >= 0.0 && jitter <= 1.0)) {
+            throw new IllegalArgumentException("jitter must be in [0, 1]: " + jitter);
+        }
+        return new RetryPolicy(maxRetries, initialDelayNanos, maxDelayNanos, multiplier, jitter, retryOn);
+    }
+
+    /**
+     * Возвращает копию политики которая повторяет только ошибки подходящие под предикат.
+     * @param retryOn Предикат для ошибок
+     * @return Новый RetryPolicy
+     */
+    public RetryPolicy retryOn(Predicate<Throwable> retryOn) {
+        return new RetryPolicy(maxRetries, initialDelayNanos, maxDelayNanos, multiplier, jitter, retryOn);
+    }
+
+    /**
+     * Проверяет нужно ли повторять после ошибки.
+     * @param attempt Номер повтора начиная с 1
+     * @param error Ошибка
+     * @return true если нужно повторить
+     */
+    public boolean shouldRetry(int attempt, Throwable error) {
+        return attempt <= maxRetries && retryOn.test(error);
+    }
+
+    /**
+     * Вычисляет задержку перед повтором.
+     * @param attempt Номер повтора начиная с 1
+     * @return Задержка в наносекундах
+     */
+    public long delayNanos(int attempt) {
+        double delay = initialDelayNanos * Math.pow(multiplier, Math.max(0, attempt - 1));
+        long capped = delay >= maxDelayNanos ? maxDelayNanos : (long) delay;
+        if (jitter == 0.0 || capped == 0) {
+            return capped;
+        }
+        return capped - (long) (capped * jitter * ThreadLocalRandom.current().nextDouble());
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public Duration getInitialDelay() {
+        return Duration.ofNanos(initialDelayNanos);
+    }
+
+    public Duration getMaxDelay() {
+        return Duration.ofNanos(maxDelayNanos);
+    }
+
+    public double getMultiplier() {
+        return multiplier;
+    }
+
+    public double getJitter() {
+        return jitter;
+    }
+}
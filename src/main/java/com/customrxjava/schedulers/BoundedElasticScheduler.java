@@ -0,0 +1,146 @@
+package com.customrxjava.schedulers;
+
+import com.customrxjava.Plugins;
+import com.customrxjava.Scheduler;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Планировщик для IO операций с ограниченным числом потоков.
+ * Аналог Schedulers.boundedElastic() из RxJava.
+ * Потоки создаются по мере нужды до maxThreads и завершаются после простоя idleTtl. Когда все потоки заняты
+ * задачи ждут в очереди ограниченного размера. а при переполнении очереди срабатывает OverflowPolicy.
+ */
+public class BoundedElasticScheduler implements Scheduler {
+    private static final AtomicInteger POOL_NUMBER = new AtomicInteger();
+    // Как часто ждущий места поток BLOCK проверяет shutdown
+    private static final long BLOCK_CHECK_MILLIS = 10;
+
+    /**
+     * Что делать с задачей когда все потоки заняты и очередь заполнена.
+     */
+    public enum OverflowPolicy {
+        /** Бросить RejectedExecutionException */
+        REJECT,
+        /** Выполнить задачу в вызывающем потоке */
+        CALLER_RUNS,
+        /** Заблокировать вызывающий поток пока в очереди не освободится место */
+        BLOCK
+    }
+
+    private final ThreadPoolExecutor executor;
+    private final BlockingQueue<Runnable> queue;
+    private final OverflowPolicy policy;
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Планировщик на 10 потоков на каждый процессор с очередью на 100000 задач и простоем потока 60 секунд.
+     */
+    public BoundedElasticScheduler() {
+        this(10 * Runtime.getRuntime().availableProcessors(), 100_000, Duration.ofSeconds(60), OverflowPolicy.REJECT);
+    }
+
+    /**
+     * @param maxThreads Максимальное число потоков
+     * @param queueCapacity Размер очереди задач
+     * @param idleTtl Время простоя после которого поток завершается
+     * @param policy Поведение при переполнении очереди
+     */
+    public BoundedElasticScheduler(int maxThreads, int queueCapacity, Duration idleTtl, OverflowPolicy policy) {
+        if (maxThreads <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("maxThreads and queueCapacity must be positive");
+        }
+        if (idleTtl.isNegative() || idleTtl.isZero()) {
+            throw new IllegalArgumentException("idleTtl must be positive");
+        }
+        this.policy = policy;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        String prefix = "CustomRxJava-BoundedElastic-" + POOL_NUMBER.incrementAndGet() + "-";
+        AtomicInteger threadNumber = new AtomicInteger();
+        // core = max. поэтому новые потоки создаются раньше чем задачи попадают в очередь
+        this.executor = new ThreadPoolExecutor(maxThreads, maxThreads, idleTtl.toNanos(), TimeUnit.NANOSECONDS,
+            queue, task -> {
+                Thread thread = new Thread(task, prefix + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, new OverflowHandler());
+        // Простаивающие потоки завершаются даже если их меньше core
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        executor.execute(Plugins.onSchedule(task));
+    }
+
+    /**
+     * @return Сколько раз задача не поместилась в пул и очередь. включая выполненные в вызывающем потоке
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * @return Сколько задач сейчас ждет в очереди
+     */
+    public int getQueuedCount() {
+        return queue.size();
+    }
+
+    /**
+     * @return Сколько потоков сейчас в пуле
+     */
+    public int getPoolSize() {
+        return executor.getPoolSize();
+    }
+
+    /**
+     * Завершает пул. уже поставленные задачи выполняются. а новые отклоняются.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private final class OverflowHandler implements RejectedExecutionHandler {
+        @Override
+        public void rejectedExecution(Runnable task, ThreadPoolExecutor pool) {
+            if (pool.isShutdown()) {
+                throw new RejectedExecutionException("Scheduler is shut down");
+            }
+            rejected.increment();
+            switch (policy) {
+                case CALLER_RUNS:
+                    task.run();
+                    break;
+                case BLOCK:
+                    try {
+                        while (!queue.offer(task, BLOCK_CHECK_MILLIS, TimeUnit.MILLISECONDS)) {
+                            if (pool.isShutdown()) {
+                                throw new RejectedExecutionException("Scheduler is shut down");
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new RejectedExecutionException("Interrupted while waiting for queue space", e);
+                    }
+                    // Пул мог завершиться пока поток ждал. тогда задачу уже некому выполнить
+                    if (pool.isShutdown() && queue.remove(task)) {
+                        throw new RejectedExecutionException("Scheduler is shut down");
+                    }
+                    // Пока поток ждал места все рабочие потоки могли завершиться по простою
+                    pool.prestartCoreThread();
+                    break;
+                default:
+                    throw new RejectedExecutionException("Task queue is full (" + queue.size() + " tasks)");
+            }
+        }
+    }
+}
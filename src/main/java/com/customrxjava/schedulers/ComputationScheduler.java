@@ -1,5 +1,6 @@
 package com.customrxjava.schedulers;
 
+import com.customrxjava.Plugins;
 import com.customrxjava.Scheduler;
 
 import java.util.concurrent.ExecutorService;
@@ -20,6 +21,6 @@ public class ComputationScheduler implements Scheduler {
 
     @Override
     public void execute(Runnable task) {
-        executor.execute(task);
+        executor.execute(Plugins.onSchedule(task));
     }
 }
@@ -1,5 +1,6 @@
 package com.customrxjava.schedulers;
 
+import com.customrxjava.Plugins;
 import com.customrxjava.Scheduler;
 
 import java.util.concurrent.ExecutorService;
@@ -18,6 +19,6 @@ public class IOThreadScheduler implements Scheduler {
 
     @Override
     public void execute(Runnable task) {
-        executor.execute(task);
+        executor.execute(Plugins.onSchedule(task));
     }
 }
@@ -0,0 +1,17 @@
+package com.customrxjava.schedulers;
+
+import com.customrxjava.Plugins;
+import com.customrxjava.Scheduler;
+
+/**
+ * Планировщик который выполняет задачу сразу в вызывающем потоке.
+ * Не переключает потоки. поэтому удобен в тестах. но вложенные задачи растят стек вызывающего потока.
+ * Отложенные задачи выполняются в потоке общего таймера.
+ */
+public class ImmediateScheduler implements Scheduler {
+
+    @Override
+    public void execute(Runnable task) {
+        Plugins.onSchedule(task).run();
+    }
+}
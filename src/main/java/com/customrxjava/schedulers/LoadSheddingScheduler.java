@@ -0,0 +1,121 @@
+package com.customrxjava.schedulers;
+
+import com.customrxjava.Scheduler;
+
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Обертка над Scheduler которая не принимает новые подписки когда задачи слишком долго ждут в очереди.
+ * Как в алгоритме CoDel измеряется время от постановки задачи до начала ее выполнения. Если это время
+ * непрерывно держится выше target дольше interval. обертка переходит в режим сброса нагрузки: admit бросает
+ * RejectedExecutionException. а subscribeOn и observeOn превращают его в onError новой подписки.
+ * Задачи уже принятых подписок через execute не отклоняются. поэтому такие подписки доходят до конца.
+ * Как только задача дождалась меньше target или очередь опустела. новые подписки снова принимаются.
+ * Так задержка принятой работы остается ограниченной. а лишние запросы быстро получают ошибку.
+ */
+public class LoadSheddingScheduler implements Scheduler {
+    private static final long BELOW_TARGET = 0;
+
+    private final Scheduler delegate;
+    private final long targetNanos;
+    private final long intervalNanos;
+    // Момент когда задержка выше target держится уже interval. 0 если последняя задача ждала меньше target
+    private final AtomicLong firstAboveTime = new AtomicLong(BELOW_TARGET);
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder shed = new LongAdder();
+    private volatile boolean shedding;
+
+    /**
+     * Обертка с целевой задержкой 5 мс и интервалом 100 мс.
+     * @param delegate Scheduler который выполняет задачи
+     */
+    public LoadSheddingScheduler(Scheduler delegate) {
+        this(delegate, Duration.ofMillis(5), Duration.ofMillis(100));
+    }
+
+    /**
+     * @param delegate Scheduler который выполняет задачи
+     * @param target Допустимое время ожидания задачи в очереди
+     * @param interval Сколько задержка должна держаться выше target до начала сброса нагрузки
+     */
+    public LoadSheddingScheduler(Scheduler delegate, Duration target, Duration interval) {
+        if (target.isNegative() || target.isZero() || interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("target and interval must be positive");
+        }
+        this.delegate = delegate;
+        this.targetNanos = target.toNanos();
+        this.intervalNanos = interval.toNanos();
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        long enqueuedAt = System.nanoTime();
+        queued.incrementAndGet();
+        try {
+            delegate.execute(() -> {
+                queued.decrementAndGet();
+                onDequeue(System.nanoTime() - enqueuedAt);
+                task.run();
+            });
+        } catch (RuntimeException e) {
+            queued.decrementAndGet();
+            throw e;
+        }
+    }
+
+    @Override
+    public void admit() {
+        if (shedding) {
+            if (queued.get() > 0) {
+                shed.increment();
+                throw new RejectedExecutionException("Queue delay is above " + targetNanos / 1_000_000 + " ms target");
+            }
+            // Очередь опустела. значит задержки больше нет. и interval для нового сброса отсчитывается заново
+            firstAboveTime.set(BELOW_TARGET);
+            shedding = false;
+        }
+        delegate.admit();
+    }
+
+    private void onDequeue(long sojournNanos) {
+        if (sojournNanos < targetNanos) {
+            firstAboveTime.set(BELOW_TARGET);
+            shedding = false;
+            return;
+        }
+        long now = System.nanoTime();
+        long first = firstAboveTime.get();
+        if (first == BELOW_TARGET) {
+            // Ноль зарезервирован. поэтому совпавший с ним момент сдвигается на наносекунду
+            long deadline = now + intervalNanos;
+            firstAboveTime.compareAndSet(BELOW_TARGET, deadline == BELOW_TARGET ? 1 : deadline);
+        } else if (now - first >= 0) {
+            shedding = true;
+        }
+    }
+
+    /**
+     * @return Сколько новых подписок отклонено из-за задержки в очереди
+     */
+    public long getShedCount() {
+        return shed.sum();
+    }
+
+    /**
+     * @return true если новые подписки сейчас отклоняются
+     */
+    public boolean isShedding() {
+        return shedding;
+    }
+
+    /**
+     * @return Сколько принятых задач ждет начала выполнения
+     */
+    public int getQueuedCount() {
+        return queued.get();
+    }
+}
@@ -0,0 +1,13 @@
+package com.customrxjava.schedulers;
+
+/**
+ * Класс приоритета задачи для PriorityScheduler. Первые значения обслуживаются раньше.
+ */
+public enum Priority {
+    /** Задачи чувствительные к задержке */
+    HIGH,
+    /** Обычные задачи */
+    NORMAL,
+    /** Фоновые задачи */
+    LOW
+}
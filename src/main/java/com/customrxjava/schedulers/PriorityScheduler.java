@@ -0,0 +1,176 @@
+package com.customrxjava.schedulers;
+
+import com.customrxjava.Plugins;
+import com.customrxjava.Scheduler;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Планировщик с очередью на каждый класс Priority и общим пулом потоков.
+ * Свободный поток берет задачу из самой приоритетной непустой очереди. Чтобы фоновые задачи не ждали бесконечно
+ * под постоянным потоком важных. работает старение: за каждый интервал agingInterval ожидания задача
+ * поднимается на один класс. При равенстве выигрывает задача исходно более высокого класса.
+ * Обычный execute ставит задачу с приоритетом NORMAL.
+ */
+public class PriorityScheduler implements Scheduler {
+    private static final AtomicInteger POOL_NUMBER = new AtomicInteger();
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private final ArrayDeque<Entry>[] queues;
+    private final long agingNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private int queued;
+    private boolean shutdown;
+
+    /**
+     * Планировщик с потоком на каждый процессор и старением через 100 мс.
+     */
+    public PriorityScheduler() {
+        this(Runtime.getRuntime().availableProcessors(), Duration.ofMillis(100));
+    }
+
+    /**
+     * @param threads Число потоков
+     * @param agingInterval Время ожидания за которое задача поднимается на один класс
+     */
+    @SuppressWarnings("unchecked")
+    public PriorityScheduler(int threads, Duration agingInterval) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("threads must be positive: " + threads);
+        }
+        if (agingInterval.isNegative() || agingInterval.isZero()) {
+            throw new IllegalArgumentException("agingInterval must be positive");
+        }
+        this.agingNanos = agingInterval.toNanos();
+        this.queues = (ArrayDeque<Entry>[]) new ArrayDeque<?>[PRIORITIES.length];
+        for (int i = 0; i < queues.length; i++) {
+            queues[i] = new ArrayDeque<>();
+        }
+        String prefix = "CustomRxJava-Priority-" + POOL_NUMBER.incrementAndGet() + "-";
+        for (int i = 0; i < threads; i++) {
+            Thread thread = new Thread(this::work, prefix + (i + 1));
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        execute(task, Priority.NORMAL);
+    }
+
+    /**
+     * Планирует задачу с заданным приоритетом.
+     * @param task Задача для выполнения
+     * @param priority Класс приоритета
+     */
+    public void execute(Runnable task, Priority priority) {
+        Entry entry = new Entry(Plugins.onSchedule(task), System.nanoTime());
+        lock.lock();
+        try {
+            if (shutdown) {
+                throw new RejectedExecutionException("Scheduler is shut down");
+            }
+            queues[priority.ordinal()].offer(entry);
+            queued++;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param priority Класс приоритета
+     * @return Scheduler который ставит все задачи этого планировщика с заданным приоритетом
+     */
+    public Scheduler withPriority(Priority priority) {
+        return task -> execute(task, priority);
+    }
+
+    /**
+     * @param priority Класс приоритета
+     * @return Сколько задач этого класса ждет выполнения
+     */
+    public int getQueuedCount(Priority priority) {
+        lock.lock();
+        try {
+            return queues[priority.ordinal()].size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Завершает пул. уже поставленные задачи выполняются. а новые отклоняются.
+     */
+    public void shutdown() {
+        lock.lock();
+        try {
+            shutdown = true;
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void work() {
+        for (;;) {
+            Runnable task;
+            lock.lock();
+            try {
+                while (queued == 0) {
+                    if (shutdown) {
+                        return;
+                    }
+                    notEmpty.awaitUninterruptibly();
+                }
+                task = take();
+            } finally {
+                lock.unlock();
+            }
+            try {
+                task.run();
+            } catch (Throwable e) {
+                // Ошибка задачи не останавливает поток
+                Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+            }
+        }
+    }
+
+    // Выбирает задачу с наименьшим классом после старения. в каждой очереди достаточно смотреть на первую
+    private Runnable take() {
+        long now = System.nanoTime();
+        int best = -1;
+        long bestRank = Long.MAX_VALUE;
+        for (int i = 0; i < queues.length; i++) {
+            Entry head = queues[i].peek();
+            if (head == null) {
+                continue;
+            }
+            long rank = i - (now - head.enqueuedAt) / agingNanos;
+            if (rank < bestRank) {
+                bestRank = rank;
+                best = i;
+            }
+        }
+        queued--;
+        return queues[best].poll().task;
+    }
+
+    private static final class Entry {
+        final Runnable task;
+        final long enqueuedAt;
+
+        Entry(Runnable task, long enqueuedAt) {
+            this.task = task;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.customrxjava.schedulers;
+
+import com.customrxjava.Disposable;
+import com.customrxjava.Plugins;
+import com.customrxjava.Scheduler;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Общий таймер для отложенных задач всех Scheduler.
+ * Таймер только отсчитывает задержку в одном служебном потоке. а саму задачу передает в Scheduler.execute.
+ * поэтому во время ожидания ни один рабочий поток не занят.
+ */
+public final class SchedulerTimer {
+    private static final ScheduledThreadPoolExecutor TIMER = createTimer();
+
+    private SchedulerTimer() {
+    }
+
+    /**
+     * Планирует задачу на Scheduler после задержки.
+     * @param scheduler Scheduler на котором выполнится задача
+     * @param task Задача
+     * @param delay Задержка
+     * @param unit Единица измерения задержки
+     * @return Disposable для отмены задачи пока она не передана в Scheduler
+     */
+    public static Disposable schedule(Scheduler scheduler, Runnable task, long delay, TimeUnit unit) {
+        if (delay <= 0) {
+            scheduler.execute(task);
+            return new TimerDisposable(null);
+        }
+        return scheduleDelayed(scheduler, task, delay, unit, SchedulerTimer::reportRejection);
+    }
+
+    /**
+     * Планирует задачу на Scheduler после задержки и сообщает если Scheduler ее не принял.
+     * Отказ после задержки происходит в потоке таймера. где его некому выбросить. поэтому он всегда
+     * передается в onRejected. как и отказ при нулевой задержке.
+     * @param scheduler Scheduler на котором выполнится задача
+     * @param task Задача
+     * @param delay Задержка
+     * @param unit Единица измерения задержки
+     * @param onRejected Получает исключение Scheduler.execute
+     * @return Disposable для отмены задачи пока она не передана в Scheduler
+     */
+    public static Disposable schedule(Scheduler scheduler, Runnable task, long delay, TimeUnit unit,
+                                      Consumer<? super RuntimeException> onRejected) {
+        if (delay <= 0) {
+            try {
+                scheduler.execute(task);
+            } catch (RuntimeException e) {
+                onRejected.accept(e);
+            }
+            return new TimerDisposable(null);
+        }
+        return scheduleDelayed(scheduler, task, delay, unit, onRejected);
+    }
+
+    private static Disposable scheduleDelayed(Scheduler scheduler, Runnable task, long delay, TimeUnit unit,
+                                              Consumer<? super RuntimeException> onRejected) {
+        // Хук вызывается в планирующем потоке. иначе контекст был бы взят из потока таймера.
+        // а execute не оборачивает задачу второй раз
+        Runnable wrapped = Plugins.onScheduleOnce(task);
+        return new TimerDisposable(TIMER.schedule(() -> {
+            try {
+                scheduler.execute(wrapped);
+            } catch (RuntimeException e) {
+                onRejected.accept(e);
+            }
+        }, delay, unit));
+    }
+
+    // Без обработчика отказ хотя бы попадает в обработчик необработанных исключений. а не в забытый Future
+    private static void reportRejection(RuntimeException e) {
+        Thread thread = Thread.currentThread();
+        thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+    }
+
+    /**
+     * Выполняет задачу прямо в потоке таймера после задержки.
+     * Задача должна быть короткой. иначе она задержит все остальные таймеры.
+     * @param task Задача
+     * @param delay Задержка
+     * @param unit Единица измерения задержки
+     * @return Disposable для отмены задачи до начала ее выполнения
+     */
+    public static Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+        return new TimerDisposable(TIMER.schedule(Plugins.onSchedule(task), Math.max(0, delay), unit));
+    }
+
+    private static ScheduledThreadPoolExecutor createTimer() {
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, task -> {
+            Thread thread = new Thread(task, "CustomRxJava-Timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Отмененные задачи сразу удаляются из очереди таймера
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+
+    private static final class TimerDisposable implements Disposable {
+        private final ScheduledFuture<?> future;
+
+        TimerDisposable(ScheduledFuture<?> future) {
+            this.future = future;
+        }
+
+        @Override
+        public void dispose() {
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return future == null || future.isDone();
+        }
+    }
+}
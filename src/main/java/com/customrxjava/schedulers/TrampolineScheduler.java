@@ -0,0 +1,53 @@
+package com.customrxjava.schedulers;
+
+import com.customrxjava.Plugins;
+import com.customrxjava.Scheduler;
+
+import java.util.ArrayDeque;
+
+/**
+ * Планировщик который выполняет задачи в вызывающем потоке по очереди.
+ * Задача запланированная изнутри другой задачи не выполняется рекурсивно. а встает в очередь текущего потока
+ * и выполняется после завершения текущей. Так глубина стека не зависит от длины цепочки.
+ * Очередь общая для всех экземпляров в одном потоке.
+ * Аналог Schedulers.trampoline() из RxJava. Отложенные задачи выполняются в потоке общего таймера.
+ */
+public class TrampolineScheduler implements Scheduler {
+    private static final ThreadLocal<Trampoline> TRAMPOLINE = ThreadLocal.withInitial(Trampoline::new);
+
+    @Override
+    public void execute(Runnable task) {
+        Trampoline trampoline = TRAMPOLINE.get();
+        trampoline.queue.offer(Plugins.onSchedule(task));
+        if (trampoline.draining) {
+            return;
+        }
+        trampoline.draining = true;
+        RuntimeException failure = null;
+        try {
+            Runnable next;
+            while ((next = trampoline.queue.poll()) != null) {
+                try {
+                    next.run();
+                } catch (RuntimeException e) {
+                    // Ошибка одной задачи не должна оставлять остальные в очереди потока
+                    if (failure == null) {
+                        failure = e;
+                    } else {
+                        failure.addSuppressed(e);
+                    }
+                }
+            }
+        } finally {
+            trampoline.draining = false;
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static final class Trampoline {
+        final ArrayDeque<Runnable> queue = new ArrayDeque<>();
+        boolean draining;
+    }
+}
@@ -0,0 +1,247 @@
+package com.customrxjava.schedulers;
+
+import com.customrxjava.Plugins;
+import com.customrxjava.Scheduler;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Планировщик для множества мелких вычислительных задач.
+ * У каждого рабочего потока своя очередь без блокировок. Задача из рабочего потока кладется в его же очередь.
+ * а из внешнего потока распределяется по очередям по кругу. Проснувшись. поток выполняет до batchSize задач
+ * подряд. Производитель будит поток только если тот спит. поэтому пока поток занят добавление задачи стоит
+ * одну вставку в очередь. Поток у которого закончились свои задачи забирает задачи из очередей соседей.
+ * Если задача попала к занятому потоку. будится один спящий сосед чтобы ее забрать. Пока такой сосед ищет
+ * работу. другие не будятся. поэтому поток задач к занятому потоку не будит пул на каждую задачу.
+ */
+public class WorkStealingScheduler implements Scheduler {
+    private static final AtomicInteger POOL_NUMBER = new AtomicInteger();
+    private static final int RUNNING = 0;
+    private static final int PARKED = 1;
+
+    private final Worker[] workers;
+    private final int batchSize;
+    private final AtomicInteger nextWorker = new AtomicInteger();
+    private final LongAdder stolen = new LongAdder();
+    private final LongAdder wakeUps = new LongAdder();
+    // Разбуженный для кражи поток еще ищет работу. 1 или 0
+    private final AtomicInteger searching = new AtomicInteger();
+    private volatile boolean shutdown;
+
+    /**
+     * Планировщик с потоком на каждый процессор и пачкой из 64 задач.
+     */
+    public WorkStealingScheduler() {
+        this(Runtime.getRuntime().availableProcessors(), 64);
+    }
+
+    /**
+     * @param threads Число рабочих потоков
+     * @param batchSize Сколько задач поток выполняет за одно пробуждение прежде чем проверить соседей
+     */
+    public WorkStealingScheduler(int threads, int batchSize) {
+        if (threads <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("threads and batchSize must be positive");
+        }
+        this.batchSize = batchSize;
+        this.workers = new Worker[threads];
+        String prefix = "CustomRxJava-WorkStealing-" + POOL_NUMBER.incrementAndGet() + "-";
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Worker(i, prefix + (i + 1));
+        }
+        for (Worker worker : workers) {
+            worker.thread.start();
+        }
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (shutdown) {
+            throw new RejectedExecutionException("Scheduler is shut down");
+        }
+        Runnable wrapped = Plugins.onSchedule(task);
+        Worker target = null;
+        Thread current = Thread.currentThread();
+        if (current instanceof WorkerThread) {
+            Worker own = ((WorkerThread) current).worker;
+            // Поток может принадлежать другому экземпляру планировщика
+            if (own.index < workers.length && workers[own.index] == own) {
+                target = own;
+            }
+        }
+        if (target == null) {
+            target = workers[Math.floorMod(nextWorker.getAndIncrement(), workers.length)];
+        }
+        target.queue.offer(wrapped);
+        if (!target.wake()) {
+            // Поток занят. задачу может забрать спящий сосед
+            wakeIdlePeer(target);
+        }
+    }
+
+    /**
+     * @return Сколько задач выполнено не тем потоком в чью очередь они попали
+     */
+    public long getStolenCount() {
+        return stolen.sum();
+    }
+
+    /**
+     * @return Сколько раз производитель будил спящий поток
+     */
+    public long getWakeUpCount() {
+        return wakeUps.sum();
+    }
+
+    /**
+     * Завершает пул. уже поставленные задачи выполняются. а новые отклоняются.
+     */
+    public void shutdown() {
+        shutdown = true;
+        for (Worker worker : workers) {
+            worker.wake();
+        }
+    }
+
+    private boolean hasQueuedTasks() {
+        for (Worker worker : workers) {
+            if (!worker.queue.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Будит один спящий поток чтобы он забрал часть задач у занятого. если никто другой уже не ищет работу
+    private void wakeIdlePeer(Worker busy) {
+        if (workers.length == 1 || searching.get() != 0 || !searching.compareAndSet(0, 1)) {
+            return;
+        }
+        for (int i = 1; i < workers.length; i++) {
+            Worker peer = workers[(busy.index + i) % workers.length];
+            if (peer.state.get() == PARKED) {
+                // Признак поиска ставится до пробуждения. его снимет сам разбуженный поток
+                peer.searching = true;
+                if (peer.wake()) {
+                    return;
+                }
+                peer.searching = false;
+            }
+        }
+        searching.set(0);
+    }
+
+    private final class Worker implements Runnable {
+        final int index;
+        final ConcurrentLinkedQueue<Runnable> queue = new ConcurrentLinkedQueue<>();
+        final AtomicInteger state = new AtomicInteger(RUNNING);
+        final WorkerThread thread;
+        // Поток разбужен соседом для кражи и держит общий признак поиска
+        volatile boolean searching;
+
+        Worker(int index, String name) {
+            this.index = index;
+            this.thread = new WorkerThread(this, name);
+        }
+
+        // Возвращает true если поток спал и разбужен этим вызовом
+        boolean wake() {
+            if (state.get() == PARKED && state.compareAndSet(PARKED, RUNNING)) {
+                wakeUps.increment();
+                LockSupport.unpark(thread);
+                return true;
+            }
+            return false;
+        }
+
+        private void stopSearching() {
+            if (searching) {
+                searching = false;
+                WorkStealingScheduler.this.searching.set(0);
+            }
+        }
+
+        @Override
+        public void run() {
+            for (;;) {
+                int executed = runBatch(queue, false);
+                if (executed > 0) {
+                    stopSearching();
+                }
+                if (executed == batchSize) {
+                    if (!queue.isEmpty()) {
+                        wakeIdlePeer(this);
+                    }
+                    continue;
+                }
+                if (executed > 0 || steal()) {
+                    continue;
+                }
+                stopSearching();
+                if (shutdown && !hasQueuedTasks()) {
+                    return;
+                }
+                state.set(PARKED);
+                // Повторная проверка после публикации состояния: задача добавленная до этого уже видна.
+                // а производитель добавивший задачу после увидит PARKED и разбудит поток
+                if (hasQueuedTasks() || shutdown) {
+                    state.compareAndSet(PARKED, RUNNING);
+                    continue;
+                }
+                while (state.get() == PARKED) {
+                    LockSupport.park(this);
+                }
+            }
+        }
+
+        private boolean steal() {
+            for (int i = 1; i < workers.length; i++) {
+                Worker victim = workers[(index + i) % workers.length];
+                if (victim.queue.isEmpty()) {
+                    continue;
+                }
+                // Задачу нашли. дальше искать может другой поток
+                stopSearching();
+                if (runBatch(victim.queue, true) > 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private int runBatch(ConcurrentLinkedQueue<Runnable> source, boolean stealing) {
+            int executed = 0;
+            while (executed < batchSize) {
+                Runnable task = source.poll();
+                if (task == null) {
+                    break;
+                }
+                executed++;
+                if (stealing) {
+                    stolen.increment();
+                }
+                try {
+                    task.run();
+                } catch (Throwable e) {
+                    // Ошибка задачи не останавливает поток с очередью других задач
+                    thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+                }
+            }
+            return executed;
+        }
+    }
+
+    private static final class WorkerThread extends Thread {
+        final Worker worker;
+
+        WorkerThread(Worker worker, String name) {
+            super(worker, name);
+            this.worker = worker;
+            setDaemon(true);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.customrxjava.sources;
+
+import com.customrxjava.Observer;
+import com.customrxjava.operators.DisposableHelper;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Источник элементов массива. Пачки передаются как представления массива без копирования.
+ * @param <T> Тип элементов
+ */
+public final class ArraySource<T> implements FuseableSource<T> {
+    private final T[] array;
+
+    public ArraySource(T[] array) {
+        this.array = array;
+    }
+
+    @Override
+    public void accept(Observer<T> observer) {
+        T[] items = array;
+        List<T> view = Arrays.asList(items);
+        for (int from = 0; from < items.length; from += BATCH_SIZE) {
+            int to = Math.min(items.length, from + BATCH_SIZE);
+            for (int i = from; i < to; i++) {
+                if (items[i] == null) {
+                    if (i > from) {
+                        observer.onNextBatch(view.subList(from, i));
+                    }
+                    observer.onError(new NullPointerException("array element " + i + " is null"));
+                    return;
+                }
+            }
+            observer.onNextBatch(view.subList(from, to));
+            if (DisposableHelper.isDisposed(observer)) {
+                return;
+            }
+        }
+        observer.onComplete();
+    }
+
+    @Override
+    public SyncCursor<T> open() {
+        return new SyncCursor<T>() {
+            private int index;
+
+            @Override
+            public T poll() {
+                int i = index;
+                if (i == array.length) {
+                    return null;
+                }
+                index = i + 1;
+                T item = array[i];
+                if (item == null) {
+                    throw new NullPointerException("array element " + i + " is null");
+                }
+                return item;
+            }
+        };
+    }
+}
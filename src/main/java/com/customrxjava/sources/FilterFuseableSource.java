@@ -0,0 +1,30 @@
+package com.customrxjava.sources;
+
+import java.util.function.Predicate;
+
+/**
+ * Оператор filter слитый с синхронным источником. Курсор пропускает элементы не прошедшие предикат.
+ * @param <T> Тип элементов
+ */
+public final class FilterFuseableSource<T> implements FuseableSource<T> {
+    private final FuseableSource<T> upstream;
+    private final Predicate<T> predicate;
+
+    public FilterFuseableSource(FuseableSource<T> upstream, Predicate<T> predicate) {
+        this.upstream = upstream;
+        this.predicate = predicate;
+    }
+
+    @Override
+    public SyncCursor<T> open() {
+        SyncCursor<T> cursor = upstream.open();
+        return () -> {
+            for (;;) {
+                T item = cursor.poll();
+                if (item == null || predicate.test(item)) {
+                    return item;
+                }
+            }
+        };
+    }
+}
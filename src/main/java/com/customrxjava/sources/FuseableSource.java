@@ -0,0 +1,64 @@
+package com.customrxjava.sources;
+
+import com.customrxjava.Observer;
+import com.customrxjava.operators.DisposableHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Синхронный источник который поддерживает слияние с операторами.
+ * map и filter над таким источником сами становятся FuseableSource. а observeOn читает курсор
+ * прямо в потоке Scheduler. так цепочка выполняется одним циклом без промежуточных Observer и очередей.
+ * @param <T> Тип элементов
+ */
+public interface FuseableSource<T> extends Consumer<Observer<T>> {
+    /**
+     * Размер пачки. отмена подписки проверяется один раз на пачку.
+     */
+    int BATCH_SIZE = 128;
+
+    /**
+     * Открывает курсор для новой подписки.
+     * @return Новый курсор
+     */
+    SyncCursor<T> open();
+
+    /**
+     * Выдает все элементы курсора пачками по BATCH_SIZE.
+     * @param observer Observer для выдачи элементов
+     */
+    @Override
+    default void accept(Observer<T> observer) {
+        SyncCursor<T> cursor = open();
+        List<T> batch = new ArrayList<>(BATCH_SIZE);
+        for (;;) {
+            T item;
+            try {
+                item = cursor.poll();
+            } catch (Exception e) {
+                if (!batch.isEmpty()) {
+                    observer.onNextBatch(batch);
+                }
+                observer.onError(e);
+                return;
+            }
+            if (item == null) {
+                break;
+            }
+            batch.add(item);
+            if (batch.size() == BATCH_SIZE) {
+                observer.onNextBatch(batch);
+                batch.clear();
+                if (DisposableHelper.isDisposed(observer)) {
+                    return;
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            observer.onNextBatch(batch);
+        }
+        observer.onComplete();
+    }
+}
@@ -0,0 +1,30 @@
+package com.customrxjava.sources;
+
+import java.util.Iterator;
+
+/**
+ * Источник элементов Iterable. Каждая подписка получает новый итератор.
+ * @param <T> Тип элементов
+ */
+public final class IterableSource<T> implements FuseableSource<T> {
+    private final Iterable<T> iterable;
+
+    public IterableSource(Iterable<T> iterable) {
+        this.iterable = iterable;
+    }
+
+    @Override
+    public SyncCursor<T> open() {
+        Iterator<T> iterator = iterable.iterator();
+        return () -> {
+            if (!iterator.hasNext()) {
+                return null;
+            }
+            T item = iterator.next();
+            if (item == null) {
+                throw new NullPointerException("iterable contains null element");
+            }
+            return item;
+        };
+    }
+}
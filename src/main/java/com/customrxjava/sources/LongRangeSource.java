@@ -0,0 +1,64 @@
+package com.customrxjava.sources;
+
+import com.customrxjava.Observer;
+import com.customrxjava.operators.DisposableHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Источник последовательности long чисел.
+ */
+public final class LongRangeSource implements FuseableSource<Long> {
+    private final long start;
+    private final long count;
+
+    public LongRangeSource(long start, long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative: " + count);
+        }
+        if (count > 0 && start > Long.MAX_VALUE - (count - 1)) {
+            throw new IllegalArgumentException("range overflows long: " + start + " + " + count);
+        }
+        this.start = start;
+        this.count = count;
+    }
+
+    @Override
+    public void accept(Observer<Long> observer) {
+        List<Long> batch = new ArrayList<>((int) Math.min(count, BATCH_SIZE));
+        long remaining = count;
+        long next = start;
+        while (remaining > 0) {
+            int n = (int) Math.min(BATCH_SIZE, remaining);
+            for (int i = 0; i < n; i++) {
+                batch.add(next + i);
+            }
+            next += n;
+            remaining -= n;
+            observer.onNextBatch(batch);
+            batch.clear();
+            if (DisposableHelper.isDisposed(observer)) {
+                return;
+            }
+        }
+        observer.onComplete();
+    }
+
+    @Override
+    public SyncCursor<Long> open() {
+        return new SyncCursor<Long>() {
+            private long remaining = count;
+            private long next = start;
+
+            @Override
+            public Long poll() {
+                if (remaining == 0) {
+                    return null;
+                }
+                remaining--;
+                return next++;
+            }
+        };
+    }
+}
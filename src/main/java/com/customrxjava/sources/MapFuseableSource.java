@@ -0,0 +1,34 @@
+package com.customrxjava.sources;
+
+import java.util.function.Function;
+
+/**
+ * Оператор map слитый с синхронным источником. Функция применяется прямо при чтении курсора.
+ * @param <T> Тип входных элементов
+ * @param <R> Тип выходных элементов
+ */
+public final class MapFuseableSource<T, R> implements FuseableSource<R> {
+    private final FuseableSource<T> upstream;
+    private final Function<T, R> mapper;
+
+    public MapFuseableSource(FuseableSource<T> upstream, Function<T, R> mapper) {
+        this.upstream = upstream;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public SyncCursor<R> open() {
+        SyncCursor<T> cursor = upstream.open();
+        return () -> {
+            T item = cursor.poll();
+            if (item == null) {
+                return null;
+            }
+            R result = mapper.apply(item);
+            if (result == null) {
+                throw new NullPointerException("mapper returned null");
+            }
+            return result;
+        };
+    }
+}
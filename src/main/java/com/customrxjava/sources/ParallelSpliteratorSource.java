@@ -0,0 +1,122 @@
+package com.customrxjava.sources;
+
+import com.customrxjava.Observer;
+import com.customrxjava.Scheduler;
+import com.customrxjava.operators.DisposableHelper;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Источник который делит Spliterator на части и обходит их параллельно на Scheduler.
+ * Каждая часть копит элементы в свою пачку и передает ее Observer под общей блокировкой.
+ * поэтому Observer вызывается последовательно. Порядок элементов между частями не сохраняется.
+ * @param <T> Тип элементов
+ */
+public final class ParallelSpliteratorSource<T> implements Consumer<Observer<T>> {
+    private final Supplier<Spliterator<T>> spliteratorSupplier;
+    private final Scheduler scheduler;
+    private final int parallelism;
+
+    public ParallelSpliteratorSource(Supplier<Spliterator<T>> spliteratorSupplier, Scheduler scheduler,
+                                     int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        this.spliteratorSupplier = spliteratorSupplier;
+        this.scheduler = scheduler;
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public void accept(Observer<T> observer) {
+        List<Spliterator<T>> parts = split(spliteratorSupplier.get());
+        Coordinator<T> coordinator = new Coordinator<>(observer, parts.size());
+        for (Spliterator<T> part : parts) {
+            scheduler.execute(() -> coordinator.traverse(part));
+        }
+    }
+
+    private List<Spliterator<T>> split(Spliterator<T> root) {
+        Deque<Spliterator<T>> pending = new ArrayDeque<>();
+        List<Spliterator<T>> parts = new ArrayList<>();
+        pending.add(root);
+        // Делим самые большие части пока не наберется parallelism частей или делить станет нечего
+        while (!pending.isEmpty() && parts.size() + pending.size() < parallelism) {
+            Spliterator<T> current = pending.poll();
+            Spliterator<T> prefix = current.trySplit();
+            if (prefix == null) {
+                parts.add(current);
+            } else {
+                pending.add(current);
+                pending.add(prefix);
+            }
+        }
+        parts.addAll(pending);
+        return parts;
+    }
+
+    private static final class Coordinator<T> {
+        private final Observer<T> downstream;
+        private final AtomicInteger remaining;
+        private final AtomicBoolean terminated = new AtomicBoolean();
+
+        Coordinator(Observer<T> downstream, int parts) {
+            this.downstream = downstream;
+            this.remaining = new AtomicInteger(parts);
+        }
+
+        void traverse(Spliterator<T> part) {
+            List<T> batch = new ArrayList<>(FuseableSource.BATCH_SIZE);
+            try {
+                boolean more = true;
+                while (more && !terminated.get()) {
+                    do {
+                        more = part.tryAdvance(batch::add);
+                    } while (more && batch.size() < FuseableSource.BATCH_SIZE);
+                    deliver(batch);
+                    batch.clear();
+                }
+            } catch (Exception e) {
+                if (terminated.compareAndSet(false, true)) {
+                    synchronized (this) {
+                        downstream.onError(e);
+                    }
+                }
+                return;
+            }
+            if (remaining.decrementAndGet() == 0 && terminated.compareAndSet(false, true)) {
+                synchronized (this) {
+                    downstream.onComplete();
+                }
+            }
+        }
+
+        private void deliver(List<T> batch) {
+            if (batch.isEmpty()) {
+                return;
+            }
+            for (int i = 0, n = batch.size(); i < n; i++) {
+                if (batch.get(i) == null) {
+                    throw new NullPointerException("spliterator contains null element");
+                }
+            }
+            synchronized (this) {
+                if (terminated.get()) {
+                    return;
+                }
+                downstream.onNextBatch(batch);
+                if (DisposableHelper.isDisposed(downstream)) {
+                    terminated.set(true);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.customrxjava.sources;
+
+import com.customrxjava.Observer;
+import com.customrxjava.operators.DisposableHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Источник последовательности int чисел.
+ */
+public final class RangeSource implements FuseableSource<Integer> {
+    private final int start;
+    private final int count;
+
+    public RangeSource(int start, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative: " + count);
+        }
+        if ((long) start + count - 1 > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("range overflows int: " + start + " + " + count);
+        }
+        this.start = start;
+        this.count = count;
+    }
+
+    @Override
+    public void accept(Observer<Integer> observer) {
+        List<Integer> batch = new ArrayList<>(Math.min(count, BATCH_SIZE));
+        long end = (long) start + count;
+        long index = start;
+        while (index < end) {
+            int n = (int) Math.min(BATCH_SIZE, end - index);
+            int first = (int) index;
+            for (int i = 0; i < n; i++) {
+                batch.add(first + i);
+            }
+            index += n;
+            observer.onNextBatch(batch);
+            batch.clear();
+            if (DisposableHelper.isDisposed(observer)) {
+                return;
+            }
+        }
+        observer.onComplete();
+    }
+
+    @Override
+    public SyncCursor<Integer> open() {
+        long end = (long) start + count;
+        return new SyncCursor<Integer>() {
+            private long index = start;
+
+            @Override
+            public Integer poll() {
+                long i = index;
+                if (i == end) {
+                    return null;
+                }
+                index = i + 1;
+                return (int) i;
+            }
+        };
+    }
+}
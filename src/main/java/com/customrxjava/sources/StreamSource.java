@@ -0,0 +1,37 @@
+package com.customrxjava.sources;
+
+import java.util.Spliterator;
+import java.util.stream.Stream;
+
+/**
+ * Источник элементов Stream. Stream можно обойти только один раз. поэтому повторная подписка получит ошибку.
+ * @param <T> Тип элементов
+ */
+public final class StreamSource<T> implements FuseableSource<T> {
+    private final Stream<T> stream;
+
+    public StreamSource(Stream<T> stream) {
+        this.stream = stream;
+    }
+
+    @Override
+    public SyncCursor<T> open() {
+        Spliterator<T> spliterator = stream.spliterator();
+        return new SyncCursor<T>() {
+            private T current;
+
+            @Override
+            public T poll() {
+                if (!spliterator.tryAdvance(item -> current = item)) {
+                    return null;
+                }
+                T item = current;
+                current = null;
+                if (item == null) {
+                    throw new NullPointerException("stream contains null element");
+                }
+                return item;
+            }
+        };
+    }
+}
@@ -0,0 +1,15 @@
+package com.customrxjava.sources;
+
+/**
+ * Курсор синхронного источника. Позволяет потребителю забирать элементы самому без промежуточной очереди.
+ * @param <T> Тип элементов
+ */
+@FunctionalInterface
+public interface SyncCursor<T> {
+
+    /**
+     * Возвращает следующий элемент.
+     * @return Следующий элемент или null если источник исчерпан
+     */
+    T poll();
+}
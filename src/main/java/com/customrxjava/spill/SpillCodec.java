@@ -0,0 +1,39 @@
+package com.customrxjava.spill;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Преобразует элементы в байты для записи на диск и обратно.
+ * @param <T> Тип элементов
+ */
+public interface SpillCodec<T> {
+
+    /**
+     * @param item Элемент
+     * @return Байты элемента
+     */
+    byte[] encode(T item);
+
+    /**
+     * @param bytes Байты которые вернул encode
+     * @return Элемент
+     */
+    T decode(byte[] bytes);
+
+    /**
+     * @return Codec для строк в UTF-8
+     */
+    static SpillCodec<String> utf8() {
+        return new SpillCodec<>() {
+            @Override
+            public byte[] encode(String item) {
+                return item.getBytes(StandardCharsets.UTF_8);
+            }
+
+            @Override
+            public String decode(byte[] bytes) {
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        };
+    }
+}
@@ -0,0 +1,263 @@
+package com.customrxjava.spill;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Очередь для одного производителя и одного потребителя которая при переполнении памяти пишет элементы на диск.
+ * Сначала элементы кладутся в кольцевой буфер фиксированного размера. Когда он заполнен элементы кодируются
+ * через SpillCodec и дописываются в сегменты файлов отображенные в память. Пока на диске есть непрочитанные
+ * элементы новые тоже идут на диск. поэтому порядок сохраняется. Прочитанный сегмент сразу удаляется.
+ * Запись на диске: длина int и байты элемента. длина -1 означает конец сегмента.
+ * @param <T> Тип элементов
+ */
+public final class SpillQueue<T> implements AutoCloseable {
+    /**
+     * Минимальный размер сегмента в байтах.
+     */
+    public static final int MIN_SEGMENT_SIZE = 64;
+    private static final int END_OF_SEGMENT = -1;
+
+    private final SpillCodec<T> codec;
+    private final Path directory;
+    private final int segmentSize;
+    private final AtomicReferenceArray<T> ring;
+    private final int mask;
+    // Записи на диске которые потребитель еще не прочитал
+    private final AtomicLong onDisk = new AtomicLong();
+    private final AtomicLong spilledTotal = new AtomicLong();
+    private final ConcurrentLinkedQueue<Segment> segments = new ConcurrentLinkedQueue<>();
+    private final List<Segment> created = new ArrayList<>();
+    private volatile boolean closed;
+    private Path tempDirectory;
+    // Поля производителя
+    private long producerIndex;
+    private boolean spilling;
+    private Segment writeSegment;
+    // Поля потребителя
+    private long consumerIndex;
+    private Segment readSegment;
+
+    /**
+     * @param memoryCapacity Сколько элементов держать в памяти. округляется вверх до степени двойки
+     * @param codec Codec для записи на диск
+     * @param directory Каталог для сегментов или null для временного каталога
+     * @param segmentSize Размер одного сегмента в байтах. не меньше MIN_SEGMENT_SIZE
+     */
+    public SpillQueue(int memoryCapacity, SpillCodec<T> codec, Path directory, int segmentSize) {
+        if (memoryCapacity <= 0) {
+            throw new IllegalArgumentException("memoryCapacity must be positive: " + memoryCapacity);
+        }
+        if (segmentSize < MIN_SEGMENT_SIZE) {
+            throw new IllegalArgumentException(
+                "segmentSize must be at least " + MIN_SEGMENT_SIZE + " bytes: " + segmentSize);
+        }
+        if (codec == null) {
+            throw new NullPointerException("codec must not be null");
+        }
+        int capacity = 1 << (32 - Integer.numberOfLeadingZeros(memoryCapacity - 1));
+        this.ring = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.codec = codec;
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Добавляет элемент. Вызывается только из потока производителя.
+     * @param item Элемент
+     */
+    public void offer(T item) {
+        if (item == null) {
+            throw new NullPointerException("SpillQueue does not accept null");
+        }
+        if (closed) {
+            return;
+        }
+        // В память можно вернуться только когда потребитель дочитал диск
+        if ((!spilling || onDisk.get() == 0) && offerToRing(item)) {
+            spilling = false;
+            return;
+        }
+        spilling = true;
+        write(codec.encode(item));
+        spilledTotal.incrementAndGet();
+        // Увеличение счетчика публикует запись для потребителя
+        onDisk.incrementAndGet();
+    }
+
+    /**
+     * Извлекает элемент. Вызывается только из потока потребителя.
+     * @return Элемент или null если очередь пуста
+     */
+    public T poll() {
+        int index = (int) consumerIndex & mask;
+        T item = ring.get(index);
+        if (item != null) {
+            ring.lazySet(index, null);
+            consumerIndex++;
+            return item;
+        }
+        if (onDisk.get() == 0) {
+            return null;
+        }
+        T decoded = codec.decode(read());
+        onDisk.decrementAndGet();
+        return decoded;
+    }
+
+    /**
+     * @return true если в памяти и на диске нет элементов
+     */
+    public boolean isEmpty() {
+        return ring.get((int) consumerIndex & mask) == null && onDisk.get() == 0;
+    }
+
+    /**
+     * @return Сколько элементов записано на диск за все время
+     */
+    public long getSpilledCount() {
+        return spilledTotal.get();
+    }
+
+    /**
+     * @return Сколько элементов сейчас лежит на диске
+     */
+    public long getDiskBacklog() {
+        return onDisk.get();
+    }
+
+    /**
+     * Удаляет все сегменты. Элементы добавленные после закрытия отбрасываются.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        synchronized (created) {
+            for (Segment segment : created) {
+                delete(segment.path);
+            }
+            created.clear();
+            if (tempDirectory != null) {
+                delete(tempDirectory);
+                tempDirectory = null;
+            }
+        }
+        segments.clear();
+        for (int i = 0; i < ring.length(); i++) {
+            ring.lazySet(i, null);
+        }
+    }
+
+    private boolean offerToRing(T item) {
+        int index = (int) producerIndex & mask;
+        if (ring.get(index) != null) {
+            return false;
+        }
+        ring.lazySet(index, item);
+        producerIndex++;
+        return true;
+    }
+
+    private void write(byte[] bytes) {
+        int needed = Integer.BYTES + bytes.length;
+        Segment segment = writeSegment;
+        if (segment == null || segment.buffer.remaining() < needed) {
+            if (segment != null && segment.buffer.remaining() >= Integer.BYTES) {
+                segment.buffer.putInt(END_OF_SEGMENT);
+            }
+            // Элемент больше сегмента получает собственный сегмент нужного размера
+            segment = newSegment(Math.max(segmentSize, needed));
+            writeSegment = segment;
+            segments.offer(segment);
+        }
+        segment.buffer.putInt(bytes.length);
+        segment.buffer.put(bytes);
+    }
+
+    private byte[] read() {
+        for (;;) {
+            Segment segment = readSegment;
+            if (segment == null) {
+                segment = segments.poll();
+                readSegment = segment;
+            }
+            if (segment.reader.remaining() >= Integer.BYTES) {
+                int length = segment.reader.getInt();
+                if (length != END_OF_SEGMENT) {
+                    byte[] bytes = new byte[length];
+                    segment.reader.get(bytes);
+                    return bytes;
+                }
+            }
+            // Сегмент прочитан до конца
+            readSegment = null;
+            synchronized (created) {
+                created.remove(segment);
+            }
+            delete(segment.path);
+        }
+    }
+
+    private Segment newSegment(int size) {
+        synchronized (created) {
+            if (closed) {
+                throw new IllegalStateException("SpillQueue is closed");
+            }
+            try {
+                Path dir = directory;
+                if (dir == null) {
+                    if (tempDirectory == null) {
+                        tempDirectory = Files.createTempDirectory("customrxjava-spill");
+                    }
+                    dir = tempDirectory;
+                }
+                Path path = Files.createTempFile(dir, "segment-", ".spill");
+                MappedByteBuffer buffer;
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+                    // Отображение остается рабочим после закрытия канала
+                    buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                }
+                Segment segment = new Segment(path, buffer);
+                created.add(segment);
+                return segment;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            // Файл удалится вместе с временным каталогом. поток данных из-за этого не прерывается
+        }
+    }
+
+    private static final class Segment {
+        final Path path;
+        // Позиция записи принадлежит производителю
+        final MappedByteBuffer buffer;
+        // Отдельная позиция чтения для потребителя
+        final ByteBuffer reader;
+
+        Segment(Path path, MappedByteBuffer buffer) {
+            this.path = path;
+            this.buffer = buffer;
+            this.reader = buffer.duplicate();
+        }
+    }
+}
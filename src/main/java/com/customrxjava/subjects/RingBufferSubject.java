@@ -0,0 +1,221 @@
+package com.customrxjava.subjects;
+
+import com.customrxjava.Disposable;
+import com.customrxjava.Observable;
+import com.customrxjava.Observer;
+import com.customrxjava.Scheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Горячий Subject на кольцевом буфере в стиле Disruptor для раздачи одного потока многим потребителям.
+ * Производитель (вызовы onNext должны быть последовательными) пишет в заранее выделенный буфер и публикует
+ * номер последовательности. Каждый потребитель работает в своем цикле на Scheduler и читает буфер по своему курсору.
+ * Производитель не обгоняет самого медленного потребителя больше чем на размер буфера.
+ * Блокировок и выделения памяти на элемент нет.
+ * <p>
+ * Цикл потребителя занимает поток Scheduler до завершения потока или отмены. поэтому подходит IOThreadScheduler.
+ * @param <T> Тип элементов
+ */
+public class RingBufferSubject<T> extends Observable<T> implements Observer<T> {
+    private static final Sequence[] NO_CONSUMERS = new Sequence[0];
+    private static final Object COMPLETE = new Object();
+
+    private final Object[] entries;
+    private final int mask;
+    private final WaitStrategy waitStrategy;
+    private final Scheduler scheduler;
+    private final Sequence cursor = new Sequence(-1);
+    private final AtomicReference<Sequence[]> gating = new AtomicReference<>(NO_CONSUMERS);
+    // Поля производителя. пишутся только из onNext
+    private long nextSequence = -1;
+    private long cachedGatingSequence = -1;
+    private volatile Object terminal;
+
+    /**
+     * Создает RingBufferSubject.
+     * @param capacity Размер буфера. должен быть степенью двойки
+     * @param waitStrategy Стратегия ожидания
+     * @param scheduler Scheduler на котором запускаются циклы потребителей
+     */
+    public RingBufferSubject(int capacity, WaitStrategy waitStrategy, Scheduler scheduler) {
+        super(observer -> { });
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two: " + capacity);
+        }
+        this.entries = new Object[capacity];
+        this.mask = capacity - 1;
+        this.waitStrategy = waitStrategy;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (terminal != null) {
+            return;
+        }
+        long next = nextSequence + 1;
+        long wrapPoint = next - entries.length;
+        if (wrapPoint > cachedGatingSequence) {
+            long minimum;
+            int attempt = 0;
+            while (wrapPoint > (minimum = minimumSequence(next - 1))) {
+                waitStrategy.idle(attempt++);
+            }
+            cachedGatingSequence = minimum;
+        }
+        entries[(int) next & mask] = item;
+        nextSequence = next;
+        cursor.set(next);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        if (terminal == null) {
+            terminal = t;
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        if (terminal == null) {
+            terminal = COMPLETE;
+        }
+    }
+
+    /**
+     * Подписывает потребителя. Он получает только элементы опубликованные после подписки.
+     * @param observer Observer для подписки
+     * @return Disposable который останавливает цикл потребителя
+     */
+    @Override
+    public Disposable subscribe(Observer<T> observer) {
+        Sequence sequence = new Sequence(cursor.get());
+        add(sequence);
+        // Производитель мог продвинуться до добавления курсора. начинаем с актуальной позиции
+        sequence.setVolatile(cursor.get());
+        ConsumerLoop loop = new ConsumerLoop(observer, sequence);
+        scheduler.execute(loop);
+        return loop;
+    }
+
+    /**
+     * Возвращает количество активных потребителей.
+     * @return Количество потребителей
+     */
+    public int consumerCount() {
+        return gating.get().length;
+    }
+
+    private long minimumSequence(long defaultValue) {
+        long minimum = defaultValue;
+        for (Sequence sequence : gating.get()) {
+            minimum = Math.min(minimum, sequence.get());
+        }
+        return minimum;
+    }
+
+    private void add(Sequence sequence) {
+        for (;;) {
+            Sequence[] current = gating.get();
+            Sequence[] updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = sequence;
+            if (gating.compareAndSet(current, updated)) {
+                return;
+            }
+        }
+    }
+
+    private void remove(Sequence sequence) {
+        for (;;) {
+            Sequence[] current = gating.get();
+            int index = -1;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == sequence) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                return;
+            }
+            Sequence[] updated = new Sequence[current.length - 1];
+            System.arraycopy(current, 0, updated, 0, index);
+            System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+            if (gating.compareAndSet(current, updated)) {
+                return;
+            }
+        }
+    }
+
+    private final class ConsumerLoop implements Runnable, Disposable {
+        private final Observer<T> downstream;
+        private final Sequence sequence;
+        private final AtomicBoolean disposed = new AtomicBoolean();
+        private final List<T> batch = new ArrayList<>();
+
+        ConsumerLoop(Observer<T> downstream, Sequence sequence) {
+            this.downstream = downstream;
+            this.sequence = sequence;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void run() {
+            List<T> out = batch;
+            long next = sequence.get() + 1;
+            int attempt = 0;
+            try {
+                while (!disposed.get()) {
+                    Object done = terminal;
+                    long available = cursor.get();
+                    if (available >= next) {
+                        for (long s = next; s <= available; s++) {
+                            out.add((T) entries[(int) s & mask]);
+                        }
+                        // Слот можно освобождать только после чтения. downstream получает копию ссылок
+                        sequence.set(available);
+                        next = available + 1;
+                        attempt = 0;
+                        if (out.size() == 1) {
+                            downstream.onNext(out.get(0));
+                        } else {
+                            downstream.onNextBatch(out);
+                        }
+                        out.clear();
+                    } else if (done != null) {
+                        if (done == COMPLETE) {
+                            downstream.onComplete();
+                        } else {
+                            downstream.onError((Throwable) done);
+                        }
+                        return;
+                    } else {
+                        waitStrategy.idle(attempt++);
+                    }
+                }
+            } catch (Exception e) {
+                downstream.onError(e);
+            } finally {
+                remove(sequence);
+                out.clear();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (disposed.compareAndSet(false, true)) {
+                remove(sequence);
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed.get();
+        }
+    }
+}
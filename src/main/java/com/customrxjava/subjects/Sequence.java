@@ -0,0 +1,42 @@
+package com.customrxjava.subjects;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Счетчик последовательности. Поля заполнения отделяют значение от соседних объектов
+ * чтобы производитель и потребители не делили одну кеш-линию.
+ */
+final class Sequence {
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(Sequence.class, "value", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private long p1, p2, p3, p4, p5, p6, p7;
+    private volatile long value;
+    @SuppressWarnings("unused")
+    private long p9, p10, p11, p12, p13, p14, p15;
+
+    Sequence(long initial) {
+        value = initial;
+    }
+
+    long get() {
+        return (long) VALUE.getAcquire(this);
+    }
+
+    void set(long newValue) {
+        VALUE.setRelease(this, newValue);
+    }
+
+    void setVolatile(long newValue) {
+        value = newValue;
+    }
+}
@@ -0,0 +1,58 @@
+package com.customrxjava.subjects;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Стратегия ожидания для потребителей и производителя RingBufferSubject.
+ * Вызывается в цикле пока нужная последовательность не станет доступной.
+ */
+@FunctionalInterface
+public interface WaitStrategy {
+    // Количество попыток активного ожидания перед переходом к более дешевому способу
+    int SPIN_TRIES = 100;
+
+    /**
+     * Ждет перед следующей проверкой.
+     * @param attempt Номер попытки начиная с нуля. сбрасывается после успешной проверки
+     */
+    void idle(int attempt);
+
+    /**
+     * Активное ожидание. минимальная задержка ценой полной загрузки ядра.
+     * @return WaitStrategy
+     */
+    static WaitStrategy busySpin() {
+        return attempt -> Thread.onSpinWait();
+    }
+
+    /**
+     * Короткое активное ожидание после которого поток уступает процессор.
+     * @return WaitStrategy
+     */
+    static WaitStrategy yielding() {
+        return attempt -> {
+            if (attempt < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        };
+    }
+
+    /**
+     * Активное ожидание затем уступка процессора затем засыпание на parkNanos.
+     * @param parkNanos Время засыпания в наносекундах
+     * @return WaitStrategy
+     */
+    static WaitStrategy parking(long parkNanos) {
+        return attempt -> {
+            if (attempt < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else if (attempt < SPIN_TRIES * 2) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(parkNanos);
+            }
+        };
+    }
+}
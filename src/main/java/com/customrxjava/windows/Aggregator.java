@@ -0,0 +1,91 @@
+package com.customrxjava.windows;
+
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * Инкрементальная агрегация элементов окна.
+ * Вместо хранения всех элементов окно держит только аккумулятор.
+ * Сессионным окнам нужен MergeableAggregator. это проверяется при создании оператора.
+ * @param <T> Тип элементов
+ * @param <A> Тип аккумулятора
+ */
+public interface Aggregator<T, A> {
+
+    /**
+     * Создает пустой аккумулятор для нового окна.
+     * @return Новый аккумулятор
+     */
+    A createAccumulator();
+
+    /**
+     * Добавляет элемент в аккумулятор. можно изменить и вернуть тот же экземпляр.
+     * @param accumulator Текущий аккумулятор
+     * @param item Элемент
+     * @return Обновленный аккумулятор
+     */
+    A add(A accumulator, T item);
+
+    /**
+     * Возвращает значение аккумулятора для выдачи в Window.
+     * По умолчанию выдается сам аккумулятор. Если add изменяет его на месте. то опоздавший элемент изменит и уже
+     * выданный результат. Такой Aggregator должен возвращать здесь копию.
+     * @param accumulator Текущий аккумулятор
+     * @return Значение которое получит подписчик
+     */
+    default A snapshot(A accumulator) {
+        return accumulator;
+    }
+
+    /**
+     * Создает Aggregator из функций. Для сессионных окон нужен вариант с функцией объединения.
+     * @param initial Фабрика пустого аккумулятора
+     * @param add Функция добавления элемента
+     * @param <T> Тип элементов
+     * @param <A> Тип аккумулятора
+     * @return Новый Aggregator
+     */
+    static <T, A> Aggregator<T, A> of(Supplier<A> initial, BiFunction<A, T, A> add) {
+        return new Aggregator<T, A>() {
+            @Override
+            public A createAccumulator() {
+                return initial.get();
+            }
+
+            @Override
+            public A add(A accumulator, T item) {
+                return add.apply(accumulator, item);
+            }
+        };
+    }
+
+    /**
+     * Создает MergeableAggregator из функций. подходит для окон любого типа.
+     * @param initial Фабрика пустого аккумулятора
+     * @param add Функция добавления элемента
+     * @param merge Функция объединения аккумуляторов
+     * @param <T> Тип элементов
+     * @param <A> Тип аккумулятора
+     * @return Новый MergeableAggregator
+     */
+    static <T, A> MergeableAggregator<T, A> of(Supplier<A> initial, BiFunction<A, T, A> add,
+                                               BinaryOperator<A> merge) {
+        return new MergeableAggregator<T, A>() {
+            @Override
+            public A createAccumulator() {
+                return initial.get();
+            }
+
+            @Override
+            public A add(A accumulator, T item) {
+                return add.apply(accumulator, item);
+            }
+
+            @Override
+            public A merge(A first, A second) {
+                return merge.apply(first, second);
+            }
+        };
+    }
+}
@@ -0,0 +1,18 @@
+package com.customrxjava.windows;
+
+/**
+ * Агрегация которая умеет объединять аккумуляторы. Нужна для сессионных окон.
+ * так как новый элемент может соединить две сессии в одну.
+ * @param <T> Тип элементов
+ * @param <A> Тип аккумулятора
+ */
+public interface MergeableAggregator<T, A> extends Aggregator<T, A> {
+
+    /**
+     * Объединяет два аккумулятора.
+     * @param first Аккумулятор более ранней сессии
+     * @param second Аккумулятор более поздней сессии
+     * @return Объединенный аккумулятор
+     */
+    A merge(A first, A second);
+}
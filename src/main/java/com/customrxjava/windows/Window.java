@@ -0,0 +1,56 @@
+package com.customrxjava.windows;
+
+/**
+ * Закрытое окно с результатом агрегации.
+ * @param <A> Тип аккумулятора
+ */
+public final class Window<A> {
+    private final long start;
+    private final long end;
+    private final A result;
+    private final boolean lateUpdate;
+
+    public Window(long start, long end, A result, boolean lateUpdate) {
+        this.start = start;
+        this.end = end;
+        this.result = result;
+        this.lateUpdate = lateUpdate;
+    }
+
+    /**
+     * Начало окна включительно.
+     * @return Начало окна
+     */
+    public long getStart() {
+        return start;
+    }
+
+    /**
+     * Конец окна не включительно.
+     * @return Конец окна
+     */
+    public long getEnd() {
+        return end;
+    }
+
+    /**
+     * Результат агрегации. Это значение Aggregator.snapshot. без копии оно общее с аккумулятором оператора.
+     * @return Результат окна
+     */
+    public A getResult() {
+        return result;
+    }
+
+    /**
+     * Возвращает true если это повторная выдача окна из-за опоздавшего элемента.
+     * @return true для обновления уже выданного окна
+     */
+    public boolean isLateUpdate() {
+        return lateUpdate;
+    }
+
+    @Override
+    public String toString() {
+        return "Window[" + start + ", " + end + ")=" + result + (lateUpdate ? " (late)" : "");
+    }
+}
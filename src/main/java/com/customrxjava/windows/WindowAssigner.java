@@ -0,0 +1,80 @@
+package com.customrxjava.windows;
+
+/**
+ * Описывает как элементы распределяются по окнам на основе их метки времени.
+ * Все длительности задаются в тех же единицах что и метки времени элементов.
+ */
+public final class WindowAssigner {
+
+    /**
+     * Тип окна.
+     */
+    public enum Kind {
+        TUMBLING,
+        SLIDING,
+        SESSION
+    }
+
+    private final Kind kind;
+    private final long size;
+    private final long slide;
+
+    private WindowAssigner(Kind kind, long size, long slide) {
+        this.kind = kind;
+        this.size = size;
+        this.slide = slide;
+    }
+
+    /**
+     * Неперекрывающиеся окна фиксированного размера.
+     * @param size Размер окна
+     * @return Новый WindowAssigner
+     */
+    public static WindowAssigner tumbling(long size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size must be positive: " + size);
+        }
+        return new WindowAssigner(Kind.TUMBLING, size, size);
+    }
+
+    /**
+     * Скользящие окна фиксированного размера которые начинаются каждые slide единиц времени.
+     * @param size Размер окна
+     * @param slide Шаг между началами соседних окон
+     * @return Новый WindowAssigner
+     */
+    public static WindowAssigner sliding(long size, long slide) {
+        if (size <= 0 || slide <= 0) {
+            throw new IllegalArgumentException("size and slide must be positive: " + size + ", " + slide);
+        }
+        return new WindowAssigner(Kind.SLIDING, size, slide);
+    }
+
+    /**
+     * Сессионные окна. окно закрывается если между элементами прошло не меньше gap единиц времени.
+     * @param gap Максимальный разрыв внутри сессии
+     * @return Новый WindowAssigner
+     */
+    public static WindowAssigner session(long gap) {
+        if (gap <= 0) {
+            throw new IllegalArgumentException("gap must be positive: " + gap);
+        }
+        return new WindowAssigner(Kind.SESSION, gap, gap);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Размер окна. для сессионных окон - разрыв сессии.
+     * @return Размер окна
+     */
+    public long getSize() {
+        return size;
+    }
+
+    public long getSlide() {
+        return slide;
+    }
+}
@@ -0,0 +1,181 @@
+package com.customrxjava;
+
+import com.customrxjava.schedulers.SingleThreadScheduler;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+/**
+ * Проверяет сколько байт выделяется на элемент и на подписку для операторов и переходов между потоками.
+ * Память считается через com.sun.management.ThreadMXBean.getThreadAllocatedBytes по всем живым потокам.
+ * Базовые значения лежат в allocation-baselines.properties. Тест падает если выделение выросло больше чем
+ * на допуск. Чтобы обновить базу после осознанного изменения запустите тесты с -Dallocation.print=true
+ * и перенесите выведенные значения в файл.
+ */
+public class AllocationRegressionTest {
+    private static final int ELEMENTS = 200_000;
+    private static final int SUBSCRIPTIONS = 20_000;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURE_ROUNDS = 5;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final Properties BASELINES = loadBaselines();
+    private static final Integer[] VALUES = values(ELEMENTS);
+
+    @Test
+    void testMapFilterPerElement() {
+        Observable<Integer> source = arraySource();
+        check("map.filter.perElement", perElement(n ->
+            source.map(i -> i).filter(i -> true).subscribe(i -> {}, e -> {}, () -> {})));
+    }
+
+    @Test
+    void testFusedRangeMapFilterPerElement() {
+        check("range.map.filter.perElement", perElement(n ->
+            Observable.range(0, n).map(i -> i).filter(i -> true).subscribe(i -> {}, e -> {}, () -> {})));
+    }
+
+    @Test
+    void testObserveOnPerElement() {
+        SingleThreadScheduler scheduler = new SingleThreadScheduler();
+        Observable<Integer> source = arraySource();
+        check("observeOn.perElement", perElement(n -> awaitCompletion(source.observeOn(scheduler))));
+    }
+
+    @Test
+    void testMergePerElement() {
+        Observable<Integer> source = arraySource();
+        check("merge.perElement", perElement(n ->
+            Observable.mergeArray(source, Observable.<Integer>create(Observer::onComplete))
+                .subscribe(i -> {}, e -> {}, () -> {})));
+    }
+
+    @Test
+    void testZipPerElement() {
+        Observable<Integer> source = arraySource();
+        check("zip.perElement", perElement(n ->
+            Observable.zip(source, source, (a, b) -> a).subscribe(i -> {}, e -> {}, () -> {})));
+    }
+
+    @Test
+    void testMapFilterPerSubscription() {
+        Observable<Integer> source = Observable.create(observer -> {
+            observer.onNext(VALUES[0]);
+            observer.onComplete();
+        });
+        check("map.filter.perSubscription", perSubscription(() ->
+            source.map(i -> i).filter(i -> true).subscribe(i -> {}, e -> {}, () -> {})));
+    }
+
+    @Test
+    void testSubscribeOnPerSubscription() {
+        SingleThreadScheduler scheduler = new SingleThreadScheduler();
+        Observable<Integer> source = Observable.create(Observer::onComplete);
+        check("subscribeOn.perSubscription", perSubscription(() -> awaitCompletion(source.subscribeOn(scheduler))));
+    }
+
+    @Test
+    void testSinglePerSubscription() {
+        Single<Integer> source = Single.just(VALUES[0]);
+        check("single.map.perSubscription", perSubscription(() ->
+            source.map(i -> i).subscribe(i -> {}, e -> {})));
+    }
+
+    private static Observable<Integer> arraySource() {
+        // Источник без слияния и упаковки чисел. чтобы мерить только операторы
+        return Observable.create(observer -> {
+            for (Integer value : VALUES) {
+                observer.onNext(value);
+            }
+            observer.onComplete();
+        });
+    }
+
+    private static void awaitCompletion(Observable<Integer> observable) {
+        CountDownLatch latch = new CountDownLatch(1);
+        observable.subscribe(i -> {}, e -> latch.countDown(), latch::countDown);
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static double perElement(IntConsumer run) {
+        return measure(() -> run.accept(ELEMENTS)) / ELEMENTS;
+    }
+
+    private static double perSubscription(Runnable subscribe) {
+        return measure(() -> {
+            for (int i = 0; i < SUBSCRIPTIONS; i++) {
+                subscribe.run();
+            }
+        }) / SUBSCRIPTIONS;
+    }
+
+    // Минимум по нескольким замерам после прогрева. чтобы отсечь работу JIT и случайные выделения
+    private static double measure(Runnable run) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            run.run();
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            long[] ids = THREADS.getAllThreadIds();
+            long[] before = THREADS.getThreadAllocatedBytes(ids);
+            run.run();
+            long[] after = THREADS.getThreadAllocatedBytes(ids);
+            long total = 0;
+            for (int t = 0; t < ids.length; t++) {
+                if (before[t] >= 0 && after[t] >= 0) {
+                    total += after[t] - before[t];
+                }
+            }
+            best = Math.min(best, total);
+        }
+        return best;
+    }
+
+    private static void check(String key, double measured) {
+        if (Boolean.getBoolean("allocation.print")) {
+            System.out.printf("%s=%.1f%n", key, measured);
+        }
+        String baseline = BASELINES.getProperty(key);
+        assertNotNull(baseline, "no baseline for " + key + ", measured " + measured);
+        double percent = Double.parseDouble(BASELINES.getProperty("tolerance.percent"));
+        double bytes = Double.parseDouble(BASELINES.getProperty(
+            key.endsWith("perElement") ? "tolerance.bytesPerElement" : "tolerance.bytesPerSubscription"));
+        double limit = Double.parseDouble(baseline) * (1 + percent / 100) + bytes;
+        assertTrue(measured <= limit, String.format("%s allocates %.1f bytes, baseline %s, limit %.1f",
+            key, measured, baseline, limit));
+    }
+
+    private static Properties loadBaselines() {
+        Properties properties = new Properties();
+        try (InputStream in = AllocationRegressionTest.class.getResourceAsStream("/allocation-baselines.properties")) {
+            if (in == null) {
+                throw new IllegalStateException("allocation-baselines.properties not found");
+            }
+            properties.load(in);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return properties;
+    }
+
+    private static Integer[] values(int count) {
+        Integer[] values = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = i;
+        }
+        return values;
+    }
+}
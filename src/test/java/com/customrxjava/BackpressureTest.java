@@ -0,0 +1,209 @@
+package com.customrxjava;
+
+import com.customrxjava.flow.BackpressurePublisher;
+import com.customrxjava.flow.BufferOverflow;
+import com.customrxjava.schedulers.SingleThreadScheduler;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class BackpressureTest {
+
+    @Test
+    void testBufferOverflowErrorCancelsSource() {
+        AtomicBoolean sourceDisposed = new AtomicBoolean();
+        Observable<Integer> source = Observable.create(observer -> {
+            for (int i = 0; i < 10; i++) {
+                observer.onNext(i);
+            }
+            sourceDisposed.set(((Disposable) observer).isDisposed());
+            observer.onComplete();
+        });
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>(2);
+
+        source.onBackpressureBuffer(4).subscribe(subscriber);
+
+        assertEquals(List.of(0, 1), subscriber.items);
+        assertTrue(subscriber.error.get() instanceof IllegalStateException);
+        assertFalse(subscriber.completed);
+        assertTrue(sourceDisposed.get());
+    }
+
+    @Test
+    void testBufferDropOldest() {
+        BackpressurePublisher<Integer> publisher = Observable.range(0, 10)
+            .onBackpressureBuffer(3, BufferOverflow.DROP_OLDEST);
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>(0);
+
+        publisher.subscribe(subscriber);
+        assertTrue(subscriber.items.isEmpty());
+        subscriber.subscription.request(10);
+
+        assertEquals(List.of(7, 8, 9), subscriber.items);
+        assertTrue(subscriber.completed);
+        assertEquals(7, publisher.getDroppedCount());
+    }
+
+    @Test
+    void testBufferDropLatest() {
+        BackpressurePublisher<Integer> publisher = Observable.range(0, 10)
+            .onBackpressureBuffer(3, BufferOverflow.DROP_LATEST);
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>(0);
+
+        publisher.subscribe(subscriber);
+        subscriber.subscription.request(10);
+
+        assertEquals(List.of(0, 1, 2), subscriber.items);
+        assertEquals(7, publisher.getDroppedCount());
+    }
+
+    @Test
+    void testDropWithoutDemand() {
+        List<Integer> droppedItems = new ArrayList<>();
+        BackpressurePublisher<Integer> publisher = Observable.range(0, 10).onBackpressureDrop(droppedItems::add);
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>(2);
+
+        publisher.subscribe(subscriber);
+        subscriber.subscription.request(5);
+
+        assertEquals(List.of(0, 1), subscriber.items);
+        assertEquals(List.of(2, 3, 4, 5, 6, 7, 8, 9), droppedItems);
+        assertEquals(8, publisher.getDroppedCount());
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    void testLatestKeepsLastItem() {
+        BackpressurePublisher<Integer> publisher = Observable.range(0, 10).onBackpressureLatest();
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>(1);
+
+        publisher.subscribe(subscriber);
+        assertEquals(List.of(0), subscriber.items);
+        // Завершение ждет пока последний элемент не будет запрошен
+        assertFalse(subscriber.completed);
+
+        subscriber.subscription.request(1);
+
+        assertEquals(List.of(0, 9), subscriber.items);
+        assertTrue(subscriber.completed);
+        assertEquals(8, publisher.getDroppedCount());
+    }
+
+    @Test
+    void testErrorWithoutDemand() {
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>(3);
+
+        Observable.range(0, 10).onBackpressureError().subscribe(subscriber);
+
+        assertEquals(List.of(0, 1, 2), subscriber.items);
+        assertTrue(subscriber.error.get() instanceof IllegalStateException);
+    }
+
+    @Test
+    void testSlowConsumerOnSchedulerDropsInsteadOfQueueing() throws InterruptedException {
+        int total = 5_000;
+        List<Integer> items = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(1);
+        BackpressurePublisher<Integer> publisher = Observable.range(0, total).onBackpressureDrop();
+
+        publisher.observeOn(new SingleThreadScheduler(), 16)
+            .subscribe(item -> {
+                items.add(item);
+                sleep(1);
+            }, error -> fail(error.toString()), latch::countDown);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(items.size() < total, "received " + items.size());
+        assertEquals(total, items.size() + publisher.getDroppedCount());
+        for (int i = 1; i < items.size(); i++) {
+            assertTrue(items.get(i - 1) < items.get(i));
+        }
+    }
+
+    @Test
+    void testRejectedDrainEndsWithErrorAndCancelsSource() {
+        AtomicBoolean sourceDisposed = new AtomicBoolean();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        List<Integer> items = new ArrayList<>();
+        Scheduler rejecting = task -> {
+            throw new RejectedExecutionException("Scheduler is shut down");
+        };
+        Observable<Integer> source = Observable.create(observer -> {
+            for (int i = 0; i < 10; i++) {
+                observer.onNext(i);
+            }
+            sourceDisposed.set(((Disposable) observer).isDisposed());
+            observer.onComplete();
+        });
+
+        source.onBackpressureBuffer(16).observeOn(rejecting)
+            .subscribe(items::add, error::set, () -> fail("completed"));
+
+        assertTrue(items.isEmpty());
+        assertTrue(error.get() instanceof RejectedExecutionException);
+        assertTrue(sourceDisposed.get());
+    }
+
+    @Test
+    void testToPublisherStillBuffersEverything() {
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>(0);
+
+        Observable.range(0, 1000).toPublisher().subscribe(subscriber);
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertEquals(1000, subscriber.items.size());
+        assertTrue(subscriber.completed);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class TestSubscriber<T> implements Flow.Subscriber<T> {
+        private final long initialRequest;
+        final List<T> items = new ArrayList<>();
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        Flow.Subscription subscription;
+        boolean completed;
+
+        TestSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (initialRequest > 0) {
+                subscription.request(initialRequest);
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error.set(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.customrxjava;
+
+import com.customrxjava.schedulers.ComputationScheduler;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class BatchObserverTest {
+
+    @Test
+    void testDefaultBatchDeliversEachItem() {
+        List<String> items = new ArrayList<>();
+        Observer<String> observer = new Observer<String>() {
+            @Override
+            public void onNext(String item) {
+                items.add(item);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        };
+
+        observer.onNextBatch(Arrays.asList("a", "b", "c"));
+
+        assertEquals(Arrays.asList("a", "b", "c"), items);
+    }
+
+    @Test
+    void testMapAndFilterPassBatchesThrough() {
+        BatchCountingObserver<String> observer = new BatchCountingObserver<>();
+
+        Observable.<Integer>create(o -> {
+            o.onNextBatch(Arrays.asList(1, 2, 3, 4, 5, 6));
+            o.onComplete();
+        }).filter(i -> i % 2 == 0)
+            .map(i -> "v" + i)
+            .subscribe(observer);
+
+        assertEquals(Arrays.asList("v2", "v4", "v6"), observer.items);
+        assertEquals(1, observer.batches.get());
+        assertEquals(0, observer.singles.get());
+        assertTrue(observer.completed);
+    }
+
+    @Test
+    void testMapErrorInBatchTerminates() {
+        BatchCountingObserver<Integer> observer = new BatchCountingObserver<>();
+
+        Observable.<Integer>create(o -> {
+            o.onNextBatch(Arrays.asList(1, 0, 2));
+            o.onComplete();
+        }).map(i -> 2 / i)
+            .subscribe(observer);
+
+        // Элементы до ошибки выдаются. остальные элементы пачки и onComplete отбрасываются
+        assertEquals(Arrays.asList(2), observer.items);
+        assertTrue(observer.error instanceof ArithmeticException);
+        assertFalse(observer.completed);
+    }
+
+    @Test
+    void testObserveOnPreservesOrderOnMultiThreadedScheduler() throws InterruptedException {
+        int itemCount = 10000;
+        List<Integer> results = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Observable.<Integer>create(o -> {
+            for (int i = 0; i < itemCount; i++) {
+                o.onNext(i);
+            }
+            o.onComplete();
+        }).observeOn(new ComputationScheduler())
+            .subscribe(results::add, error -> {}, latch::countDown);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(itemCount, results.size());
+        for (int i = 0; i < itemCount; i++) {
+            assertEquals(Integer.valueOf(i), results.get(i));
+        }
+    }
+
+    @Test
+    void testObserveOnDeliversBatches() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        BatchCountingObserver<Integer> observer = new BatchCountingObserver<Integer>() {
+            @Override
+            public void onComplete() {
+                super.onComplete();
+                done.countDown();
+            }
+        };
+        AtomicReference<Integer> first = new AtomicReference<>();
+
+        Observable.<Integer>create(o -> {
+            o.onNext(-1);
+            try {
+                // Ждем пока потребитель займет поток чтобы остальные элементы накопились в очереди
+                assertTrue(started.await(1, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            for (int i = 0; i < 100; i++) {
+                o.onNext(i);
+            }
+            o.onComplete();
+            release.countDown();
+        }).observeOn(new ComputationScheduler())
+            .map(i -> {
+                if (i == -1) {
+                    first.set(i);
+                    started.countDown();
+                    try {
+                        release.await(1, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return i;
+            })
+            .subscribe(observer);
+
+        assertTrue(done.await(2, TimeUnit.SECONDS));
+        assertEquals(Integer.valueOf(-1), first.get());
+        assertEquals(101, observer.items.size());
+        assertEquals(1, observer.batches.get());
+    }
+
+    @Test
+    void testMapDownstreamFailureTerminates() {
+        AtomicInteger errors = new AtomicInteger();
+        AtomicInteger received = new AtomicInteger();
+        AtomicReference<Boolean> completed = new AtomicReference<>(false);
+
+        Observable.<Integer>create(o -> {
+            o.onNext(1);
+            o.onNextBatch(Arrays.asList(2, 3));
+            o.onComplete();
+        }).map(i -> i * 10)
+            .subscribe(i -> {
+                received.incrementAndGet();
+                throw new IllegalStateException("consumer failed");
+            }, error -> errors.incrementAndGet(), () -> completed.set(true));
+
+        // Сбой downstream завершает поток. следующие сигналы источника отбрасываются
+        assertEquals(1, received.get());
+        assertEquals(1, errors.get());
+        assertFalse(completed.get());
+    }
+
+    @Test
+    void testObserveOnDownstreamFailureTerminates() throws InterruptedException {
+        CountDownLatch failed = new CountDownLatch(1);
+        AtomicInteger errors = new AtomicInteger();
+        AtomicInteger received = new AtomicInteger();
+        AtomicReference<Boolean> completed = new AtomicReference<>(false);
+        AtomicReference<Observer<Integer>> emitter = new AtomicReference<>();
+
+        Observable.<Integer>create(o -> {
+            emitter.set(o);
+            o.onNext(1);
+        }).observeOn(new ComputationScheduler())
+            .subscribe(new Observer<Integer>() {
+                @Override
+                public void onNext(Integer item) {
+                    received.incrementAndGet();
+                    throw new IllegalStateException("consumer failed");
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    errors.incrementAndGet();
+                    failed.countDown();
+                }
+
+                @Override
+                public void onComplete() {
+                    completed.set(true);
+                }
+            });
+
+        assertTrue(failed.await(1, TimeUnit.SECONDS));
+        // После сбоя observeOn не зависает с занятым счетчиком и игнорирует новые сигналы
+        emitter.get().onNext(2);
+        emitter.get().onComplete();
+        Thread.sleep(100);
+        assertEquals(1, received.get());
+        assertEquals(1, errors.get());
+        assertFalse(completed.get());
+    }
+
+    private static class BatchCountingObserver<T> implements Observer<T> {
+        final List<T> items = new ArrayList<>();
+        final AtomicInteger batches = new AtomicInteger();
+        final AtomicInteger singles = new AtomicInteger();
+        volatile Throwable error;
+        volatile boolean completed;
+
+        @Override
+        public void onNext(T item) {
+            singles.incrementAndGet();
+            items.add(item);
+        }
+
+        @Override
+        public void onNextBatch(List<T> batch) {
+            batches.incrementAndGet();
+            items.addAll(batch);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = t;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.customrxjava;
+
+import com.customrxjava.schedulers.IOThreadScheduler;
+import com.customrxjava.schedulers.SingleThreadScheduler;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class BlockingTest {
+
+    @Test
+    void testBlockingIterableFromSyncSource() {
+        List<Integer> items = new ArrayList<>();
+        for (Integer i : Observable.range(0, 500).map(i -> i * 2).blockingIterable()) {
+            items.add(i);
+        }
+
+        assertEquals(500, items.size());
+        assertEquals(Integer.valueOf(998), items.get(499));
+    }
+
+    @Test
+    void testBlockingIterableFromAsyncSource() {
+        List<Integer> items = new ArrayList<>();
+        for (Integer i : Observable.range(0, 10000).observeOn(new SingleThreadScheduler()).blockingIterable()) {
+            items.add(i);
+        }
+
+        assertEquals(10000, items.size());
+        assertEquals(Integer.valueOf(9999), items.get(9999));
+    }
+
+    @Test
+    void testProducerWaitsForConsumer() throws InterruptedException {
+        AtomicInteger produced = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        Observable<Integer> source = Observable.<Integer>create(observer -> {
+            started.countDown();
+            for (int i = 0; i < 1000 && !isDisposed(observer); i++) {
+                produced.incrementAndGet();
+                observer.onNext(i);
+            }
+            observer.onComplete();
+        }).subscribeOn(new IOThreadScheduler());
+
+        Iterator<Integer> iterator = source.blockingIterable(16).iterator();
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        Thread.sleep(100);
+
+        // Производитель остановился на размере очереди
+        assertTrue(produced.get() <= 17, "produced " + produced.get());
+        int count = 0;
+        while (iterator.hasNext()) {
+            iterator.next();
+            count++;
+        }
+        assertEquals(1000, count);
+    }
+
+    @Test
+    void testBlockingIterableRethrowsError() {
+        Iterator<Integer> iterator = Observable.<Integer>create(observer -> {
+            observer.onNext(1);
+            observer.onError(new IllegalStateException("boom"));
+        }).blockingIterable().iterator();
+
+        assertEquals(Integer.valueOf(1), iterator.next());
+        assertThrows(IllegalStateException.class, iterator::hasNext);
+    }
+
+    @Test
+    void testToStream() {
+        List<String> items;
+        try (Stream<String> stream = Observable.range(0, 5).map(i -> "v" + i).toStream()) {
+            items = stream.collect(Collectors.toList());
+        }
+
+        assertEquals(List.of("v0", "v1", "v2", "v3", "v4"), items);
+    }
+
+    @Test
+    void testToStreamCloseDisposesUpstream() throws InterruptedException {
+        CountDownLatch stopped = new CountDownLatch(1);
+        Observable<Integer> source = Observable.<Integer>create(observer -> {
+            int i = 0;
+            while (!isDisposed(observer)) {
+                observer.onNext(i++);
+            }
+            stopped.countDown();
+        }).subscribeOn(new IOThreadScheduler());
+
+        try (Stream<Integer> stream = source.toStream()) {
+            assertEquals(10, stream.limit(10).count());
+        }
+
+        assertTrue(stopped.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testBlockingFirstDisposesUpstream() {
+        AtomicInteger emitted = new AtomicInteger();
+        Observable<Integer> source = Observable.create(observer -> {
+            for (int i = 0; i < 100 && !isDisposed(observer); i++) {
+                emitted.incrementAndGet();
+                observer.onNext(i);
+            }
+            observer.onComplete();
+        });
+
+        assertEquals(Integer.valueOf(0), source.blockingFirst());
+        assertEquals(1, emitted.get());
+    }
+
+    @Test
+    void testBlockingFirstAndLastDefaults() {
+        Observable<Integer> empty = Observable.create(Observer::onComplete);
+
+        assertThrows(NoSuchElementException.class, empty::blockingFirst);
+        assertThrows(NoSuchElementException.class, empty::blockingLast);
+        assertEquals(Integer.valueOf(-1), empty.blockingFirst(-1));
+        assertEquals(Integer.valueOf(-1), empty.blockingLast(-1));
+    }
+
+    @Test
+    void testBlockingLastAsync() {
+        Integer last = Observable.range(0, 1000).observeOn(new SingleThreadScheduler()).blockingLast();
+
+        assertEquals(Integer.valueOf(999), last);
+    }
+
+    @Test
+    void testBlockingLastRethrowsError() {
+        Observable<Integer> failing = Observable.create(observer -> observer.onError(new IllegalArgumentException("bad")));
+
+        assertThrows(IllegalArgumentException.class, failing::blockingLast);
+    }
+
+    @Test
+    void testBlockingSubscribeRunsOnCallerThread() {
+        Thread caller = Thread.currentThread();
+        List<Integer> items = new ArrayList<>();
+        AtomicReference<Thread> completeThread = new AtomicReference<>();
+
+        Observable.range(0, 300).observeOn(new SingleThreadScheduler()).blockingSubscribe(
+            i -> {
+                assertSame(caller, Thread.currentThread());
+                items.add(i);
+            },
+            error -> fail(error.toString()),
+            () -> completeThread.set(Thread.currentThread()));
+
+        assertEquals(300, items.size());
+        assertSame(caller, completeThread.get());
+    }
+
+    @Test
+    void testBlockingSubscribeDeliversError() {
+        AtomicReference<Throwable> error = new AtomicReference<>();
+
+        Observable.<Integer>create(observer -> observer.onError(new IllegalStateException("boom")))
+            .subscribeOn(new IOThreadScheduler())
+            .blockingSubscribe(i -> {}, error::set, () -> fail("completed"));
+
+        assertTrue(error.get() instanceof IllegalStateException);
+    }
+
+    private static boolean isDisposed(Observer<?> observer) {
+        return observer instanceof Disposable && ((Disposable) observer).isDisposed();
+    }
+}
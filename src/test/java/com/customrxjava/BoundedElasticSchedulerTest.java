@@ -0,0 +1,163 @@
+package com.customrxjava;
+
+import com.customrxjava.schedulers.BoundedElasticScheduler;
+import com.customrxjava.schedulers.BoundedElasticScheduler.OverflowPolicy;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class BoundedElasticSchedulerTest {
+
+    @Test
+    void testThreadCountIsBounded() throws InterruptedException {
+        BoundedElasticScheduler scheduler = new BoundedElasticScheduler(3, 100, Duration.ofSeconds(10), OverflowPolicy.REJECT);
+        int tasks = 30;
+        CountDownLatch done = new CountDownLatch(tasks);
+        Set<String> threadNames = ConcurrentHashMap.newKeySet();
+
+        for (int i = 0; i < tasks; i++) {
+            scheduler.execute(() -> {
+                threadNames.add(Thread.currentThread().getName());
+                sleep(10);
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(threadNames.size() <= 3, "threads " + threadNames.size());
+        assertEquals(0, scheduler.getRejectedCount());
+        scheduler.shutdown();
+    }
+
+    @Test
+    void testRejectWhenQueueIsFull() throws InterruptedException {
+        BoundedElasticScheduler scheduler = new BoundedElasticScheduler(1, 2, Duration.ofSeconds(10), OverflowPolicy.REJECT);
+        CountDownLatch release = new CountDownLatch(1);
+
+        scheduler.execute(() -> await(release));
+        scheduler.execute(() -> {});
+        scheduler.execute(() -> {});
+
+        assertEquals(2, scheduler.getQueuedCount());
+        assertThrows(RejectedExecutionException.class, () -> scheduler.execute(() -> {}));
+        assertEquals(1, scheduler.getRejectedCount());
+        release.countDown();
+        scheduler.shutdown();
+    }
+
+    @Test
+    void testCallerRunsWhenQueueIsFull() {
+        BoundedElasticScheduler scheduler = new BoundedElasticScheduler(1, 1, Duration.ofSeconds(10), OverflowPolicy.CALLER_RUNS);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<Thread> ranOn = new AtomicReference<>();
+
+        scheduler.execute(() -> await(release));
+        scheduler.execute(() -> {});
+        scheduler.execute(() -> ranOn.set(Thread.currentThread()));
+
+        assertSame(Thread.currentThread(), ranOn.get());
+        assertEquals(1, scheduler.getRejectedCount());
+        release.countDown();
+        scheduler.shutdown();
+    }
+
+    @Test
+    void testBlockWaitsForQueueSpace() throws InterruptedException {
+        BoundedElasticScheduler scheduler = new BoundedElasticScheduler(1, 1, Duration.ofSeconds(10), OverflowPolicy.BLOCK);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch last = new CountDownLatch(1);
+        AtomicBoolean submitted = new AtomicBoolean();
+
+        scheduler.execute(() -> await(release));
+        scheduler.execute(() -> {});
+        Thread producer = new Thread(() -> {
+            scheduler.execute(last::countDown);
+            submitted.set(true);
+        });
+        producer.start();
+
+        Thread.sleep(100);
+        // Производитель ждет места в очереди
+        assertFalse(submitted.get());
+        release.countDown();
+        assertTrue(last.await(1, TimeUnit.SECONDS));
+        producer.join(1000);
+        assertTrue(submitted.get());
+        assertEquals(1, scheduler.getRejectedCount());
+        scheduler.shutdown();
+    }
+
+    @Test
+    void testBlockedProducerIsRejectedOnShutdown() throws InterruptedException {
+        BoundedElasticScheduler scheduler = new BoundedElasticScheduler(1, 1, Duration.ofSeconds(10), OverflowPolicy.BLOCK);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+
+        scheduler.execute(() -> await(release));
+        scheduler.execute(() -> {});
+        Thread producer = new Thread(() -> {
+            try {
+                scheduler.execute(() -> {});
+            } catch (RejectedExecutionException e) {
+                error.set(e);
+            }
+        });
+        producer.start();
+
+        Thread.sleep(100);
+        scheduler.shutdown();
+        // Очередь все еще полна. производитель должен проснуться и получить отказ
+        producer.join(1000);
+        assertFalse(producer.isAlive());
+        assertTrue(error.get() instanceof RejectedExecutionException);
+        release.countDown();
+    }
+
+    @Test
+    void testIdleThreadsAreEvicted() throws InterruptedException {
+        BoundedElasticScheduler scheduler = new BoundedElasticScheduler(4, 10, Duration.ofMillis(50), OverflowPolicy.REJECT);
+        CountDownLatch done = new CountDownLatch(4);
+
+        for (int i = 0; i < 4; i++) {
+            scheduler.execute(() -> {
+                sleep(20);
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+        assertEquals(4, scheduler.getPoolSize());
+
+        Thread.sleep(300);
+        assertEquals(0, scheduler.getPoolSize());
+
+        // После простоя пул снова создает потоки
+        CountDownLatch again = new CountDownLatch(1);
+        scheduler.execute(again::countDown);
+        assertTrue(again.await(1, TimeUnit.SECONDS));
+        scheduler.shutdown();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
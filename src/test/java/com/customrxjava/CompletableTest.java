@@ -0,0 +1,77 @@
+package com.customrxjava;
+
+import com.customrxjava.schedulers.IOThreadScheduler;
+import com.customrxjava.schedulers.SingleThreadScheduler;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class CompletableTest {
+
+    @Test
+    void testAndThenRunsInOrder() {
+        List<String> calls = new ArrayList<>();
+        AtomicInteger completions = new AtomicInteger();
+
+        Completable.fromRunnable(() -> calls.add("first"))
+            .andThen(Completable.fromRunnable(() -> calls.add("second")))
+            .subscribe(completions::incrementAndGet, error -> fail(error.toString()));
+
+        assertEquals(List.of("first", "second"), calls);
+        assertEquals(1, completions.get());
+    }
+
+    @Test
+    void testErrorSkipsAndThen() {
+        AtomicInteger calls = new AtomicInteger();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+
+        Completable.fromRunnable(() -> {
+            throw new IllegalStateException("boom");
+        })
+            .andThen(Completable.fromRunnable(calls::incrementAndGet))
+            .subscribe(() -> fail("completed"), error::set);
+
+        assertEquals(0, calls.get());
+        assertTrue(error.get() instanceof IllegalStateException);
+    }
+
+    @Test
+    void testSubscribeOnObserveOnToFuture() throws Exception {
+        AtomicReference<Thread> actionThread = new AtomicReference<>();
+
+        CompletableFuture<Void> future = Completable.fromRunnable(() -> actionThread.set(Thread.currentThread()))
+            .subscribeOn(new IOThreadScheduler())
+            .observeOn(new SingleThreadScheduler())
+            .toFuture();
+
+        assertNull(future.get(1, TimeUnit.SECONDS));
+        assertNotSame(Thread.currentThread(), actionThread.get());
+    }
+
+    @Test
+    void testFromFuture() {
+        CompletableFuture<String> source = new CompletableFuture<>();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+
+        Completable.fromFuture(source).subscribe(() -> fail("completed"), error::set);
+        source.completeExceptionally(new IllegalArgumentException("bad"));
+
+        assertTrue(error.get() instanceof IllegalArgumentException);
+    }
+
+    @Test
+    void testToFutureFailsWithError() {
+        CompletableFuture<Void> future = Completable.error(new IllegalStateException()).toFuture();
+
+        ExecutionException e = assertThrows(ExecutionException.class, future::get);
+        assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+}
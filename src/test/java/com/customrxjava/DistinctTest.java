@@ -0,0 +1,175 @@
+package com.customrxjava;
+
+import com.customrxjava.distinct.LongSeenSet;
+import com.customrxjava.distinct.SeenSet;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class DistinctTest {
+
+    @Test
+    void testDistinctRemovesAllDuplicates() {
+        List<Integer> result = new ArrayList<>();
+        Observable.fromIterable(Arrays.asList(1, 2, 1, 3, 2, 4, 1))
+            .distinct()
+            .subscribe(result::add, error -> fail(error.toString()), () -> {});
+
+        assertEquals(Arrays.asList(1, 2, 3, 4), result);
+    }
+
+    @Test
+    void testLruWindowForgetsOldKeys() {
+        List<Integer> result = new ArrayList<>();
+        Observable.fromIterable(Arrays.asList(1, 2, 3, 1, 4, 2, 3))
+            .distinct(item -> item, () -> SeenSet.lru(2))
+            .subscribe(result::add, error -> fail(error.toString()), () -> {});
+
+        // После 1, 2, 3 помнятся 2 и 3. повтор 1 проходит снова и вытесняет 2
+        assertEquals(Arrays.asList(1, 2, 3, 1, 4, 2, 3), result);
+
+        List<Integer> recent = new ArrayList<>();
+        Observable.fromIterable(Arrays.asList(1, 2, 1, 3, 1, 2))
+            .distinct(item -> item, () -> SeenSet.lru(2))
+            .subscribe(recent::add, error -> fail(error.toString()), () -> {});
+
+        // Повтор 1 продлевает его жизнь. поэтому вытесняется 2
+        assertEquals(Arrays.asList(1, 2, 3, 2), recent);
+    }
+
+    @Test
+    void testSeenSetIsCreatedPerSubscription() {
+        Observable<Integer> source = Observable.fromIterable(Arrays.asList(1, 1, 2))
+            .distinct(item -> item, () -> SeenSet.lru(16));
+
+        for (int i = 0; i < 2; i++) {
+            List<Integer> result = new ArrayList<>();
+            source.subscribe(result::add, error -> fail(error.toString()), () -> {});
+            assertEquals(Arrays.asList(1, 2), result);
+        }
+    }
+
+    @Test
+    void testExpiringSetForgetsKeysAfterTtl() throws InterruptedException {
+        SeenSet<String> seen = SeenSet.expiring(Duration.ofMillis(50), 100);
+
+        assertTrue(seen.add("a"));
+        assertFalse(seen.add("a"));
+        Thread.sleep(100);
+        assertTrue(seen.add("a"));
+        assertFalse(seen.add("a"));
+    }
+
+    @Test
+    void testExpiringSetRespectsMaxSize() {
+        SeenSet<Integer> seen = SeenSet.expiring(Duration.ofMinutes(1), 3);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(seen.add(i));
+        }
+        // Ключ 0 вытеснен по размеру. 3 еще помнится
+        assertTrue(seen.add(0));
+        assertFalse(seen.add(3));
+    }
+
+    @Test
+    void testBloomNeverPassesDuplicates() {
+        List<Integer> result = new ArrayList<>();
+        List<Integer> input = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            input.add(i % 1_000);
+        }
+        Observable.fromIterable(input)
+            .distinct(item -> item, () -> SeenSet.bloom(1_000, 0.01))
+            .subscribe(result::add, error -> fail(error.toString()), () -> {});
+
+        assertEquals(result.size(), result.stream().distinct().count());
+        // Ложные срабатывания теряют лишь небольшую часть новых ключей
+        assertTrue(result.size() > 950, "passed " + result.size());
+    }
+
+    @Test
+    void testLongBloomFalsePositiveRate() {
+        LongSeenSet seen = LongSeenSet.bloom(20_000, 0.01);
+        for (long i = 0; i < 10_000; i++) {
+            seen.add(i);
+        }
+        int falsePositives = 0;
+        for (long i = 1_000_000; i < 1_010_000; i++) {
+            if (!seen.add(i)) {
+                falsePositives++;
+            }
+        }
+        // Проверяемые ключи тоже добавляются. к концу фильтр заполнен до расчетного размера
+        assertTrue(falsePositives < 200, "false positives " + falsePositives);
+        for (long i = 0; i < 10_000; i++) {
+            assertFalse(seen.add(i));
+        }
+    }
+
+    @Test
+    void testBloomRejectsSizeAboveArrayLimit() {
+        // Такой фильтр занял бы больше 2^37 бит
+        assertThrows(IllegalArgumentException.class, () -> LongSeenSet.bloom(100_000_000_000L, 0.01));
+    }
+
+    @Test
+    void testLongLruMatchesReferenceImplementation() {
+        int maxSize = 64;
+        LongSeenSet seen = LongSeenSet.lru(maxSize);
+        Map<Long, Boolean> reference = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+                return size() > maxSize;
+            }
+        };
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(256) * 0x9E3779B97F4A7C15L;
+            boolean expected = reference.put(key, Boolean.TRUE) == null;
+            assertEquals(expected, seen.add(key), "step " + i);
+        }
+    }
+
+    @Test
+    void testDistinctLong() {
+        List<String> result = new ArrayList<>();
+        Observable.fromIterable(Arrays.asList("a1", "b1", "c2", "d3", "e2"))
+            .distinctLong(item -> item.charAt(1), () -> LongSeenSet.lru(8))
+            .subscribe(result::add, error -> fail(error.toString()), () -> {});
+
+        assertEquals(Arrays.asList("a1", "c2", "d3"), result);
+    }
+
+    @Test
+    void testDistinctUntilChanged() {
+        List<Integer> result = new ArrayList<>();
+        Observable.fromIterable(Arrays.asList(1, 1, 2, 2, 2, 1, 3, 3))
+            .distinctUntilChanged()
+            .subscribe(result::add, error -> fail(error.toString()), () -> {});
+
+        assertEquals(Arrays.asList(1, 2, 1, 3), result);
+    }
+
+    @Test
+    void testDistinctUntilChangedByKey() {
+        List<String> result = new ArrayList<>();
+        Observable.fromIterable(Arrays.asList("a", "b", "cc", "dd", "e"))
+            .distinctUntilChanged(String::length)
+            .subscribe(result::add, error -> fail(error.toString()), () -> {});
+        assertEquals(Arrays.asList("a", "cc", "e"), result);
+
+        List<String> longKeys = new ArrayList<>();
+        Observable.fromIterable(Arrays.asList("a", "b", "cc", "dd", "e"))
+            .distinctUntilChangedLong(String::length)
+            .subscribe(longKeys::add, error -> fail(error.toString()), () -> {});
+        assertEquals(Arrays.asList("a", "cc", "e"), longKeys);
+    }
+}
@@ -0,0 +1,293 @@
+package com.customrxjava;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class FlowInteropTest {
+
+    @Test
+    void testFromPublisherReceivesAllItems() throws InterruptedException {
+        List<Integer> items = new ArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        try (SubmissionPublisher<Integer> publisher = new SubmissionPublisher<>()) {
+            Observable.fromPublisher(publisher, 16).subscribe(items::add, error -> {}, latch::countDown);
+            for (int i = 0; i < 1000; i++) {
+                publisher.submit(i);
+            }
+        }
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertEquals(1000, items.size());
+        assertEquals(Integer.valueOf(999), items.get(999));
+    }
+
+    @Test
+    void testFromPublisherRequestsInBatches() {
+        RangePublisher publisher = new RangePublisher(100);
+        List<Integer> items = new ArrayList<>();
+
+        Observable.fromPublisher(publisher, 16).subscribe(items::add, error -> {}, () -> {});
+
+        assertEquals(100, items.size());
+        // 16 вперед и далее по 12 (75% от prefetch)
+        assertEquals(Long.valueOf(16), publisher.requests.get(0));
+        for (int i = 1; i < publisher.requests.size(); i++) {
+            assertEquals(Long.valueOf(12), publisher.requests.get(i));
+        }
+        assertEquals(9, publisher.requests.size());
+    }
+
+    @Test
+    void testDisposeCancelsSubscription() {
+        RangePublisher publisher = new RangePublisher(1000);
+        DisposingObserver observer = new DisposingObserver(10);
+
+        Observable.fromPublisher(publisher).map(i -> i).subscribe(observer);
+
+        assertTrue(publisher.cancelled.get());
+        assertEquals(10, observer.items.size());
+    }
+
+    @Test
+    void testDisposeCancelsIdleSubscription() {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        // Publisher который ничего не выдает. без прямой отмены мост узнал бы о dispose только с элементом
+        Flow.Publisher<Integer> idle = subscriber -> subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+            }
+
+            @Override
+            public void cancel() {
+                cancelled.set(true);
+            }
+        });
+
+        Disposable disposable = Observable.fromPublisher(idle).map(i -> i)
+            .subscribe(item -> {}, error -> {}, () -> {});
+        assertFalse(cancelled.get());
+        disposable.dispose();
+
+        assertTrue(cancelled.get());
+    }
+
+    @Test
+    void testToPublisherRespectsDemand() {
+        Observable<Integer> observable = Observable.create(observer -> {
+            for (int i = 0; i < 10; i++) {
+                observer.onNext(i);
+            }
+            observer.onComplete();
+        });
+        List<Integer> items = new ArrayList<>();
+        AtomicReference<Flow.Subscription> subscription = new AtomicReference<>();
+        AtomicBoolean completed = new AtomicBoolean();
+
+        observable.toPublisher().subscribe(new Flow.Subscriber<Integer>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription.set(s);
+                s.request(3);
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                items.add(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                fail(throwable.toString());
+            }
+
+            @Override
+            public void onComplete() {
+                completed.set(true);
+            }
+        });
+
+        assertEquals(List.of(0, 1, 2), items);
+        assertFalse(completed.get());
+
+        subscription.get().request(100);
+        assertEquals(10, items.size());
+        assertTrue(completed.get());
+    }
+
+    @Test
+    void testToPublisherRejectsNonPositiveRequest() {
+        AtomicReference<Throwable> error = new AtomicReference<>();
+
+        Observable.<Integer>create(observer -> observer.onNext(1)).toPublisher()
+            .subscribe(new Flow.Subscriber<Integer>() {
+                @Override
+                public void onSubscribe(Flow.Subscription s) {
+                    s.request(0);
+                }
+
+                @Override
+                public void onNext(Integer item) {
+                    fail("no items expected");
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    error.set(throwable);
+                }
+
+                @Override
+                public void onComplete() {
+                }
+            });
+
+        assertTrue(error.get() instanceof IllegalArgumentException);
+    }
+
+    @Test
+    void testToPublisherDeliversBufferedItemsBeforeNullItemError() {
+        List<Integer> items = new ArrayList<>();
+        AtomicReference<Flow.Subscription> subscription = new AtomicReference<>();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+
+        Observable.<Integer>create(observer -> {
+            observer.onNext(1);
+            observer.onNext(2);
+            observer.onNext(null);
+            observer.onNext(3);
+        }).toPublisher().subscribe(new Flow.Subscriber<Integer>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription.set(s);
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                items.add(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                error.set(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                fail("completed");
+            }
+        });
+
+        // null это ошибка источника. поэтому она приходит после уже накопленных элементов
+        assertNull(error.get());
+        subscription.get().request(10);
+        assertEquals(List.of(1, 2), items);
+        assertTrue(error.get() instanceof NullPointerException);
+    }
+
+    @Test
+    void testRoundTrip() {
+        List<String> items = new ArrayList<>();
+        Observable<Integer> source = Observable.create(observer -> {
+            for (int i = 0; i < 500; i++) {
+                observer.onNext(i);
+            }
+            observer.onComplete();
+        });
+
+        Observable.fromPublisher(source.toPublisher(), 32)
+            .map(i -> "v" + i)
+            .subscribe(items::add, error -> {}, () -> {});
+
+        assertEquals(500, items.size());
+        assertEquals("v499", items.get(499));
+    }
+
+    // Observer который сам отменяет подписку после заданного числа элементов
+    private static class DisposingObserver implements Observer<Integer>, Disposable {
+        final List<Integer> items = new ArrayList<>();
+        private final int limit;
+        private boolean disposed;
+
+        DisposingObserver(int limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public void onNext(Integer item) {
+            items.add(item);
+            if (items.size() == limit) {
+                dispose();
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+
+    // Синхронный Publisher который выдает ровно столько сколько запрошено и запоминает запросы
+    private static class RangePublisher implements Flow.Publisher<Integer> {
+        final List<Long> requests = new ArrayList<>();
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        private final int count;
+
+        RangePublisher(int count) {
+            this.count = count;
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super Integer> subscriber) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                private int index;
+                private long demand;
+                private boolean emitting;
+
+                @Override
+                public void request(long n) {
+                    requests.add(n);
+                    demand += n;
+                    if (emitting) {
+                        return;
+                    }
+                    emitting = true;
+                    while (demand > 0 && index < count && !cancelled.get()) {
+                        demand--;
+                        subscriber.onNext(index++);
+                    }
+                    if (index == count && !cancelled.get()) {
+                        subscriber.onComplete();
+                    }
+                    emitting = false;
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled.set(true);
+                }
+            });
+        }
+    }
+}
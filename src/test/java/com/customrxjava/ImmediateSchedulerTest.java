@@ -0,0 +1,52 @@
+package com.customrxjava;
+
+import com.customrxjava.schedulers.ImmediateScheduler;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class ImmediateSchedulerTest {
+
+    @Test
+    void testRunsImmediatelyOnCallerThread() {
+        ImmediateScheduler scheduler = new ImmediateScheduler();
+        List<String> order = new ArrayList<>();
+        Thread caller = Thread.currentThread();
+
+        scheduler.execute(() -> {
+            assertSame(caller, Thread.currentThread());
+            order.add("outer start");
+            scheduler.execute(() -> order.add("inner"));
+            order.add("outer end");
+        });
+
+        assertEquals(List.of("outer start", "inner", "outer end"), order);
+    }
+
+    @Test
+    void testObserveOnWithoutThreadSwitch() {
+        List<Integer> items = new ArrayList<>();
+
+        Observable.<Integer>create(observer -> {
+            observer.onNext(1);
+            observer.onNext(2);
+            observer.onComplete();
+        }).observeOn(new ImmediateScheduler()).subscribe(items::add, error -> fail(error.toString()), () -> {});
+
+        // Элементы доставлены синхронно до возврата из subscribe
+        assertEquals(List.of(1, 2), items);
+    }
+
+    @Test
+    void testDelayedTask() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+
+        new ImmediateScheduler().schedule(latch::countDown, 20, TimeUnit.MILLISECONDS);
+
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,134 @@
+package com.customrxjava;
+
+import com.customrxjava.schedulers.LoadSheddingScheduler;
+import com.customrxjava.schedulers.SingleThreadScheduler;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class LoadSheddingSchedulerTest {
+
+    @Test
+    void testAcceptsTasksUnderNormalLoad() throws InterruptedException {
+        LoadSheddingScheduler scheduler = new LoadSheddingScheduler(new SingleThreadScheduler());
+        CountDownLatch latch = new CountDownLatch(100);
+        for (int i = 0; i < 100; i++) {
+            scheduler.execute(latch::countDown);
+            Thread.sleep(1);
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(0, scheduler.getShedCount());
+        assertFalse(scheduler.isShedding());
+    }
+
+    @Test
+    void testShedsWhenQueueDelayStaysAboveTarget() throws InterruptedException {
+        LoadSheddingScheduler scheduler = overload();
+
+        assertThrows(RejectedExecutionException.class, scheduler::admit);
+        assertTrue(scheduler.getShedCount() >= 1);
+        // Задачи уже принятой работы не отклоняются
+        CountDownLatch latch = new CountDownLatch(1);
+        scheduler.execute(latch::countDown);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testAdmittedSubscriptionSurvivesShedding() throws InterruptedException {
+        LoadSheddingScheduler scheduler = new LoadSheddingScheduler(new SingleThreadScheduler(),
+            Duration.ofMillis(5), Duration.ofMillis(20));
+        AtomicReference<Observer<Integer>> emitter = new AtomicReference<>();
+        List<Integer> items = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch completed = new CountDownLatch(1);
+        Observable.<Integer>create(emitter::set)
+            .observeOn(scheduler)
+            .subscribe(items::add, e -> fail(e.toString()), completed::countDown);
+
+        overload(scheduler);
+        for (int i = 0; i < 10; i++) {
+            emitter.get().onNext(i);
+        }
+        emitter.get().onComplete();
+
+        assertTrue(completed.await(5, TimeUnit.SECONDS));
+        assertEquals(10, items.size());
+    }
+
+    @Test
+    void testRecoversAfterBacklogDrains() throws InterruptedException {
+        LoadSheddingScheduler scheduler = overload();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (scheduler.getQueuedCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        // Новая подписка принимается. а одна медленная задача после нее не возвращает сброс сразу
+        scheduler.admit();
+        CountDownLatch latch = new CountDownLatch(1);
+        scheduler.execute(latch::countDown);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertFalse(scheduler.isShedding());
+    }
+
+    @Test
+    void testSubscribeOnSignalsRejectionAsError() throws InterruptedException {
+        LoadSheddingScheduler scheduler = overload();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+
+        Observable.range(0, 10)
+            .subscribeOn(scheduler)
+            .subscribe(item -> fail("unexpected item"), error::set, () -> fail("unexpected completion"));
+
+        assertTrue(error.get() instanceof RejectedExecutionException);
+    }
+
+    @Test
+    void testObserveOnSignalsRejectionAsError() throws InterruptedException {
+        LoadSheddingScheduler scheduler = overload();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+
+        Observable.<Integer>create(observer -> {
+            observer.onNext(1);
+            observer.onComplete();
+        })
+            .observeOn(scheduler)
+            .subscribe(item -> fail("unexpected item"), error::set, () -> fail("unexpected completion"));
+
+        assertTrue(error.get() instanceof RejectedExecutionException);
+    }
+
+    // Заполняет очередь медленными задачами пока обертка не начнет сбрасывать нагрузку
+    private static LoadSheddingScheduler overload() throws InterruptedException {
+        return overload(new LoadSheddingScheduler(new SingleThreadScheduler(),
+            Duration.ofMillis(5), Duration.ofMillis(20)));
+    }
+
+    private static LoadSheddingScheduler overload(LoadSheddingScheduler scheduler) throws InterruptedException {
+        for (int i = 0; i < 30; i++) {
+            scheduler.execute(() -> sleep(10));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!scheduler.isShedding() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(scheduler.isShedding());
+        return scheduler;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.customrxjava;
+
+import com.customrxjava.cache.CachePolicy;
+import com.customrxjava.schedulers.IOThreadScheduler;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class MapAsyncCachedTest {
+    private final Scheduler scheduler = new IOThreadScheduler();
+
+    @Test
+    void testResultsKeepSourceOrder() throws InterruptedException {
+        List<Integer> input = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            input.add(i);
+        }
+        List<String> result = await(Observable.fromIterable(input)
+            .mapAsyncCached(item -> item, key -> {
+                // Поздние ключи загружаются быстрее ранних
+                sleep(key % 5 == 0 ? 5 : 0);
+                return "v" + key;
+            }, (item, value) -> item + ":" + value, CachePolicy.lru(1_000), 8, scheduler));
+
+        assertEquals(200, result.size());
+        for (int i = 0; i < 200; i++) {
+            assertEquals(i + ":v" + i, result.get(i));
+        }
+    }
+
+    @Test
+    void testConcurrentLookupsOfSameKeyAreCoalesced() throws InterruptedException {
+        Map<Integer, AtomicInteger> loads = new ConcurrentHashMap<>();
+        List<Integer> input = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            input.add(i % 5);
+        }
+        List<Integer> result = await(Observable.fromIterable(input)
+            .mapAsyncCached(item -> item, key -> {
+                loads.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+                sleep(50);
+                return key * 10;
+            }, (item, value) -> value, CachePolicy.lru(100), 64, scheduler));
+
+        assertEquals(1_000, result.size());
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(Integer.valueOf((i % 5) * 10), result.get(i));
+        }
+        assertEquals(5, loads.size());
+        loads.values().forEach(count -> assertEquals(1, count.get()));
+    }
+
+    @Test
+    void testConcurrencyIsBounded() throws InterruptedException {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Integer> input = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            input.add(i);
+        }
+        List<Integer> result = await(Observable.fromIterable(input)
+            .mapAsyncCached(item -> item, key -> {
+                int now = running.incrementAndGet();
+                maxRunning.accumulateAndGet(now, Math::max);
+                sleep(10);
+                running.decrementAndGet();
+                return key;
+            }, (item, value) -> value, CachePolicy.lru(100), 4, scheduler));
+
+        assertEquals(input, result);
+        assertTrue(maxRunning.get() <= 4, "max running " + maxRunning.get());
+        assertTrue(maxRunning.get() > 1, "loads were not concurrent");
+    }
+
+    @Test
+    void testCacheIsSharedAndExpires() throws InterruptedException {
+        AtomicInteger loads = new AtomicInteger();
+        Observable<Integer> enriched = Observable.fromIterable(List.of(1, 1, 1))
+            .mapAsyncCached(item -> item, key -> {
+                loads.incrementAndGet();
+                return key;
+            }, (item, value) -> value, CachePolicy.expireAfterWrite(Duration.ofMillis(100), 10), scheduler);
+
+        await(enriched);
+        await(enriched);
+        assertEquals(1, loads.get());
+
+        Thread.sleep(200);
+        await(enriched);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testLruEvictsLeastRecentlyUsedKey() throws InterruptedException {
+        List<Integer> loaded = Collections.synchronizedList(new ArrayList<>());
+        await(Observable.fromIterable(List.of(1, 2, 1, 3, 1, 2))
+            .mapAsyncCached(item -> item, key -> {
+                loaded.add(key);
+                return key;
+            }, (item, value) -> value, CachePolicy.lru(2), 1, scheduler));
+
+        // При одной загрузке за раз 3 вытесняет 2. а 1 остается так как запрашивался недавно
+        assertEquals(List.of(1, 2, 3, 2), loaded);
+    }
+
+    @Test
+    void testLoaderErrorTerminatesStream() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        List<Integer> result = Collections.synchronizedList(new ArrayList<>());
+
+        Observable.fromIterable(List.of(1, 2, 3, 4))
+            .mapAsyncCached(item -> item, key -> {
+                if (key == 3) {
+                    throw new IllegalStateException("lookup failed");
+                }
+                return key;
+            }, (item, value) -> value, CachePolicy.lru(10), 1, scheduler)
+            .subscribe(result::add, e -> {
+                error.set(e);
+                latch.countDown();
+            }, latch::countDown);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(error.get() instanceof IllegalStateException);
+        assertEquals(List.of(1, 2), result);
+    }
+
+    private static <R> List<R> await(Observable<R> observable) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        List<R> result = Collections.synchronizedList(new ArrayList<>());
+        observable.subscribe(result::add, e -> {
+            error.set(e);
+            latch.countDown();
+        }, latch::countDown);
+        assertTrue(latch.await(10, TimeUnit.SECONDS), "stream did not terminate");
+        assertNull(error.get());
+        return new ArrayList<>(result);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
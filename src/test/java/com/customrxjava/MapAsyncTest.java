@@ -0,0 +1,173 @@
+package com.customrxjava;
+
+import com.customrxjava.schedulers.IOThreadScheduler;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class MapAsyncTest {
+    private final Scheduler scheduler = new IOThreadScheduler();
+
+    @Test
+    void testResultsKeepSourceOrderWithRandomLatency() throws InterruptedException {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        List<Integer> result = await(Observable.range(0, 300)
+            .mapAsync(8, item -> {
+                int now = running.incrementAndGet();
+                maxRunning.accumulateAndGet(now, Math::max);
+                sleep(ThreadLocalRandom.current().nextInt(3));
+                running.decrementAndGet();
+                return item * 2;
+            }, scheduler));
+
+        assertEquals(300, result.size());
+        for (int i = 0; i < 300; i++) {
+            assertEquals(Integer.valueOf(i * 2), result.get(i));
+        }
+        assertTrue(maxRunning.get() <= 8, "max running " + maxRunning.get());
+    }
+
+    @Test
+    void testRingWrapsManyTimes() throws InterruptedException {
+        // Размер буфера 4 при parallelism 3. номера проходят по кругу тысячи раз
+        List<Integer> result = await(Observable.range(0, 20_000).mapAsync(3, item -> item + 1, scheduler));
+
+        assertEquals(20_000, result.size());
+        for (int i = 0; i < 20_000; i++) {
+            assertEquals(Integer.valueOf(i + 1), result.get(i));
+        }
+    }
+
+    @Test
+    void testCallsRunConcurrently() throws InterruptedException {
+        long start = System.nanoTime();
+        List<Integer> result = await(Observable.range(0, 16).mapAsync(16, item -> {
+            sleep(100);
+            return item;
+        }, scheduler));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(16, result.size());
+        assertTrue(elapsedMillis < 1_000, "elapsed " + elapsedMillis);
+    }
+
+    @Test
+    void testErrorIsEmittedInOrder() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        List<Integer> result = Collections.synchronizedList(new ArrayList<>());
+
+        Observable.range(0, 10)
+            .mapAsync(4, item -> {
+                if (item == 5) {
+                    throw new IllegalArgumentException("bad item");
+                }
+                // Элементы после ошибочного завершаются раньше. но не выдаются
+                sleep(item < 5 ? 30 : 0);
+                return item;
+            }, scheduler)
+            .subscribe(result::add, e -> {
+                error.set(e);
+                latch.countDown();
+            }, latch::countDown);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(error.get() instanceof IllegalArgumentException);
+        assertEquals(List.of(0, 1, 2, 3, 4), result);
+    }
+
+    @Test
+    void testSchedulerRejectionBecomesError() {
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        Scheduler rejecting = task -> {
+            throw new RejectedExecutionException("full");
+        };
+
+        Observable.range(0, 3).mapAsync(2, item -> item, rejecting)
+            .subscribe(item -> fail("unexpected item"), error::set, () -> fail("unexpected completion"));
+
+        assertTrue(error.get() instanceof RejectedExecutionException);
+    }
+
+    @Test
+    void testPartialRejectionKeepsEarlierResults() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        List<Integer> result = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger submitted = new AtomicInteger();
+        // Первая задача принимается и выполняется медленно. вторая отклоняется
+        Scheduler partiallyRejecting = task -> {
+            if (submitted.getAndIncrement() > 0) {
+                throw new RejectedExecutionException("full");
+            }
+            scheduler.execute(task);
+        };
+
+        Observable.range(0, 2)
+            .mapAsync(2, item -> {
+                sleep(50);
+                return item;
+            }, partiallyRejecting)
+            .subscribe(result::add, e -> {
+                error.set(e);
+                latch.countDown();
+            }, latch::countDown);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(0), result);
+        assertTrue(error.get() instanceof RejectedExecutionException);
+    }
+
+    @Test
+    void testDisposeStopsEmission() throws InterruptedException {
+        List<Integer> result = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger calls = new AtomicInteger();
+
+        Disposable disposable = Observable.range(0, 1_000)
+            .mapAsync(2, item -> {
+                calls.incrementAndGet();
+                sleep(5);
+                return item;
+            }, scheduler)
+            .subscribe(result::add, e -> fail(e.toString()), () -> fail("unexpected completion"));
+        Thread.sleep(50);
+        disposable.dispose();
+        int afterDispose = calls.get();
+        Thread.sleep(100);
+
+        assertTrue(calls.get() <= afterDispose + 2, "calls continued after dispose");
+        assertTrue(result.size() < 1_000);
+    }
+
+    private static <R> List<R> await(Observable<R> observable) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        List<R> result = Collections.synchronizedList(new ArrayList<>());
+        observable.subscribe(result::add, e -> {
+            error.set(e);
+            latch.countDown();
+        }, latch::countDown);
+        assertTrue(latch.await(10, TimeUnit.SECONDS), "stream did not terminate");
+        assertNull(error.get());
+        return new ArrayList<>(result);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.customrxjava;
+
+import com.customrxjava.schedulers.SingleThreadScheduler;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class MaybeTest {
+
+    @Test
+    void testJustMap() {
+        AtomicReference<Integer> result = new AtomicReference<>();
+
+        Maybe.just(4).map(i -> i * i).subscribe(result::set, error -> fail(error.toString()), () -> fail("empty"));
+
+        assertEquals(Integer.valueOf(16), result.get());
+    }
+
+    @Test
+    void testEmptySkipsMapAndFlatMap() {
+        AtomicInteger calls = new AtomicInteger();
+        AtomicInteger completions = new AtomicInteger();
+
+        Maybe.<Integer>empty()
+            .map(i -> calls.incrementAndGet())
+            .flatMap(i -> Maybe.just(calls.incrementAndGet()))
+            .subscribe(value -> fail("value"), error -> fail(error.toString()), completions::incrementAndGet);
+
+        assertEquals(0, calls.get());
+        assertEquals(1, completions.get());
+    }
+
+    @Test
+    void testFlatMapToEmpty() {
+        AtomicInteger completions = new AtomicInteger();
+
+        Maybe.just(1).flatMap(i -> Maybe.<String>empty())
+            .subscribe(value -> fail("value"), error -> fail(error.toString()), completions::incrementAndGet);
+
+        assertEquals(1, completions.get());
+    }
+
+    @Test
+    void testOnlyFirstSignalIsDelivered() {
+        List<Object> signals = new ArrayList<>();
+
+        Maybe.<Integer>create(observer -> {
+            observer.onComplete();
+            observer.onSuccess(1);
+        }).subscribe(signals::add, signals::add, () -> signals.add("complete"));
+
+        assertEquals(List.of("complete"), signals);
+    }
+
+    @Test
+    void testFromFutureNullIsEmpty() {
+        AtomicInteger completions = new AtomicInteger();
+
+        Maybe.fromFuture(CompletableFuture.completedFuture((String) null))
+            .subscribe(value -> fail("value"), error -> fail(error.toString()), completions::incrementAndGet);
+
+        assertEquals(1, completions.get());
+    }
+
+    @Test
+    void testObserveOnEmptyToFuture() throws Exception {
+        CompletableFuture<Integer> future = Maybe.<Integer>empty().observeOn(new SingleThreadScheduler()).toFuture();
+
+        assertNull(future.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testToObservable() {
+        List<Integer> items = new ArrayList<>();
+        AtomicInteger completions = new AtomicInteger();
+
+        Maybe.<Integer>empty().toObservable().subscribe(items::add, error -> {}, completions::incrementAndGet);
+        Maybe.just(3).toObservable().subscribe(items::add, error -> {}, completions::incrementAndGet);
+
+        assertEquals(List.of(3), items);
+        assertEquals(2, completions.get());
+    }
+}
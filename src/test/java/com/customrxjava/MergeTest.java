@@ -0,0 +1,112 @@
+package com.customrxjava;
+
+import com.customrxjava.schedulers.IOThreadScheduler;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class MergeTest {
+
+    @Test
+    void testMergeSyncSources() {
+        List<Integer> items = new ArrayList<>();
+        AtomicInteger completions = new AtomicInteger();
+
+        Observable.mergeArray(Observable.range(0, 3), Observable.range(10, 2))
+            .subscribe(items::add, error -> fail(error.toString()), completions::incrementAndGet);
+
+        assertEquals(List.of(0, 1, 2, 10, 11), items);
+        assertEquals(1, completions.get());
+    }
+
+    @Test
+    void testMergeEmptyList() {
+        AtomicInteger completions = new AtomicInteger();
+
+        Observable.<Integer>merge(List.of()).subscribe(item -> fail("item"), error -> {}, completions::incrementAndGet);
+
+        assertEquals(1, completions.get());
+    }
+
+    @Test
+    void testMergeConcurrentSourcesIsSerialized() throws InterruptedException {
+        int sources = 4;
+        int count = 20000;
+        IOThreadScheduler io = new IOThreadScheduler();
+        List<Observable<Integer>> list = new ArrayList<>();
+        for (int s = 0; s < sources; s++) {
+            int base = s * count;
+            list.add(Observable.<Integer>create(observer -> {
+                for (int i = 0; i < count; i++) {
+                    observer.onNext(base + i);
+                }
+                observer.onComplete();
+            }).subscribeOn(io));
+        }
+        AtomicInteger inside = new AtomicInteger();
+        AtomicBoolean overlapped = new AtomicBoolean();
+        int[] lastPerSource = new int[sources];
+        Arrays.fill(lastPerSource, -1);
+        AtomicBoolean reordered = new AtomicBoolean();
+        AtomicInteger received = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Observable.merge(list).subscribe(item -> {
+            if (inside.incrementAndGet() != 1) {
+                overlapped.set(true);
+            }
+            int source = item / count;
+            if (item <= lastPerSource[source]) {
+                reordered.set(true);
+            }
+            lastPerSource[source] = item;
+            received.incrementAndGet();
+            inside.decrementAndGet();
+        }, error -> fail(error.toString()), latch::countDown);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(sources * count, received.get());
+        assertFalse(overlapped.get());
+        assertFalse(reordered.get());
+    }
+
+    @Test
+    void testMergeErrorDisposesOtherSources() {
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        AtomicReference<Observer<Integer>> first = new AtomicReference<>();
+
+        Observable.mergeArray(
+            Observable.<Integer>create(first::set),
+            Observable.<Integer>create(observer -> observer.onError(new IllegalStateException("boom"))))
+            .subscribe(item -> fail("item"), error::set, () -> fail("completed"));
+
+        assertTrue(error.get() instanceof IllegalStateException);
+        assertTrue(((Disposable) first.get()).isDisposed());
+        first.get().onNext(1);
+    }
+
+    @Test
+    void testMergeWith() {
+        AtomicReference<Observer<String>> second = new AtomicReference<>();
+        List<String> items = new ArrayList<>();
+        AtomicInteger completions = new AtomicInteger();
+
+        Observable.fromArray("a", "b").mergeWith(Observable.create(second::set))
+            .subscribe(items::add, error -> fail(error.toString()), completions::incrementAndGet);
+
+        assertEquals(0, completions.get());
+        second.get().onNext("c");
+        second.get().onComplete();
+
+        assertEquals(List.of("a", "b", "c"), items);
+        assertEquals(1, completions.get());
+    }
+}
@@ -13,6 +13,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -353,4 +354,27 @@ public class ObservableSchedulerIntegrationTest {
         assertFalse(endLatch.await(500, TimeUnit.MILLISECONDS));
         assertNull(result.get());
     }
+
+    @Test
+    void testObserveOnRejectionCancelsSource() {
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        AtomicReference<Integer> emittedAfterRejection = new AtomicReference<>();
+        Scheduler rejecting = task -> {
+            throw new RejectedExecutionException("full");
+        };
+
+        Observable.<Integer>create(observer -> {
+            int i = 0;
+            while (i < 100_000 && !((Disposable) observer).isDisposed()) {
+                observer.onNext(i++);
+            }
+            emittedAfterRejection.set(i);
+        })
+            .observeOn(rejecting)
+            .subscribe(item -> fail("unexpected item"), error::set, () -> fail("unexpected completion"));
+
+        assertTrue(error.get() instanceof RejectedExecutionException);
+        // Источник видит отмену сразу после первого отклоненного элемента
+        assertEquals(Integer.valueOf(1), emittedAfterRejection.get());
+    }
 }
@@ -0,0 +1,119 @@
+package com.customrxjava;
+
+import com.customrxjava.schedulers.IOThreadScheduler;
+import com.customrxjava.schedulers.SingleThreadScheduler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PluginsTest {
+    private static final ThreadLocal<String> CONTEXT = new ThreadLocal<>();
+
+    @AfterEach
+    void tearDown() {
+        Plugins.reset();
+        CONTEXT.remove();
+    }
+
+    @Test
+    void testOnAssemblySeesEveryOperator() {
+        AtomicInteger assembled = new AtomicInteger();
+        Plugins.setOnAssembly(observable -> {
+            assembled.incrementAndGet();
+            return observable;
+        });
+
+        Observable.range(0, 10).map(i -> i * 2).filter(i -> i > 4).flatMap(i -> Observable.fromArray(i));
+
+        // range, map, filter, flatMap
+        assertEquals(4, assembled.get());
+    }
+
+    @Test
+    void testOnAssemblyCanReplace() {
+        Observable<Integer> source = Observable.fromArray(1, 2);
+        // Подмена создается до установки хука. иначе хук вызвал бы сам себя
+        Observable<Object> replacement = Observable.create(observer -> {
+            observer.onNext("traced");
+            source.subscribe(observer::onNext, observer::onError, observer::onComplete);
+        });
+        Plugins.setOnAssembly(observable -> replacement);
+
+        Observable<Integer> mapped = source.map(i -> i * 10);
+        Plugins.reset();
+        List<Object> items = new ArrayList<>();
+        ((Observable<?>) mapped).subscribe(items::add, error -> fail(error.toString()), () -> {});
+
+        assertEquals(List.of("traced", 1, 2), items);
+    }
+
+    @Test
+    void testOnSchedulePropagatesContext() throws InterruptedException {
+        Plugins.setOnSchedule(task -> {
+            String captured = CONTEXT.get();
+            return () -> {
+                String previous = CONTEXT.get();
+                CONTEXT.set(captured);
+                try {
+                    task.run();
+                } finally {
+                    CONTEXT.set(previous);
+                }
+            };
+        });
+        List<String> contexts = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(1);
+
+        CONTEXT.set("request-42");
+        Observable.fromArray(1, 2, 3)
+            .subscribeOn(new IOThreadScheduler())
+            .map(i -> {
+                contexts.add(CONTEXT.get());
+                return i;
+            })
+            .observeOn(new SingleThreadScheduler())
+            .subscribe(i -> contexts.add(CONTEXT.get()), error -> fail(error.toString()), latch::countDown);
+
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        assertEquals(6, contexts.size());
+        assertTrue(contexts.stream().allMatch("request-42"::equals), contexts.toString());
+    }
+
+    @Test
+    void testDelayedTaskIsWrappedOnceOnSchedulingThread() throws InterruptedException {
+        AtomicInteger wraps = new AtomicInteger();
+        List<String> contexts = Collections.synchronizedList(new ArrayList<>());
+        Plugins.setOnSchedule(task -> {
+            wraps.incrementAndGet();
+            String captured = CONTEXT.get();
+            return () -> {
+                contexts.add(captured);
+                task.run();
+            };
+        });
+        CountDownLatch latch = new CountDownLatch(1);
+
+        CONTEXT.set("request-7");
+        new SingleThreadScheduler().schedule(latch::countDown, 10, TimeUnit.MILLISECONDS);
+
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        assertEquals(1, wraps.get());
+        assertEquals(List.of("request-7"), contexts);
+    }
+
+    @Test
+    void testNoHooksKeepsTask() {
+        Runnable task = () -> {};
+        Observable<Integer> observable = Observable.range(0, 1);
+
+        assertSame(task, Plugins.onSchedule(task));
+        assertSame(observable, Plugins.onAssembly(observable));
+    }
+}
@@ -0,0 +1,119 @@
+package com.customrxjava;
+
+import com.customrxjava.schedulers.Priority;
+import com.customrxjava.schedulers.PriorityScheduler;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class PrioritySchedulerTest {
+
+    @Test
+    void testHigherPriorityRunsFirst() throws InterruptedException {
+        PriorityScheduler scheduler = new PriorityScheduler(1, Duration.ofSeconds(10));
+        CountDownLatch gate = blockWorker(scheduler);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(6);
+        scheduler.execute(record(order, "low1", done), Priority.LOW);
+        scheduler.execute(record(order, "normal1", done));
+        scheduler.execute(record(order, "high1", done), Priority.HIGH);
+        scheduler.execute(record(order, "low2", done), Priority.LOW);
+        scheduler.execute(record(order, "high2", done), Priority.HIGH);
+        scheduler.execute(record(order, "normal2", done), Priority.NORMAL);
+        assertEquals(2, scheduler.getQueuedCount(Priority.HIGH));
+
+        gate.countDown();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("high1", "high2", "normal1", "normal2", "low1", "low2"), order);
+        scheduler.shutdown();
+    }
+
+    @Test
+    void testAgingPreventsStarvation() throws InterruptedException {
+        PriorityScheduler scheduler = new PriorityScheduler(1, Duration.ofMillis(20));
+        CountDownLatch gate = blockWorker(scheduler);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(3);
+        scheduler.execute(record(order, "low", done), Priority.LOW);
+        Thread.sleep(100);
+        scheduler.execute(record(order, "high1", done), Priority.HIGH);
+        scheduler.execute(record(order, "high2", done), Priority.HIGH);
+
+        gate.countDown();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        // Фоновая задача ждала дольше двух интервалов и поднялась выше новых важных
+        assertEquals("low", order.get(0));
+        scheduler.shutdown();
+    }
+
+    @Test
+    void testSubscribeOnAndObserveOnWithPriority() throws InterruptedException {
+        PriorityScheduler scheduler = new PriorityScheduler(1, Duration.ofSeconds(10));
+        CountDownLatch gate = blockWorker(scheduler);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(2);
+
+        Observable.fromArray("background")
+            .subscribeOn(scheduler, Priority.LOW)
+            .subscribe(order::add, e -> fail(e.toString()), done::countDown);
+        Observable.fromArray("critical")
+            .subscribeOn(scheduler, Priority.HIGH)
+            .subscribe(item -> {
+                order.add(item);
+                assertTrue(Thread.currentThread().getName().startsWith("CustomRxJava-Priority-"));
+            }, e -> fail(e.toString()), done::countDown);
+        gate.countDown();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("critical", "background"), order);
+
+        List<Integer> result = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch completed = new CountDownLatch(1);
+        Observable.range(0, 1_000)
+            .observeOn(scheduler, Priority.HIGH)
+            .subscribe(result::add, e -> fail(e.toString()), completed::countDown);
+        assertTrue(completed.await(5, TimeUnit.SECONDS));
+        assertEquals(1_000, result.size());
+        scheduler.shutdown();
+    }
+
+    @Test
+    void testShutdownRejectsNewTasks() {
+        PriorityScheduler scheduler = new PriorityScheduler(1, Duration.ofMillis(100));
+        scheduler.shutdown();
+
+        assertThrows(RejectedExecutionException.class, () -> scheduler.execute(() -> { }, Priority.HIGH));
+    }
+
+    // Занимает единственный поток пока тест не откроет затвор
+    private static CountDownLatch blockWorker(PriorityScheduler scheduler) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch gate = new CountDownLatch(1);
+        scheduler.execute(() -> {
+            started.countDown();
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, Priority.HIGH);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        return gate;
+    }
+
+    private static Runnable record(List<String> order, String name, CountDownLatch done) {
+        return () -> {
+            order.add(name);
+            done.countDown();
+        };
+    }
+}
@@ -0,0 +1,207 @@
+package com.customrxjava;
+
+import com.customrxjava.retry.RetryPolicy;
+import com.customrxjava.schedulers.SingleThreadScheduler;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+public class RetryTest {
+
+    @Test
+    void testRetrySucceedsAfterFailures() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        List<Integer> items = new ArrayList<>();
+        AtomicInteger completions = new AtomicInteger();
+
+        flaky(subscriptions, 2).retry(3)
+            .subscribe(items::add, error -> fail(error.toString()), completions::incrementAndGet);
+
+        assertEquals(3, subscriptions.get());
+        assertEquals(List.of(42), items);
+        assertEquals(1, completions.get());
+    }
+
+    @Test
+    void testRetryGivesUp() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+
+        flaky(subscriptions, 10).retry(2).subscribe(item -> fail("item"), error::set, () -> fail("completed"));
+
+        assertEquals(3, subscriptions.get());
+        assertTrue(error.get() instanceof IllegalStateException);
+    }
+
+    @Test
+    void testRetryDoesNotGrowStack() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        AtomicInteger maxDepth = new AtomicInteger();
+        Observable<Integer> failing = Observable.create(observer -> {
+            subscriptions.incrementAndGet();
+            maxDepth.accumulateAndGet(Thread.currentThread().getStackTrace().length, Math::max);
+            observer.onError(new IllegalStateException("boom"));
+        });
+        AtomicReference<Throwable> error = new AtomicReference<>();
+
+        failing.retry(100_000).subscribe(item -> {}, error::set, () -> {});
+
+        assertEquals(100_001, subscriptions.get());
+        assertTrue(error.get() instanceof IllegalStateException);
+        assertTrue(maxDepth.get() < 200, "stack depth " + maxDepth.get());
+    }
+
+    @Test
+    void testRetryWhenPredicate() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+
+        flaky(subscriptions, 10)
+            .retryWhen((attempt, t) -> attempt < 4 && t instanceof IllegalStateException)
+            .subscribe(item -> fail("item"), error::set, () -> fail("completed"));
+
+        assertEquals(4, subscriptions.get());
+        assertNotNull(error.get());
+    }
+
+    @Test
+    void testRetryWithBackoffWaitsWithoutBlocking() throws InterruptedException {
+        AtomicInteger subscriptions = new AtomicInteger();
+        AtomicLong firstSubscription = new AtomicLong();
+        AtomicLong lastSubscription = new AtomicLong();
+        Observable<Integer> source = Observable.create(observer -> {
+            long now = System.nanoTime();
+            firstSubscription.compareAndSet(0, now);
+            lastSubscription.set(now);
+            if (subscriptions.incrementAndGet() <= 3) {
+                observer.onError(new IllegalStateException("boom"));
+            } else {
+                observer.onNext(1);
+                observer.onComplete();
+            }
+        });
+        RetryPolicy policy = RetryPolicy.exponential(5, Duration.ofMillis(20), Duration.ofMillis(40));
+        CountDownLatch latch = new CountDownLatch(1);
+        Thread caller = Thread.currentThread();
+
+        source.retryWithBackoff(policy, new SingleThreadScheduler())
+            .subscribe(item -> {}, error -> fail(error.toString()), latch::countDown);
+
+        // Подписка вернула управление сразу после первой ошибки
+        assertSame(caller, Thread.currentThread());
+        assertEquals(1, subscriptions.get());
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertEquals(4, subscriptions.get());
+        // 20 + 40 + 40 мс
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(lastSubscription.get() - firstSubscription.get());
+        assertTrue(elapsed >= 95, "elapsed " + elapsed);
+    }
+
+    @Test
+    void testRetryWithBackoffDisposeStopsRetries() throws InterruptedException {
+        AtomicInteger subscriptions = new AtomicInteger();
+        RetryPolicy policy = RetryPolicy.exponential(10, Duration.ofMillis(50), Duration.ofMillis(50));
+
+        Disposable disposable = flaky(subscriptions, 100).retryWithBackoff(policy, new SingleThreadScheduler())
+            .subscribe(item -> {}, error -> {}, () -> {});
+        disposable.dispose();
+        Thread.sleep(150);
+
+        assertEquals(1, subscriptions.get());
+    }
+
+    @Test
+    void testRetryWithBackoffDisposeCancelsPendingTimer() {
+        AtomicReference<Disposable> pending = new AtomicReference<>();
+        SingleThreadScheduler delegate = new SingleThreadScheduler();
+        Scheduler scheduler = new Scheduler() {
+            @Override
+            public void execute(Runnable task) {
+                delegate.execute(task);
+            }
+
+            @Override
+            public Disposable schedule(Runnable task, long delay, TimeUnit unit,
+                                       Consumer<? super RuntimeException> onRejected) {
+                Disposable d = Scheduler.super.schedule(task, delay, unit, onRejected);
+                pending.set(d);
+                return d;
+            }
+        };
+        RetryPolicy policy = RetryPolicy.exponential(10, Duration.ofSeconds(10), Duration.ofSeconds(10));
+
+        Disposable disposable = flaky(new AtomicInteger(), 100).retryWithBackoff(policy, scheduler)
+            .subscribe(item -> {}, error -> {}, () -> {});
+        assertFalse(pending.get().isDisposed());
+        disposable.dispose();
+
+        // Таймер снят сразу а не через 10 секунд
+        assertTrue(pending.get().isDisposed());
+    }
+
+    @Test
+    void testRetryWithBackoffRejectionEndsWithError() throws InterruptedException {
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        Scheduler rejecting = task -> {
+            throw new RejectedExecutionException("Scheduler is shut down");
+        };
+        RetryPolicy policy = RetryPolicy.exponential(5, Duration.ofMillis(10), Duration.ofMillis(10));
+
+        flaky(new AtomicInteger(), 100).retryWithBackoff(policy, rejecting)
+            .subscribe(item -> fail("item"), e -> {
+                error.set(e);
+                latch.countDown();
+            }, () -> fail("completed"));
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertTrue(error.get() instanceof RejectedExecutionException);
+    }
+
+    @Test
+    void testPolicyDelays() {
+        RetryPolicy policy = RetryPolicy.exponential(10, Duration.ofMillis(100), Duration.ofSeconds(1))
+            .withMultiplier(3);
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), policy.delayNanos(1));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(300), policy.delayNanos(2));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(900), policy.delayNanos(3));
+        assertEquals(TimeUnit.SECONDS.toNanos(1), policy.delayNanos(4));
+        assertFalse(policy.shouldRetry(11, new RuntimeException()));
+    }
+
+    @Test
+    void testPolicyJitterStaysInRange() {
+        RetryPolicy policy = RetryPolicy.exponential(3, Duration.ofMillis(100), Duration.ofMillis(100))
+            .withJitter(0.5);
+        long max = TimeUnit.MILLISECONDS.toNanos(100);
+
+        for (int i = 0; i < 1000; i++) {
+            long delay = policy.delayNanos(1);
+            assertTrue(delay <= max && delay >= max / 2, "delay " + delay);
+        }
+        assertThrows(IllegalArgumentException.class, () -> policy.withJitter(1.5));
+    }
+
+    // Источник который падает failures раз а потом выдает 42
+    private static Observable<Integer> flaky(AtomicInteger subscriptions, int failures) {
+        return Observable.create(observer -> {
+            if (subscriptions.incrementAndGet() <= failures) {
+                observer.onError(new IllegalStateException("attempt " + subscriptions.get()));
+            } else {
+                observer.onNext(42);
+                observer.onComplete();
+            }
+        });
+    }
+}
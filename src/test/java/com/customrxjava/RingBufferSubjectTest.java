@@ -0,0 +1,149 @@
+package com.customrxjava;
+
+import com.customrxjava.schedulers.IOThreadScheduler;
+import com.customrxjava.subjects.RingBufferSubject;
+import com.customrxjava.subjects.WaitStrategy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class RingBufferSubjectTest {
+
+    private IOThreadScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new IOThreadScheduler();
+    }
+
+    @Test
+    void testCapacityMustBePowerOfTwo() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new RingBufferSubject<Integer>(100, WaitStrategy.yielding(), scheduler));
+    }
+
+    @Test
+    void testAllConsumersReceiveAllItemsInOrder() throws InterruptedException {
+        int consumers = 4;
+        int itemCount = 100000;
+        // Маленький буфер заставляет производителя ждать самого медленного потребителя
+        RingBufferSubject<Integer> subject = new RingBufferSubject<>(64, WaitStrategy.yielding(), scheduler);
+        CountDownLatch latch = new CountDownLatch(consumers);
+        List<List<Integer>> received = new ArrayList<>();
+
+        for (int c = 0; c < consumers; c++) {
+            List<Integer> items = new ArrayList<>();
+            received.add(items);
+            subject.subscribe(items::add, error -> {}, latch::countDown);
+        }
+        assertEquals(consumers, subject.consumerCount());
+
+        for (int i = 0; i < itemCount; i++) {
+            subject.onNext(i);
+        }
+        subject.onComplete();
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        for (List<Integer> items : received) {
+            assertEquals(itemCount, items.size());
+            for (int i = 0; i < itemCount; i++) {
+                assertEquals(Integer.valueOf(i), items.get(i));
+            }
+        }
+        assertEquals(0, subject.consumerCount());
+    }
+
+    @Test
+    void testSlowConsumerGatesProducer() throws InterruptedException {
+        RingBufferSubject<Integer> subject = new RingBufferSubject<>(8, WaitStrategy.parking(1000), scheduler);
+        CountDownLatch latch = new CountDownLatch(1);
+        List<Integer> items = new ArrayList<>();
+
+        subject.subscribe(item -> {
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            items.add(item);
+        }, error -> {}, latch::countDown);
+
+        for (int i = 0; i < 200; i++) {
+            subject.onNext(i);
+        }
+        subject.onComplete();
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(200, items.size());
+        assertEquals(Integer.valueOf(199), items.get(199));
+    }
+
+    @Test
+    void testErrorIsDeliveredToConsumers() throws InterruptedException {
+        RingBufferSubject<String> subject = new RingBufferSubject<>(16, WaitStrategy.busySpin(), scheduler);
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        List<String> items = new ArrayList<>();
+
+        subject.subscribe(items::add, e -> {
+            error.set(e);
+            latch.countDown();
+        }, () -> {});
+
+        subject.onNext("a");
+        subject.onError(new RuntimeException("feed failed"));
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertEquals(1, items.size());
+        assertEquals("feed failed", error.get().getMessage());
+    }
+
+    @Test
+    void testDisposedConsumerNoLongerGatesProducer() throws InterruptedException {
+        RingBufferSubject<Integer> subject = new RingBufferSubject<>(4, WaitStrategy.yielding(), scheduler);
+        CountDownLatch blocked = new CountDownLatch(1);
+
+        Disposable disposable = subject.subscribe(item -> {
+            try {
+                blocked.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, error -> {}, () -> {});
+
+        disposable.dispose();
+        assertTrue(disposable.isDisposed());
+        assertEquals(0, subject.consumerCount());
+
+        // Отмененный потребитель не должен блокировать производителя
+        for (int i = 0; i < 100; i++) {
+            subject.onNext(i);
+        }
+        blocked.countDown();
+    }
+
+    @Test
+    void testOperatorsOnSubject() throws InterruptedException {
+        RingBufferSubject<Integer> subject = new RingBufferSubject<>(16, WaitStrategy.yielding(), scheduler);
+        CountDownLatch latch = new CountDownLatch(1);
+        List<String> items = new ArrayList<>();
+
+        subject.filter(i -> i % 2 == 0)
+            .map(i -> "v" + i)
+            .subscribe(items::add, error -> {}, latch::countDown);
+
+        for (int i = 0; i < 10; i++) {
+            subject.onNext(i);
+        }
+        subject.onComplete();
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertEquals(List.of("v0", "v2", "v4", "v6", "v8"), items);
+    }
+}
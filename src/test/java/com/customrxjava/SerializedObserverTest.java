@@ -0,0 +1,128 @@
+package com.customrxjava;
+
+import com.customrxjava.operators.SerializedObserver;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SerializedObserverTest {
+    private static final int THREADS = 4;
+    private static final int PER_THREAD = 50_000;
+
+    @Test
+    void testConcurrentProducersAreSerialized() throws InterruptedException {
+        AtomicInteger inside = new AtomicInteger();
+        AtomicBoolean overlapped = new AtomicBoolean();
+        long[] sum = new long[1];
+        int[] count = new int[1];
+        AtomicInteger completions = new AtomicInteger();
+
+        Observable.<Integer>createSerialized(observer -> runProducers(observer))
+            .subscribe(item -> {
+                if (inside.incrementAndGet() != 1) {
+                    overlapped.set(true);
+                }
+                // Обычные поля без синхронизации. при сериализации гонок нет
+                sum[0] += item;
+                count[0]++;
+                inside.decrementAndGet();
+            }, error -> fail(error.toString()), completions::incrementAndGet);
+
+        assertFalse(overlapped.get());
+        assertEquals(THREADS * PER_THREAD, count[0]);
+        assertEquals((long) THREADS * PER_THREAD * (PER_THREAD - 1) / 2, sum[0]);
+        assertEquals(1, completions.get());
+    }
+
+    @Test
+    void testSerializedOperator() {
+        List<Integer> items = new ArrayList<>();
+
+        Observable.fromArray(1, 2, 3).serialized()
+            .subscribe(items::add, error -> fail(error.toString()), () -> items.add(-1));
+
+        assertEquals(List.of(1, 2, 3, -1), items);
+    }
+
+    @Test
+    void testItemsQueuedDuringEmissionKeepOrder() {
+        List<Integer> items = new ArrayList<>();
+        SerializedObserver<Integer>[] holder = new SerializedObserver[1];
+        holder[0] = new SerializedObserver<>(new Observer<Integer>() {
+            @Override
+            public void onNext(Integer item) {
+                items.add(item);
+                if (item == 1) {
+                    // Повторный вход уходит в очередь и выдается после текущего элемента
+                    holder[0].onNext(2);
+                    holder[0].onNext(3);
+                    holder[0].onComplete();
+                    items.add(10);
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                fail(t.toString());
+            }
+
+            @Override
+            public void onComplete() {
+                items.add(-1);
+            }
+        });
+
+        holder[0].onNext(1);
+
+        assertEquals(List.of(1, 10, 2, 3, -1), items);
+    }
+
+    @Test
+    void testSignalsAfterTerminalAreDropped() {
+        List<Object> signals = new ArrayList<>();
+
+        Observable.<Integer>createSerialized(observer -> {
+            observer.onNext(1);
+            observer.onError(new IllegalStateException("boom"));
+            observer.onNext(2);
+            observer.onComplete();
+        }).subscribe(signals::add, signals::add, () -> signals.add("complete"));
+
+        assertEquals(2, signals.size());
+        assertEquals(1, signals.get(0));
+        assertTrue(signals.get(1) instanceof IllegalStateException);
+    }
+
+    private static void runProducers(Observer<Integer> observer) {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < PER_THREAD; i++) {
+                    observer.onNext(i);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        observer.onComplete();
+    }
+}
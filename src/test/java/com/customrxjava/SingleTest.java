@@ -0,0 +1,129 @@
+package com.customrxjava;
+
+import com.customrxjava.schedulers.IOThreadScheduler;
+import com.customrxjava.schedulers.SingleThreadScheduler;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class SingleTest {
+
+    @Test
+    void testJustMapFlatMap() {
+        AtomicReference<String> result = new AtomicReference<>();
+
+        Single.just(20)
+            .map(i -> i + 1)
+            .flatMap(i -> Single.just("v" + (i * 2)))
+            .subscribe(result::set, error -> fail(error.toString()));
+
+        assertEquals("v42", result.get());
+    }
+
+    @Test
+    void testMapErrorGoesToOnError() {
+        AtomicReference<Throwable> error = new AtomicReference<>();
+
+        Single.just(0).map(i -> 10 / i).subscribe(value -> fail("value"), error::set);
+
+        assertTrue(error.get() instanceof ArithmeticException);
+    }
+
+    @Test
+    void testOnlyFirstSignalIsDelivered() {
+        List<Object> signals = new ArrayList<>();
+
+        Single.<Integer>create(observer -> {
+            observer.onSuccess(1);
+            observer.onSuccess(2);
+            observer.onError(new IllegalStateException());
+        }).subscribe(signals::add, signals::add);
+
+        assertEquals(List.of(1), signals);
+    }
+
+    @Test
+    void testSubscribeOnAndObserveOn() throws Exception {
+        AtomicReference<String> subscribeThread = new AtomicReference<>();
+        String mainThread = Thread.currentThread().getName();
+
+        CompletableFuture<String> future = Single.<Integer>create(observer -> {
+            subscribeThread.set(Thread.currentThread().getName());
+            observer.onSuccess(5);
+        })
+            .subscribeOn(new IOThreadScheduler())
+            .observeOn(new SingleThreadScheduler())
+            .map(i -> Thread.currentThread().getName())
+            .toFuture();
+
+        String observeThread = future.get(1, TimeUnit.SECONDS);
+        assertNotEquals(mainThread, subscribeThread.get());
+        assertNotEquals(subscribeThread.get(), observeThread);
+    }
+
+    @Test
+    void testFromFuture() {
+        CompletableFuture<Integer> source = new CompletableFuture<>();
+        AtomicReference<Integer> result = new AtomicReference<>();
+
+        Single.fromFuture(source).map(i -> i * 2).subscribe(result::set, error -> fail(error.toString()));
+        assertNull(result.get());
+
+        source.complete(21);
+        assertEquals(Integer.valueOf(42), result.get());
+    }
+
+    @Test
+    void testFromFutureUnwrapsError() {
+        CompletableFuture<Integer> source = CompletableFuture.supplyAsync(() -> {
+            throw new IllegalStateException("boom");
+        });
+        AtomicReference<Throwable> error = new AtomicReference<>();
+
+        Single.fromFuture(source).toFuture().handle((value, t) -> {
+            error.set(t);
+            return null;
+        }).join();
+
+        assertTrue(error.get() instanceof IllegalStateException);
+    }
+
+    @Test
+    void testToFutureFailsWithError() {
+        CompletableFuture<Integer> future = Single.<Integer>error(new IllegalArgumentException("bad")).toFuture();
+
+        ExecutionException e = assertThrows(ExecutionException.class, future::get);
+        assertTrue(e.getCause() instanceof IllegalArgumentException);
+    }
+
+    @Test
+    void testCancelFutureDisposesSubscription() {
+        AtomicReference<SingleObserver<Integer>> emitter = new AtomicReference<>();
+
+        CompletableFuture<Integer> future = Single.<Integer>create(emitter::set).map(i -> i + 1).toFuture();
+        future.cancel(false);
+
+        // Источник видит отмену через цепочку операторов
+        assertTrue(((Disposable) emitter.get()).isDisposed());
+        emitter.get().onSuccess(1);
+        assertTrue(future.isCancelled());
+    }
+
+    @Test
+    void testToObservable() {
+        List<Integer> items = new ArrayList<>();
+        AtomicInteger completions = new AtomicInteger();
+
+        Single.just(7).toObservable().subscribe(items::add, error -> {}, completions::incrementAndGet);
+
+        assertEquals(List.of(7), items);
+        assertEquals(1, completions.get());
+    }
+}
@@ -0,0 +1,280 @@
+package com.customrxjava;
+
+import com.customrxjava.schedulers.ComputationScheduler;
+import com.customrxjava.schedulers.SingleThreadScheduler;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+public class SourcesTest {
+
+    @Test
+    void testRange() {
+        List<Integer> items = new ArrayList<>();
+        AtomicInteger completions = new AtomicInteger();
+
+        Observable.range(5, 300).subscribe(items::add, error -> {}, completions::incrementAndGet);
+
+        assertEquals(300, items.size());
+        assertEquals(Integer.valueOf(5), items.get(0));
+        assertEquals(Integer.valueOf(304), items.get(299));
+        assertEquals(1, completions.get());
+    }
+
+    @Test
+    void testRangeRejectsOverflow() {
+        assertThrows(IllegalArgumentException.class, () -> Observable.range(Integer.MAX_VALUE, 2));
+        assertThrows(IllegalArgumentException.class, () -> Observable.range(0, -1));
+    }
+
+    @Test
+    void testRangeLong() {
+        List<Long> items = new ArrayList<>();
+
+        Observable.rangeLong(Long.MAX_VALUE - 2, 3).subscribe(items::add, error -> {}, () -> {});
+
+        assertEquals(Arrays.asList(Long.MAX_VALUE - 2, Long.MAX_VALUE - 1, Long.MAX_VALUE), items);
+    }
+
+    @Test
+    void testFromArrayDeliversBatches() {
+        Integer[] array = IntStream.range(0, 300).boxed().toArray(Integer[]::new);
+        List<Integer> items = new ArrayList<>();
+        AtomicInteger batches = new AtomicInteger();
+
+        Observable.fromArray(array).subscribe(new Observer<Integer>() {
+            @Override
+            public void onNext(Integer item) {
+                items.add(item);
+            }
+
+            @Override
+            public void onNextBatch(List<Integer> batch) {
+                batches.incrementAndGet();
+                items.addAll(batch);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        assertEquals(300, items.size());
+        assertEquals(3, batches.get());
+    }
+
+    @Test
+    void testFromArrayNullElementIsError() {
+        List<String> items = new ArrayList<>();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+
+        Observable.fromArray("a", null, "c").subscribe(items::add, error::set, () -> {});
+
+        assertEquals(List.of("a"), items);
+        assertTrue(error.get() instanceof NullPointerException);
+    }
+
+    @Test
+    void testFromIterableCanBeResubscribed() {
+        Observable<String> observable = Observable.fromIterable(List.of("a", "b", "c"));
+        List<String> first = new ArrayList<>();
+        List<String> second = new ArrayList<>();
+
+        observable.subscribe(first::add, error -> {}, () -> {});
+        observable.subscribe(second::add, error -> {}, () -> {});
+
+        assertEquals(List.of("a", "b", "c"), first);
+        assertEquals(first, second);
+    }
+
+    @Test
+    void testFromStreamIsSingleUse() {
+        Observable<Integer> observable = Observable.fromStream(Stream.of(1, 2, 3));
+        List<Integer> items = new ArrayList<>();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+
+        observable.subscribe(items::add, error::set, () -> {});
+        observable.subscribe(items::add, error::set, () -> {});
+
+        assertEquals(List.of(1, 2, 3), items);
+        assertTrue(error.get() instanceof IllegalStateException);
+    }
+
+    @Test
+    void testDisposalStopsSourceWithinOneBatch() {
+        AtomicInteger received = new AtomicInteger();
+        DisposingObserver<Integer> observer = new DisposingObserver<>(10, received);
+
+        Observable.range(0, 1_000_000).map(i -> i + 1).subscribe(observer);
+
+        assertTrue(received.get() >= 10);
+        assertTrue(received.get() <= 128, "received " + received.get());
+    }
+
+    @Test
+    void testFusedChainRunsOnSchedulerThread() throws InterruptedException {
+        Set<String> mapThreads = Collections.synchronizedSet(new HashSet<>());
+        List<Integer> items = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(1);
+        String mainThread = Thread.currentThread().getName();
+
+        Observable.range(0, 1000)
+            .map(i -> {
+                mapThreads.add(Thread.currentThread().getName());
+                return i * 2;
+            })
+            .filter(i -> i % 4 == 0)
+            .observeOn(new SingleThreadScheduler())
+            .subscribe(items::add, error -> {}, latch::countDown);
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertEquals(500, items.size());
+        assertEquals(Integer.valueOf(1996), items.get(499));
+        assertEquals(1, mapThreads.size());
+        assertFalse(mapThreads.contains(mainThread));
+    }
+
+    @Test
+    void testFusedMapErrorTerminates() {
+        List<Integer> items = new ArrayList<>();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+
+        Observable.range(1, 5).map(i -> 10 / (3 - i)).subscribe(items::add, error::set, () -> fail("completed"));
+
+        assertEquals(List.of(5, 10), items);
+        assertTrue(error.get() instanceof ArithmeticException);
+    }
+
+    @Test
+    void testMapErrorIsSameWithAndWithoutFusion() {
+        Function<Integer, Integer> mapper = i -> 10 / (3 - i);
+        Observable<Integer> unfused = Observable.create(observer -> {
+            for (int i = 1; i <= 5 && !((Disposable) observer).isDisposed(); i++) {
+                observer.onNext(i);
+            }
+            observer.onComplete();
+        });
+
+        for (Observable<Integer> source : List.of(Observable.range(1, 5), unfused)) {
+            List<Integer> items = new ArrayList<>();
+            List<Throwable> errors = new ArrayList<>();
+            AtomicInteger completions = new AtomicInteger();
+
+            source.map(mapper).subscribe(items::add, errors::add, completions::incrementAndGet);
+
+            assertEquals(List.of(5, 10), items);
+            assertEquals(1, errors.size());
+            assertTrue(errors.get(0) instanceof ArithmeticException);
+            assertEquals(0, completions.get());
+        }
+    }
+
+    @Test
+    void testMapNullResultIsSameWithAndWithoutFusion() {
+        Observable<Integer> unfused = Observable.create(observer -> {
+            observer.onNextBatch(List.of(1, 2, 3));
+            observer.onComplete();
+        });
+
+        for (Observable<Integer> source : List.of(Observable.range(1, 3), unfused)) {
+            List<String> items = new ArrayList<>();
+            List<Throwable> errors = new ArrayList<>();
+
+            source.map(i -> i == 2 ? null : "v" + i).subscribe(items::add, errors::add, () -> fail("completed"));
+
+            assertEquals(List.of("v1"), items);
+            assertEquals(1, errors.size());
+            assertTrue(errors.get(0) instanceof NullPointerException);
+        }
+    }
+
+    @Test
+    void testFilterErrorIsSameWithAndWithoutFusion() {
+        Observable<Integer> unfused = Observable.create(observer -> {
+            for (int i = 1; i <= 5; i++) {
+                observer.onNext(i);
+            }
+            observer.onComplete();
+        });
+
+        for (Observable<Integer> source : List.of(Observable.range(1, 5), unfused)) {
+            List<Integer> items = new ArrayList<>();
+            List<Throwable> errors = new ArrayList<>();
+
+            source.filter(i -> 10 / (3 - i) > 0).subscribe(items::add, errors::add, () -> fail("completed"));
+
+            assertEquals(List.of(1, 2), items);
+            assertEquals(1, errors.size());
+        }
+    }
+
+    @Test
+    void testParallelStreamSource() throws InterruptedException {
+        Set<Integer> items = Collections.synchronizedSet(new HashSet<>());
+        AtomicInteger completions = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Observable.fromStream(IntStream.range(0, 10000).boxed(), new ComputationScheduler(), 4)
+            .subscribe(items::add, error -> {}, () -> {
+                completions.incrementAndGet();
+                latch.countDown();
+            });
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertEquals(10000, items.size());
+        assertEquals(1, completions.get());
+    }
+
+    private static class DisposingObserver<T> implements Observer<T>, Disposable {
+        private final int limit;
+        private final AtomicInteger received;
+        private boolean disposed;
+
+        DisposingObserver(int limit, AtomicInteger received) {
+            this.limit = limit;
+            this.received = received;
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (received.incrementAndGet() == limit) {
+                disposed = true;
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+}
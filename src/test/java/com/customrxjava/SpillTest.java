@@ -0,0 +1,130 @@
+package com.customrxjava;
+
+import com.customrxjava.flow.BackpressurePublisher;
+import com.customrxjava.schedulers.SingleThreadScheduler;
+import com.customrxjava.spill.SpillCodec;
+import com.customrxjava.spill.SpillQueue;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+public class SpillTest {
+
+    @Test
+    void testQueueKeepsOrderAcrossMemoryAndDisk() throws IOException {
+        Path dir = Files.createTempDirectory("spill-test");
+        try (SpillQueue<String> queue = new SpillQueue<>(4, SpillCodec.utf8(), dir, 64)) {
+            for (int i = 0; i < 100; i++) {
+                queue.offer("item-" + i);
+            }
+            assertEquals(96, queue.getSpilledCount());
+            assertTrue(fileCount(dir) > 1);
+
+            List<String> items = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                items.add(queue.poll());
+            }
+            // Пока диск не прочитан новые элементы тоже идут на диск
+            queue.offer("late");
+            String item;
+            while ((item = queue.poll()) != null) {
+                items.add(item);
+            }
+
+            assertEquals(101, items.size());
+            for (int i = 0; i < 100; i++) {
+                assertEquals("item-" + i, items.get(i));
+            }
+            assertEquals("late", items.get(100));
+            assertTrue(queue.isEmpty());
+            // Прочитанные сегменты удалены. кроме последнего в который еще идет запись
+            assertTrue(fileCount(dir) <= 1);
+
+            // После того как диск прочитан элементы снова идут в память
+            queue.offer("memory");
+            assertEquals(97, queue.getSpilledCount());
+            assertEquals("memory", queue.poll());
+        }
+        assertEquals(0, fileCount(dir));
+        Files.delete(dir);
+    }
+
+    @Test
+    void testItemLargerThanSegment() throws IOException {
+        Path dir = Files.createTempDirectory("spill-test");
+        String large = "x".repeat(1000);
+        try (SpillQueue<String> queue = new SpillQueue<>(1, SpillCodec.utf8(), dir, 64)) {
+            queue.offer("small");
+            queue.offer(large);
+            queue.offer("after");
+
+            assertEquals("small", queue.poll());
+            assertEquals(large, queue.poll());
+            assertEquals("after", queue.poll());
+            assertNull(queue.poll());
+        }
+        Files.delete(dir);
+    }
+
+    @Test
+    void testSlowConsumerGetsEveryItemInOrder() throws IOException, InterruptedException {
+        Path dir = Files.createTempDirectory("spill-test");
+        int total = 20_000;
+        List<String> items = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(1);
+        BackpressurePublisher<String> publisher = Observable.range(0, total).map(String::valueOf)
+            .onBackpressureSpill(64, SpillCodec.utf8(), dir, 4096);
+
+        publisher.observeOn(new SingleThreadScheduler(), 16)
+            .subscribe(item -> {
+                items.add(item);
+                if (items.size() % 1000 == 0) {
+                    sleep(5);
+                }
+            }, error -> fail(error.toString()), latch::countDown);
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertEquals(total, items.size());
+        for (int i = 0; i < total; i++) {
+            assertEquals(String.valueOf(i), items.get(i));
+        }
+        assertEquals(0, publisher.getDroppedCount());
+        // После завершения сегменты удалены
+        assertEquals(0, fileCount(dir));
+        Files.delete(dir);
+    }
+
+    @Test
+    void testSpillStrategyIsValidatedAtAssembly() {
+        Observable<String> source = Observable.fromArray("a");
+
+        // Ошибка при сборке цепочки. а не при первой подписке
+        assertThrows(IllegalArgumentException.class,
+            () -> source.onBackpressureSpill(64, SpillCodec.utf8(), null, 32));
+        assertThrows(NullPointerException.class,
+            () -> source.onBackpressureSpill(64, null, null, 4096));
+    }
+
+    private static long fileCount(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.customrxjava;
+
+import com.customrxjava.schedulers.IOThreadScheduler;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class TimeoutTest {
+
+    @Test
+    void testFastSourceCompletes() {
+        List<Integer> items = new ArrayList<>();
+        AtomicInteger completions = new AtomicInteger();
+
+        Observable.range(0, 100).timeout(Duration.ofSeconds(1))
+            .subscribe(items::add, error -> fail(error.toString()), completions::incrementAndGet);
+
+        assertEquals(100, items.size());
+        assertEquals(1, completions.get());
+    }
+
+    @Test
+    void testSilentSourceTimesOutAndIsDisposed() throws InterruptedException {
+        AtomicReference<Observer<Integer>> emitter = new AtomicReference<>();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Observable.<Integer>create(emitter::set).timeout(Duration.ofMillis(50))
+            .subscribe(item -> fail("item"), t -> {
+                error.set(t);
+                latch.countDown();
+            }, () -> fail("completed"));
+
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        assertTrue(error.get() instanceof TimeoutException);
+        // Источник сразу видит отмену подписки
+        assertTrue(((Disposable) emitter.get()).isDisposed());
+    }
+
+    @Test
+    void testTimeoutBetweenItems() throws InterruptedException {
+        List<Integer> items = Collections.synchronizedList(new ArrayList<>());
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        AtomicBoolean stopped = new AtomicBoolean();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Observable.<Integer>create(observer -> {
+            for (int i = 0; i < 5; i++) {
+                observer.onNext(i);
+                sleep(10);
+            }
+            sleep(300);
+            stopped.set(((Disposable) observer).isDisposed());
+            observer.onNext(99);
+        })
+            .subscribeOn(new IOThreadScheduler())
+            .timeout(Duration.ofMillis(100))
+            .subscribe(items::add, t -> {
+                error.set(t);
+                latch.countDown();
+            }, () -> {});
+
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        assertTrue(error.get() instanceof TimeoutException);
+        Thread.sleep(350);
+        assertEquals(List.of(0, 1, 2, 3, 4), items);
+        assertTrue(stopped.get());
+    }
+
+    @Test
+    void testSlowConsumerIsNotInterruptedByTimeout() throws InterruptedException {
+        AtomicBoolean inside = new AtomicBoolean();
+        AtomicBoolean overlapped = new AtomicBoolean();
+        List<Integer> items = Collections.synchronizedList(new ArrayList<>());
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        // Источник выдает элементы подряд. а затем молчит
+        Observable.<Integer>create(observer -> {
+            observer.onNext(1);
+            observer.onNext(2);
+        })
+            .timeout(Duration.ofMillis(50))
+            .subscribe(item -> {
+                inside.set(true);
+                sleep(300);
+                items.add(item);
+                inside.set(false);
+            }, t -> {
+                if (inside.get()) {
+                    overlapped.set(true);
+                }
+                error.set(t);
+                latch.countDown();
+            }, () -> fail("completed"));
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertFalse(overlapped.get());
+        // Время обработки элемента не считается ожиданием следующего
+        assertEquals(List.of(1, 2), items);
+        assertTrue(error.get() instanceof TimeoutException);
+    }
+
+    @Test
+    void testFallback() throws InterruptedException {
+        List<String> items = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Observable.<String>create(observer -> observer.onNext("slow"))
+            .timeout(Duration.ofMillis(30), Observable.fromArray("fallback"))
+            .subscribe(items::add, error -> fail(error.toString()), latch::countDown);
+
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        assertEquals(List.of("slow", "fallback"), items);
+    }
+
+    @Test
+    void testPerItemTimeout() throws InterruptedException {
+        AtomicReference<Observer<Integer>> emitter = new AtomicReference<>();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Observable.<Integer>create(emitter::set)
+            .timeout(item -> Duration.ofMillis(item))
+            .subscribe(item -> {}, t -> {
+                error.set(t);
+                latch.countDown();
+            }, () -> {});
+
+        // До первого элемента срока нет
+        Thread.sleep(100);
+        assertNull(error.get());
+
+        emitter.get().onNext(500);
+        Thread.sleep(100);
+        assertNull(error.get());
+
+        long start = System.nanoTime();
+        emitter.get().onNext(50);
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(error.get() instanceof TimeoutException);
+        assertTrue(elapsed < 400, "elapsed " + elapsed);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.customrxjava;
+
+import com.customrxjava.schedulers.TrampolineScheduler;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TrampolineSchedulerTest {
+
+    private TrampolineScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new TrampolineScheduler();
+    }
+
+    @Test
+    void testRunsOnCallerThread() {
+        Thread caller = Thread.currentThread();
+        List<Thread> threads = new ArrayList<>();
+
+        scheduler.execute(() -> threads.add(Thread.currentThread()));
+
+        assertEquals(List.of(caller), threads);
+    }
+
+    @Test
+    void testNestedTaskRunsAfterCurrent() {
+        List<String> order = new ArrayList<>();
+
+        scheduler.execute(() -> {
+            order.add("outer start");
+            scheduler.execute(() -> order.add("inner"));
+            order.add("outer end");
+        });
+
+        assertEquals(List.of("outer start", "outer end", "inner"), order);
+    }
+
+    @Test
+    void testRecursiveSchedulingKeepsStackFlat() {
+        AtomicInteger remaining = new AtomicInteger(200_000);
+        AtomicInteger maxDepth = new AtomicInteger();
+
+        scheduler.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (remaining.get() % 1000 == 0) {
+                    maxDepth.accumulateAndGet(Thread.currentThread().getStackTrace().length, Math::max);
+                }
+                if (remaining.decrementAndGet() > 0) {
+                    scheduler.execute(this);
+                }
+            }
+        });
+
+        assertEquals(0, remaining.get());
+        assertTrue(maxDepth.get() < 100, "stack depth " + maxDepth.get());
+    }
+
+    @Test
+    void testSubscribeOnKeepsOrder() {
+        List<Integer> items = new ArrayList<>();
+
+        Observable.range(0, 3).subscribeOn(scheduler).subscribeOn(scheduler)
+            .subscribe(items::add, error -> fail(error.toString()), () -> {});
+
+        assertEquals(List.of(0, 1, 2), items);
+    }
+
+    @Test
+    void testFailingTaskDoesNotStrandQueue() {
+        List<String> order = new ArrayList<>();
+
+        assertThrows(IllegalStateException.class, () -> scheduler.execute(() -> {
+            scheduler.execute(() -> order.add("after failure"));
+            throw new IllegalStateException("boom");
+        }));
+
+        assertEquals(List.of("after failure"), order);
+    }
+}
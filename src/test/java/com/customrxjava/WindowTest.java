@@ -0,0 +1,174 @@
+package com.customrxjava;
+
+import com.customrxjava.windows.Aggregator;
+import com.customrxjava.windows.Window;
+import com.customrxjava.windows.WindowAssigner;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class WindowTest {
+
+    private static final Aggregator<Long, Long> SUM = Aggregator.of(() -> 0L, Long::sum, Long::sum);
+
+    private static Observable<Long> events(long... timestamps) {
+        return Observable.create(observer -> {
+            for (long timestamp : timestamps) {
+                observer.onNext(timestamp);
+            }
+            observer.onComplete();
+        });
+    }
+
+    private static List<Window<Long>> collect(Observable<Window<Long>> observable) {
+        List<Window<Long>> result = new ArrayList<>();
+        observable.subscribe(result::add, error -> fail(error.toString()), () -> {});
+        return result;
+    }
+
+    @Test
+    void testTumblingWindows() {
+        List<Window<Long>> windows = collect(events(1, 5, 9, 10, 15, 21)
+            .window(WindowAssigner.tumbling(10), t -> t, SUM));
+
+        assertEquals(3, windows.size());
+        assertEquals(0, windows.get(0).getStart());
+        assertEquals(10, windows.get(0).getEnd());
+        assertEquals(Long.valueOf(15), windows.get(0).getResult());
+        assertEquals(Long.valueOf(25), windows.get(1).getResult());
+        assertEquals(Long.valueOf(21), windows.get(2).getResult());
+    }
+
+    @Test
+    void testWindowEmittedWhenWatermarkPassesEnd() {
+        List<Window<Long>> windows = new ArrayList<>();
+        Observable.<Long>create(observer -> {
+            observer.onNext(3L);
+            observer.onNext(12L);
+            // окно [0, 10) должно закрыться до завершения потока
+            assertEquals(1, windows.size());
+            observer.onComplete();
+        }).window(WindowAssigner.tumbling(10), t -> t, SUM)
+            .subscribe(windows::add, error -> fail(error.toString()), () -> {});
+
+        assertEquals(2, windows.size());
+    }
+
+    @Test
+    void testSlidingWindows() {
+        Aggregator<Long, Long> count = Aggregator.of(() -> 0L, (acc, item) -> acc + 1);
+        List<Window<Long>> windows = collect(events(1, 6, 11)
+            .window(WindowAssigner.sliding(10, 5), t -> t, count));
+
+        // [-5,5) [0,10) [5,15) [10,20)
+        assertEquals(4, windows.size());
+        assertEquals(-5, windows.get(0).getStart());
+        assertEquals(Long.valueOf(1), windows.get(0).getResult());
+        assertEquals(Long.valueOf(2), windows.get(1).getResult());
+        assertEquals(Long.valueOf(2), windows.get(2).getResult());
+        assertEquals(Long.valueOf(1), windows.get(3).getResult());
+    }
+
+    @Test
+    void testSessionWindowsMerge() {
+        List<Window<Long>> windows = collect(events(1, 3, 20, 4, 40)
+            .window(WindowAssigner.session(5), t -> t, SUM, 20, 0));
+
+        assertEquals(3, windows.size());
+        assertEquals(1, windows.get(0).getStart());
+        assertEquals(9, windows.get(0).getEnd());
+        assertEquals(Long.valueOf(8), windows.get(0).getResult());
+        assertEquals(Long.valueOf(20), windows.get(1).getResult());
+        assertEquals(Long.valueOf(40), windows.get(2).getResult());
+    }
+
+    @Test
+    void testSessionWindowsRequireMergeableAggregator() {
+        Aggregator<Long, Long> count = Aggregator.of(() -> 0L, (acc, item) -> acc + 1);
+
+        // Ошибка при сборке цепочки. а не при первом слиянии сессий
+        assertThrows(IllegalArgumentException.class,
+            () -> events(1, 3).window(WindowAssigner.session(5), t -> t, count));
+    }
+
+    @Test
+    void testOutOfOrderEventsWithinBound() {
+        List<Window<Long>> windows = collect(events(8, 12, 9, 25)
+            .window(WindowAssigner.tumbling(10), t -> t, SUM, 5, 0));
+
+        assertEquals(Long.valueOf(17), windows.get(0).getResult());
+        assertFalse(windows.get(0).isLateUpdate());
+    }
+
+    @Test
+    void testLateEventUpdatesWindowWithinAllowedLateness() {
+        List<Window<Long>> windows = collect(events(8, 12, 9, 35, 7)
+            .window(WindowAssigner.tumbling(10), t -> t, SUM, 0, 10));
+
+        // [0,10)=8, затем опоздавший 9 обновляет его. [10,20)=12 выдается по водяному знаку 35
+        // элемент 7 опоздал больше чем на allowedLateness и отбрасывается
+        assertEquals(4, windows.size());
+        assertEquals(Long.valueOf(8), windows.get(0).getResult());
+        assertFalse(windows.get(0).isLateUpdate());
+        assertEquals(Long.valueOf(17), windows.get(1).getResult());
+        assertTrue(windows.get(1).isLateUpdate());
+        assertEquals(Long.valueOf(12), windows.get(2).getResult());
+        assertEquals(Long.valueOf(35), windows.get(3).getResult());
+    }
+
+    @Test
+    void testLateUpdateDoesNotChangeEmittedSnapshot() {
+        Aggregator<Long, List<Long>> toList = new Aggregator<Long, List<Long>>() {
+            @Override
+            public List<Long> createAccumulator() {
+                return new ArrayList<>();
+            }
+
+            @Override
+            public List<Long> add(List<Long> accumulator, Long item) {
+                accumulator.add(item);
+                return accumulator;
+            }
+
+            @Override
+            public List<Long> snapshot(List<Long> accumulator) {
+                return List.copyOf(accumulator);
+            }
+        };
+        List<Window<List<Long>>> windows = new ArrayList<>();
+
+        events(8, 12, 9).window(WindowAssigner.tumbling(10), t -> t, toList, 0, 10)
+            .subscribe(windows::add, error -> fail(error.toString()), () -> {});
+
+        // Опоздавший 9 выдается отдельным обновлением и не меняет уже выданный результат
+        assertEquals(List.of(8L), windows.get(0).getResult());
+        assertEquals(List.of(8L, 9L), windows.get(1).getResult());
+        assertTrue(windows.get(1).isLateUpdate());
+    }
+
+    @Test
+    void testExtractorErrorTerminatesStream() {
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        AtomicReference<Boolean> sourceDisposed = new AtomicReference<>(false);
+        List<Window<Long>> windows = new ArrayList<>();
+        Observable.<Long>create(observer -> {
+            for (long t = 1; t <= 3; t++) {
+                observer.onNext(t);
+            }
+            sourceDisposed.set(((Disposable) observer).isDisposed());
+            observer.onComplete();
+        }).window(WindowAssigner.tumbling(10), t -> {
+            if (t == 2) {
+                throw new IllegalStateException("bad timestamp");
+            }
+            return t;
+        }, SUM).subscribe(windows::add, error::set, () -> fail("should not complete"));
+
+        assertTrue(windows.isEmpty());
+        assertEquals("bad timestamp", error.get().getMessage());
+        assertTrue(sourceDisposed.get());
+    }
+}
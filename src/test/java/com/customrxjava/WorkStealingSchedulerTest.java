@@ -0,0 +1,182 @@
+package com.customrxjava;
+
+import com.customrxjava.schedulers.WorkStealingScheduler;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class WorkStealingSchedulerTest {
+
+    @Test
+    void testAllTasksFromManyProducersRun() throws InterruptedException {
+        WorkStealingScheduler scheduler = new WorkStealingScheduler(4, 32);
+        int producers = 4;
+        int perProducer = 50_000;
+        CountDownLatch latch = new CountDownLatch(producers * perProducer);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    scheduler.execute(latch::countDown);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        scheduler.shutdown();
+    }
+
+    @Test
+    void testBusyWorkerIsNotWokenForEveryTask() throws InterruptedException {
+        WorkStealingScheduler scheduler = new WorkStealingScheduler(1, 64);
+        int tasks = 100_000;
+        CountDownLatch latch = new CountDownLatch(tasks);
+        for (int i = 0; i < tasks; i++) {
+            scheduler.execute(latch::countDown);
+        }
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertTrue(scheduler.getWakeUpCount() < tasks / 10, "wake-ups " + scheduler.getWakeUpCount());
+        scheduler.shutdown();
+    }
+
+    @Test
+    void testIdleWorkerStealsFromBusyPeer() throws InterruptedException {
+        WorkStealingScheduler scheduler = new WorkStealingScheduler(2, 4);
+        int tasks = 200;
+        CountDownLatch latch = new CountDownLatch(tasks);
+        // Все задачи ставятся из рабочего потока и попадают в его очередь
+        scheduler.execute(() -> {
+            for (int i = 0; i < tasks; i++) {
+                scheduler.execute(() -> {
+                    sleep(1);
+                    latch.countDown();
+                });
+            }
+        });
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertTrue(scheduler.getStolenCount() > 0);
+        scheduler.shutdown();
+    }
+
+    @Test
+    void testTaskBehindBlockedWorkerIsStolen() throws InterruptedException {
+        WorkStealingScheduler scheduler = new WorkStealingScheduler(4, 16);
+        // Даем потокам уснуть
+        Thread.sleep(50);
+        CountDownLatch subtaskDone = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        long[] waitedMillis = new long[1];
+        scheduler.execute(() -> {
+            long submittedAt = System.nanoTime();
+            scheduler.execute(() -> {
+                waitedMillis[0] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - submittedAt);
+                subtaskDone.countDown();
+            });
+            // Поток занят долгой задачей. подзадача осталась в его очереди
+            try {
+                release.await(2, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        assertTrue(subtaskDone.await(1, TimeUnit.SECONDS));
+        release.countDown();
+        assertTrue(waitedMillis[0] < 200, "waited " + waitedMillis[0] + " ms");
+        assertEquals(1, scheduler.getStolenCount());
+        scheduler.shutdown();
+    }
+
+    @Test
+    void testTaskFromWorkerRunsAfterCurrentTask() throws InterruptedException {
+        WorkStealingScheduler scheduler = new WorkStealingScheduler(1, 16);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(1);
+        scheduler.execute(() -> {
+            scheduler.execute(() -> {
+                order.add("inner");
+                latch.countDown();
+            });
+            order.add("outer");
+        });
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("outer", "inner"), order);
+        scheduler.shutdown();
+    }
+
+    @Test
+    void testFailingTaskDoesNotStopWorker() throws InterruptedException {
+        WorkStealingScheduler scheduler = new WorkStealingScheduler(1, 16);
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicReference<Throwable> reported = new AtomicReference<>();
+        scheduler.execute(() -> Thread.currentThread().setUncaughtExceptionHandler((t, e) -> reported.set(e)));
+        scheduler.execute(() -> {
+            throw new IllegalStateException("task failed");
+        });
+        scheduler.execute(latch::countDown);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(reported.get() instanceof IllegalStateException);
+        scheduler.shutdown();
+    }
+
+    @Test
+    void testShutdownRunsQueuedTasksAndRejectsNew() throws InterruptedException {
+        WorkStealingScheduler scheduler = new WorkStealingScheduler(2, 8);
+        AtomicInteger executed = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(100);
+        for (int i = 0; i < 100; i++) {
+            scheduler.execute(() -> {
+                executed.incrementAndGet();
+                latch.countDown();
+            });
+        }
+        scheduler.shutdown();
+
+        assertThrows(RejectedExecutionException.class, () -> scheduler.execute(() -> { }));
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(100, executed.get());
+    }
+
+    @Test
+    void testObserveOnWithWorkStealingScheduler() throws InterruptedException {
+        WorkStealingScheduler scheduler = new WorkStealingScheduler(2, 64);
+        List<Integer> result = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Observable.range(0, 10_000)
+            .observeOn(scheduler)
+            .subscribe(result::add, e -> fail(e.toString()), latch::countDown);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(10_000, result.size());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(Integer.valueOf(i), result.get(i));
+        }
+        scheduler.shutdown();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
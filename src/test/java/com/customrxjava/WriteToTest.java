@@ -0,0 +1,200 @@
+package com.customrxjava;
+
+import com.customrxjava.io.ByteEncoder;
+import com.customrxjava.io.FileSink;
+import com.customrxjava.io.WriteOptions;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class WriteToTest {
+
+    @Test
+    void testWritesAllItemsInOrder() throws Exception {
+        Path file = Files.createTempFile("write-to", ".txt");
+        try {
+            Observable.range(0, 10_000).writeTo(file, ByteEncoder.utf8Lines())
+                .toFuture().get(5, TimeUnit.SECONDS);
+
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            assertEquals(10_000, lines.size());
+            for (int i = 0; i < lines.size(); i++) {
+                assertEquals(String.valueOf(i), lines.get(i));
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testEncodingAndWritingOffProducerThread() throws Exception {
+        Path file = Files.createTempFile("write-to", ".txt");
+        Set<Thread> encoderThreads = ConcurrentHashMap.newKeySet();
+        ByteEncoder<Integer> encoder = (item, buffer) -> {
+            encoderThreads.add(Thread.currentThread());
+            buffer.putInt(item);
+        };
+        try {
+            Observable.range(0, 1000).writeTo(file, encoder, WriteOptions.defaults().withFsyncOnComplete(true),
+                FileSink.DEFAULT_SCHEDULER).toFuture().get(5, TimeUnit.SECONDS);
+
+            assertFalse(encoderThreads.contains(Thread.currentThread()));
+            assertEquals(4000, Files.size(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testFlushByCount() throws Exception {
+        Path file = Files.createTempFile("write-to", ".txt");
+        AtomicReference<Observer<Integer>> emitter = new AtomicReference<>();
+        WriteOptions options = WriteOptions.defaults().withFlushCount(100).withFlushInterval(null);
+        try {
+            CompletableFuture<Void> future = Observable.<Integer>create(emitter::set)
+                .writeTo(file, (item, buffer) -> buffer.put((byte) 'x'), options, FileSink.DEFAULT_SCHEDULER)
+                .toFuture();
+            for (int i = 0; i < 250; i++) {
+                emitter.get().onNext(i);
+            }
+
+            awaitSize(file, 200);
+            Thread.sleep(100);
+            // Остаток меньше flushCount ждет завершения
+            assertEquals(200, Files.size(file));
+
+            emitter.get().onComplete();
+            future.get(5, TimeUnit.SECONDS);
+            assertEquals(250, Files.size(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testFlushByInterval() throws Exception {
+        Path file = Files.createTempFile("write-to", ".txt");
+        AtomicReference<Observer<String>> emitter = new AtomicReference<>();
+        WriteOptions options = WriteOptions.defaults().withFlushInterval(Duration.ofMillis(50));
+        try {
+            Observable.<String>create(emitter::set)
+                .writeTo(file, ByteEncoder.utf8Lines(), options, FileSink.DEFAULT_SCHEDULER)
+                .subscribe(() -> {}, error -> fail(error.toString()));
+            emitter.get().onNext("a");
+            emitter.get().onNext("b");
+
+            awaitSize(file, 4);
+            assertEquals(List.of("a", "b"), Files.readAllLines(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testItemLargerThanBuffer() throws Exception {
+        Path file = Files.createTempFile("write-to", ".txt");
+        String large = "y".repeat(100);
+        try {
+            Observable.fromArray("a", large, "b")
+                .writeTo(file, ByteEncoder.utf8Lines(), WriteOptions.defaults().withBufferSize(16),
+                    FileSink.DEFAULT_SCHEDULER)
+                .toFuture().get(5, TimeUnit.SECONDS);
+
+            assertEquals(List.of("a", large, "b"), Files.readAllLines(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testUpstreamErrorAfterWritingItems() throws Exception {
+        Path file = Files.createTempFile("write-to", ".txt");
+        try {
+            ExecutionException error = assertThrows(ExecutionException.class, () ->
+                Observable.<String>create(observer -> {
+                    observer.onNext("written");
+                    observer.onError(new IllegalStateException("boom"));
+                }).writeTo(file, ByteEncoder.utf8Lines()).toFuture().get(5, TimeUnit.SECONDS));
+
+            assertTrue(error.getCause() instanceof IllegalStateException);
+            assertEquals(List.of("written"), Files.readAllLines(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testDisposeWhileIdleClosesFile() throws Exception {
+        Path file = Files.createTempFile("write-to", ".txt");
+        AtomicReference<Observer<String>> emitter = new AtomicReference<>();
+        AtomicBoolean disposed = new AtomicBoolean();
+        CountDownLatch closed = new CountDownLatch(1);
+        // Отмечает задачи записи запущенные после отмены. такая задача закрывает файл
+        Scheduler scheduler = task -> FileSink.DEFAULT_SCHEDULER.execute(() -> {
+            boolean afterDispose = disposed.get();
+            task.run();
+            if (afterDispose) {
+                closed.countDown();
+            }
+        });
+        try {
+            Disposable disposable = Observable.<String>create(emitter::set)
+                .writeTo(file, ByteEncoder.utf8Lines(), WriteOptions.defaults().withFlushInterval(null), scheduler)
+                .subscribe(() -> fail("should not complete"), error -> fail(error.toString()));
+            emitter.get().onNext("a");
+            Thread.sleep(50);
+
+            disposed.set(true);
+            disposable.dispose();
+
+            // Источник больше ничего не выдает. файл закрывается без следующего сигнала
+            assertTrue(closed.await(2, TimeUnit.SECONDS));
+            assertTrue(((Disposable) emitter.get()).isDisposed());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testChannelIsLeftOpen() throws Exception {
+        Path file = Files.createTempFile("write-to", ".txt");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            Observable.fromArray("first").writeTo(channel, ByteEncoder.utf8Lines(), WriteOptions.defaults(),
+                FileSink.DEFAULT_SCHEDULER).toFuture().get(5, TimeUnit.SECONDS);
+            Observable.fromArray("second").writeTo(channel, ByteEncoder.utf8Lines(), WriteOptions.defaults(),
+                FileSink.DEFAULT_SCHEDULER).toFuture().get(5, TimeUnit.SECONDS);
+
+            assertTrue(channel.isOpen());
+            assertEquals(List.of("first", "second"), Files.readAllLines(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void awaitSize(Path file, long size) throws IOException, InterruptedException, TimeoutException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (Files.size(file) < size) {
+            if (System.nanoTime() > deadline) {
+                throw new TimeoutException("file size " + Files.size(file));
+            }
+            Thread.sleep(5);
+        }
+    }
+}
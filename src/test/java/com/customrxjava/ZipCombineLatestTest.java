@@ -0,0 +1,252 @@
+package com.customrxjava;
+
+import com.customrxjava.operators.SpscArrayQueue;
+import com.customrxjava.operators.SpscLinkedArrayQueue;
+import com.customrxjava.schedulers.IOThreadScheduler;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ZipCombineLatestTest {
+
+    @Test
+    void testZipPairsByIndex() {
+        List<String> items = new ArrayList<>();
+        AtomicInteger completions = new AtomicInteger();
+
+        Observable.zip(Observable.range(0, 5), Observable.fromArray("a", "b", "c"), (i, s) -> s + i)
+            .subscribe(items::add, error -> fail(error.toString()), completions::incrementAndGet);
+
+        assertEquals(List.of("a0", "b1", "c2"), items);
+        assertEquals(1, completions.get());
+    }
+
+    @Test
+    void testZipManySources() {
+        List<Integer> items = new ArrayList<>();
+
+        Observable.zip(List.of(Observable.range(0, 3), Observable.range(10, 3), Observable.range(100, 3)),
+            values -> (Integer) values[0] + (Integer) values[1] + (Integer) values[2])
+            .subscribe(items::add, error -> fail(error.toString()), () -> {});
+
+        assertEquals(List.of(110, 113, 116), items);
+    }
+
+    @Test
+    void testZipConcurrentSources() throws InterruptedException {
+        int count = 20000;
+        IOThreadScheduler io = new IOThreadScheduler();
+        List<Integer> items = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(1);
+
+        // Источники не ждут друг друга. поэтому очередь вмещает весь поток
+        Observable.zip(
+            List.of(asyncRange(count).subscribeOn(io), asyncRange(count).map(i -> i * 2).subscribeOn(io)),
+            values -> (Integer) values[1] - (Integer) values[0], count)
+            .subscribe(items::add, error -> fail(error.toString()), latch::countDown);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(count, items.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(Integer.valueOf(i), items.get(i));
+        }
+    }
+
+    @Test
+    void testZipErrorDisposesOtherSources() {
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        AtomicReference<Observer<Integer>> second = new AtomicReference<>();
+
+        Observable.zip(
+            Observable.<Integer>create(observer -> observer.onError(new IllegalStateException("boom"))),
+            Observable.<Integer>create(second::set),
+            Integer::sum)
+            .subscribe(item -> fail("item"), error::set, () -> fail("completed"));
+
+        assertTrue(error.get() instanceof IllegalStateException);
+        // Второй источник не подписывается после ошибки первого
+        assertNull(second.get());
+    }
+
+    @Test
+    void testZipperErrorTerminates() {
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        List<Integer> items = new ArrayList<>();
+
+        Observable.zip(Observable.range(1, 5), Observable.range(0, 5), (a, b) -> a / (2 - b))
+            .subscribe(items::add, error::set, () -> fail("completed"));
+
+        assertEquals(List.of(0, 2), items);
+        assertTrue(error.get() instanceof ArithmeticException);
+    }
+
+    @Test
+    void testCombineLatest() {
+        AtomicReference<Observer<String>> letters = new AtomicReference<>();
+        AtomicReference<Observer<Integer>> numbers = new AtomicReference<>();
+        List<String> items = new ArrayList<>();
+        AtomicInteger completions = new AtomicInteger();
+
+        Observable.combineLatest(Observable.<String>create(letters::set), Observable.<Integer>create(numbers::set),
+            (s, i) -> s + i)
+            .subscribe(items::add, error -> fail(error.toString()), completions::incrementAndGet);
+
+        letters.get().onNext("a");
+        assertTrue(items.isEmpty());
+        numbers.get().onNext(1);
+        letters.get().onNext("b");
+        numbers.get().onNext(2);
+        letters.get().onComplete();
+        numbers.get().onNext(3);
+        assertEquals(0, completions.get());
+        numbers.get().onComplete();
+
+        assertEquals(List.of("a1", "b1", "b2", "b3"), items);
+        assertEquals(1, completions.get());
+    }
+
+    @Test
+    void testCombineLatestCompletesWhenSourceIsEmpty() {
+        AtomicInteger completions = new AtomicInteger();
+
+        Observable.combineLatest(Observable.range(0, 10), Observable.<Integer>create(Observer::onComplete),
+            Integer::sum)
+            .subscribe(item -> fail("item"), error -> fail(error.toString()), completions::incrementAndGet);
+
+        assertEquals(1, completions.get());
+    }
+
+    @Test
+    void testCombineLatestConcurrentSources() throws InterruptedException {
+        IOThreadScheduler io = new IOThreadScheduler();
+        AtomicReference<Integer> last = new AtomicReference<>();
+        AtomicInteger count = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Observable.combineLatest(List.of(asyncRange(5000).subscribeOn(io), asyncRange(5000).subscribeOn(io)),
+            values -> (Integer) values[0] + (Integer) values[1], 5000)
+            .subscribe(item -> {
+                count.incrementAndGet();
+                last.set(item);
+            }, error -> fail(error.toString()), latch::countDown);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(Integer.valueOf(9998), last.get());
+        assertTrue(count.get() >= 5000);
+    }
+
+    @Test
+    void testZipFastSourceOverflowsBuffer() {
+        AtomicReference<Observer<Integer>> slow = new AtomicReference<>();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        AtomicInteger emitted = new AtomicInteger();
+        List<Integer> items = new ArrayList<>();
+
+        Observable<Integer> fast = Observable.create(observer -> {
+            for (int i = 0; i < 1000 && !((Disposable) observer).isDisposed(); i++) {
+                emitted.incrementAndGet();
+                observer.onNext(i);
+            }
+        });
+        Observable.zip(List.of(fast, Observable.<Integer>create(slow::set)),
+            values -> (Integer) values[0] + (Integer) values[1], 16)
+            .subscribe(items::add, error::set, () -> fail("completed"));
+
+        assertTrue(error.get() instanceof IllegalStateException);
+        // Быстрый источник отменен сразу после переполнения. медленный подписан не был
+        assertEquals(17, emitted.get());
+        assertNull(slow.get());
+        assertTrue(items.isEmpty());
+    }
+
+    @Test
+    void testCombineLatestSlowConsumerOverflowsBuffer() {
+        AtomicReference<Observer<Integer>> first = new AtomicReference<>();
+        AtomicReference<Observer<Integer>> second = new AtomicReference<>();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        List<Integer> items = new ArrayList<>();
+
+        Observable.combineLatest(
+            List.of(Observable.<Integer>create(first::set), Observable.<Integer>create(second::set)),
+            values -> (Integer) values[0] + (Integer) values[1], 4)
+            .subscribe(item -> {
+                items.add(item);
+                // Пока downstream занят. элементы первого источника копятся в его очереди
+                for (int i = 1; i <= 5; i++) {
+                    first.get().onNext(i);
+                }
+            }, error::set, () -> fail("completed"));
+
+        first.get().onNext(0);
+        second.get().onNext(0);
+
+        assertEquals(List.of(0), items);
+        assertTrue(error.get() instanceof IllegalStateException);
+        assertTrue(((Disposable) first.get()).isDisposed());
+        assertTrue(((Disposable) second.get()).isDisposed());
+    }
+
+    @Test
+    void testSynchronousSourcesAreReadOnDemand() {
+        List<Integer> items = new ArrayList<>();
+        AtomicInteger completions = new AtomicInteger();
+
+        // range и map над ним не копятся в очереди. поэтому буфер из двух элементов не переполняется
+        Observable.zip(List.of(asyncRange(1000), Observable.range(0, 1000).map(i -> i * 2)),
+            values -> (Integer) values[1] - (Integer) values[0], 2)
+            .subscribe(items::add, error -> fail(error.toString()), completions::incrementAndGet);
+
+        assertEquals(1000, items.size());
+        assertEquals(Integer.valueOf(999), items.get(999));
+        assertEquals(1, completions.get());
+    }
+
+    @Test
+    void testSpscArrayQueueIsBounded() {
+        SpscArrayQueue<Integer> queue = new SpscArrayQueue<>(3);
+
+        assertEquals(4, queue.capacity());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer(i));
+        }
+        assertFalse(queue.offer(4));
+        assertEquals(Integer.valueOf(0), queue.poll());
+        assertTrue(queue.offer(4));
+        for (int i = 1; i < 5; i++) {
+            assertEquals(Integer.valueOf(i), queue.poll());
+        }
+        assertNull(queue.poll());
+    }
+
+    @Test
+    void testSpscQueueAcrossChunks() {
+        SpscLinkedArrayQueue<Integer> queue = new SpscLinkedArrayQueue<>(4);
+        for (int i = 0; i < 10; i++) {
+            queue.offer(i);
+        }
+
+        assertEquals(Integer.valueOf(0), queue.peek());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(Integer.valueOf(i), queue.poll());
+        }
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    // Источник без слияния с map. элементы идут по одному через onNext
+    private static Observable<Integer> asyncRange(int count) {
+        return Observable.create(observer -> {
+            for (int i = 0; i < count; i++) {
+                observer.onNext(i);
+            }
+            observer.onComplete();
+        });
+    }
+}